@@ -2,6 +2,7 @@ package com.edx.spring.config.central.server;
 
 import com.edx.spring.config.central.server.loader.ConfigResourceProvider;
 import com.edx.spring.config.central.server.loader.HttpRequestAwareConfigResourceProvider;
+import com.edx.spring.config.central.server.logging.RequestTimings;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.config.environment.Environment;
 import org.springframework.cloud.config.environment.PropertySource;
@@ -49,17 +50,24 @@ public class CustomEntryPointEnvironmentRepository implements EnvironmentReposit
 
 	@Override
 	public Environment findOne(String application, String profile, String label) {
-		log.info("NexlRepo: Processing request - App: {}, Profile: {}, Label: {}", application, profile, label);
+		log.debug("NexlRepo: Processing request - App: {}, Profile: {}, Label: {}", application, profile, label);
 
 		// Only handle requests that our providers support
 		Environment environment = new Environment(application, new String[]{profile}, label, null, null);
 
 		HttpServletRequest request = getCurrentHttpRequest();
+		RequestTimings timings = RequestTimings.of(request);
+		if (timings != null) {
+			timings.tag("application", application);
+			timings.tag("profile", profile);
+			timings.tag("label", label);
+		}
 
 		for (ConfigResourceProvider provider : providers) {
 			if (provider.supports(label)) {
-				log.info(">>> USING PROVIDER: {} for label: {}", provider.getClass().getSimpleName(), label);
+				log.debug(">>> USING PROVIDER: {} for label: {}", provider.getClass().getSimpleName(), label);
 
+				long start = System.nanoTime();
 				try {
 					Map<String, Object> properties;
 					if (provider instanceof HttpRequestAwareConfigResourceProvider) {
@@ -72,7 +80,11 @@ public class CustomEntryPointEnvironmentRepository implements EnvironmentReposit
 					if (properties != null && !properties.isEmpty()) {
 						String sourceName = provider.getClass().getSimpleName() + "-" + label;
 						environment.add(new PropertySource(sourceName, properties));
-						log.info("Added {} properties from {}", properties.size(), sourceName);
+						log.debug("Added {} properties from {}", properties.size(), sourceName);
+						if (timings != null) {
+							timings.tag("provider", provider.getClass().getSimpleName());
+							timings.recordSince("provider", start);
+						}
 						return environment;
 					}
 				} catch (Exception e) {
@@ -81,7 +93,7 @@ public class CustomEntryPointEnvironmentRepository implements EnvironmentReposit
 			}
 		}
 
-		log.info("No providers matched for label: {}. Returning empty environment.", label);
+		log.debug("No providers matched for label: {}. Returning empty environment.", label);
 		return environment;
 	}
 
@@ -1,5 +1,6 @@
 package com.edx.spring.config.central.server;
 
+import com.edx.spring.config.central.server.config.ConfigServerRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.config.server.EnableConfigServer;
@@ -8,6 +9,7 @@ import org.springframework.cloud.config.server.config.EnvironmentRepositoryConfi
 import org.springframework.cloud.config.server.environment.EnvironmentRepository;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.context.annotation.Primary;
 
 @SpringBootApplication(
@@ -19,6 +21,7 @@ import org.springframework.context.annotation.Primary;
 )
 @ComponentScan({"com.edx.spring.config", "com.edx.spring.config.central"})
 @EnableConfigServer
+@ImportRuntimeHints(ConfigServerRuntimeHints.class)
 public class SpringConfigCentralApplication {
 
 	public static void main(String[] args) {
@@ -1,14 +1,27 @@
 package com.edx.spring.config.central.server.admin;
 
+import com.edx.spring.config.central.server.cache.CacheInvalidationEvent;
+import com.edx.spring.config.central.server.env.GitWindowCacheProperties;
+import com.edx.spring.config.central.server.limit.TokenBucketRateLimiter;
 import com.edx.spring.config.central.server.loader.ConfigResourceProvider;
+import com.edx.spring.config.central.server.logging.PerformanceLogSummarizer;
 import io.github.wimdeblauwe.htmx.spring.boot.mvc.HxRequest;
 import io.github.wimdeblauwe.htmx.spring.boot.mvc.HxTrigger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.storage.file.WindowCacheStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 @Controller
@@ -19,6 +32,12 @@ public class AdminController {
 
 	private final ConfigProviderManager providerManager;
 	private final List<ConfigResourceProvider> providers;
+	private final ObjectProvider<TokenBucketRateLimiter> rateLimiters;
+	private final ObjectProvider<GitWindowCacheProperties> windowCache;
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Value("${config.performance-log.directory:./logs/performance}")
+	private Path performanceLogDirectory;
 
 	/**
 	 * Main admin dashboard page
@@ -85,9 +104,19 @@ public class AdminController {
 	@HxRequest
 	public String refreshGitRepos(Model model) {
 		model.addAttribute("gitRepos", getGitRepositories());
+		model.addAttribute("packCache", getPackCacheStatus());
 		return "admin/fragments/git-repos :: git-repos-list";
 	}
 
+	/**
+	 * REST API endpoint for JGit pack window cache settings and statistics
+	 */
+	@GetMapping("/api/git/pack-cache")
+	@ResponseBody
+	public Map<String, Object> getPackCache() {
+		return getPackCacheStatus();
+	}
+
 	/**
 	 * REST API endpoint for status (for external monitoring)
 	 */
@@ -101,6 +130,121 @@ public class AdminController {
 		return status;
 	}
 
+	/**
+	 * REST API endpoint to drop cached nexl results for one nexl path, or all of them; replicated to the other
+	 * replicas when cluster sync is enabled
+	 */
+	@PostMapping("/api/cache/invalidate")
+	@ResponseBody
+	public Map<String, Object> invalidateCache(@RequestParam(required = false) String path) {
+		log.info("Invalidating nexl cache for {}", path != null ? path : "all paths");
+		eventPublisher.publishEvent(new CacheInvalidationEvent(path));
+		return Map.of("invalidated", path != null ? path : "*");
+	}
+
+	/**
+	 * REST API endpoint for request latency percentiles from the performance log, e.g. ?groupBy=app,cache
+	 */
+	@GetMapping("/api/performance")
+	@ResponseBody
+	public List<PerformanceLogSummarizer.Summary> getPerformanceSummary(
+			@RequestParam(defaultValue = "app,provider") String groupBy) {
+		List<String> fields;
+		try {
+			fields = PerformanceLogSummarizer.parseGroupBy(groupBy);
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+		}
+		if (!Files.isDirectory(performanceLogDirectory)) {
+			return List.of();
+		}
+		return PerformanceLogSummarizer.summarize(List.of(performanceLogDirectory), fields);
+	}
+
+	/**
+	 * HTMX endpoint to get the rate limits and the most throttled keys
+	 */
+	@GetMapping("/rate-limits")
+	@HxRequest
+	public String getRateLimits(Model model) {
+		model.addAttribute("rateLimits", getRateLimitStatus());
+		return "admin/fragments/rate-limits :: rate-limits-list";
+	}
+
+	/**
+	 * HTMX endpoint to change the default rate limit of a scope (application or client)
+	 */
+	@PostMapping("/rate-limits/{scope}")
+	@HxRequest
+	public String setRateLimit(@PathVariable String scope, @RequestParam double rate, @RequestParam int burst,
+	                           Model model) {
+		getRateLimiter(scope).setDefaultLimit(toLimit(rate, burst));
+		model.addAttribute("rateLimits", getRateLimitStatus());
+		model.addAttribute("message", String.format("%s rate limit is now %s/s, burst %d", scope, rate, burst));
+		return "admin/fragments/rate-limits :: rate-limits-list";
+	}
+
+	/**
+	 * HTMX endpoint to set the rate limit of a single application or client address
+	 */
+	@PostMapping("/rate-limits/{scope}/overrides")
+	@HxRequest
+	public String setRateLimitOverride(@PathVariable String scope, @RequestParam String key, @RequestParam double rate,
+	                                   @RequestParam int burst, Model model) {
+		getRateLimiter(scope).setOverride(key, toLimit(rate, burst));
+		model.addAttribute("rateLimits", getRateLimitStatus());
+		model.addAttribute("message", String.format("%s '%s' rate limit is now %s/s, burst %d", scope, key, rate, burst));
+		return "admin/fragments/rate-limits :: rate-limits-list";
+	}
+
+	/**
+	 * HTMX endpoint to drop a per-key rate limit, falling back to the scope default
+	 */
+	@DeleteMapping("/rate-limits/{scope}/overrides")
+	@HxRequest
+	public String removeRateLimitOverride(@PathVariable String scope, @RequestParam String key, Model model) {
+		getRateLimiter(scope).removeOverride(key);
+		model.addAttribute("rateLimits", getRateLimitStatus());
+		return "admin/fragments/rate-limits :: rate-limits-list";
+	}
+
+	/**
+	 * REST API endpoint for the current rate limits and the most throttled keys
+	 */
+	@GetMapping("/api/rate-limits")
+	@ResponseBody
+	public List<Map<String, Object>> getRateLimitsStatus() {
+		return getRateLimitStatus();
+	}
+
+	private List<Map<String, Object>> getRateLimitStatus() {
+		return rateLimiters.orderedStream().map(limiter -> {
+			Map<String, Object> info = new LinkedHashMap<>();
+			info.put("scope", limiter.getScope());
+			info.put("rate", limiter.getDefaultLimit().rate());
+			info.put("burst", limiter.getDefaultLimit().burst());
+			info.put("keys", limiter.size());
+			info.put("overrides", limiter.getOverrides());
+			info.put("throttled", limiter.topThrottled(10));
+			return info;
+		}).toList();
+	}
+
+	private TokenBucketRateLimiter getRateLimiter(String scope) {
+		return rateLimiters.orderedStream()
+				.filter(limiter -> limiter.getScope().equals(scope))
+				.findFirst()
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No rate limit for " + scope));
+	}
+
+	private static TokenBucketRateLimiter.Limit toLimit(double rate, int burst) {
+		try {
+			return new TokenBucketRateLimiter.Limit(rate, burst);
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+		}
+	}
+
 	private List<Map<String, Object>> getProviderStatus() {
 		return providers.stream().map(provider -> {
 					String providerName = provider.getClass().getSimpleName();
@@ -115,6 +259,36 @@ public class AdminController {
 				.toList();
 	}
 
+	private Map<String, Object> getPackCacheStatus() {
+		WindowCacheStats stats = WindowCacheStats.getStats();
+		Map<String, Object> info = new LinkedHashMap<>();
+		GitWindowCacheProperties settings = windowCache.getIfAvailable();
+		if (settings != null) {
+			info.put("mmap", settings.isPackedGitMmap());
+			info.put("windowSize", formatSize(settings.getPackedGitWindowSize().toBytes()));
+			info.put("limit", formatSize(settings.getPackedGitLimit().toBytes()));
+			info.put("deltaBaseCacheLimit", formatSize(settings.getDeltaBaseCacheLimit().toBytes()));
+		}
+		info.put("hitRatio", stats.getRequestCount() == 0 ? "-" : String.format("%.1f%%", stats.getHitRatio() * 100));
+		info.put("hits", stats.getHitCount());
+		info.put("misses", stats.getMissCount());
+		info.put("evictions", stats.getEvictionCount());
+		info.put("averageLoadMillis", String.format("%.2f", stats.getAverageLoadTime() / 1_000_000));
+		info.put("openFiles", stats.getOpenFileCount());
+		info.put("openBytes", formatSize(stats.getOpenByteCount()));
+		return info;
+	}
+
+	private static String formatSize(long bytes) {
+		if (bytes >= DataSize.ofMegabytes(1).toBytes()) {
+			return String.format("%.1f MB", bytes / (double) DataSize.ofMegabytes(1).toBytes());
+		}
+		if (bytes >= DataSize.ofKilobytes(1).toBytes()) {
+			return String.format("%.1f KB", bytes / (double) DataSize.ofKilobytes(1).toBytes());
+		}
+		return bytes + " B";
+	}
+
 	private List<Map<String, Object>> getGitRepositories() {
 		List<Map<String, Object>> repos = new ArrayList<>();
 
@@ -42,6 +42,25 @@ public class ConfigProviderManager {
 		eventPublisher.publishEvent(new PrimaryProviderChangeEvent(providerName));
 	}
 
+	/**
+	 * Applies a provider state replicated from another replica. The local event is marked remote so it is not
+	 * broadcast again.
+	 */
+	public void applyRemoteProviderState(String providerName, boolean enabled) {
+		providerStates.put(providerName, enabled);
+		log.info("Provider {} is now {} (replicated)", providerName, enabled ? "enabled" : "disabled");
+		eventPublisher.publishEvent(new ProviderStateChangeEvent(providerName, enabled, true));
+	}
+
+	/**
+	 * Applies a primary provider change replicated from another replica.
+	 */
+	public void applyRemotePrimaryProvider(String providerName) {
+		this.primaryProvider = providerName;
+		log.info("Primary provider changed to: {} (replicated)", providerName);
+		eventPublisher.publishEvent(new PrimaryProviderChangeEvent(providerName, true));
+	}
+
 	public String getPrimaryProvider() {
 		return primaryProvider;
 	}
@@ -50,18 +69,30 @@ public class ConfigProviderManager {
 	public static class ProviderStateChangeEvent {
 		public final String providerName;
 		public final boolean enabled;
+		public final boolean remote;
 
 		public ProviderStateChangeEvent(String providerName, boolean enabled) {
+			this(providerName, enabled, false);
+		}
+
+		public ProviderStateChangeEvent(String providerName, boolean enabled, boolean remote) {
 			this.providerName = providerName;
 			this.enabled = enabled;
+			this.remote = remote;
 		}
 	}
 
 	public static class PrimaryProviderChangeEvent {
 		public final String providerName;
+		public final boolean remote;
 
 		public PrimaryProviderChangeEvent(String providerName) {
+			this(providerName, false);
+		}
+
+		public PrimaryProviderChangeEvent(String providerName, boolean remote) {
 			this.providerName = providerName;
+			this.remote = remote;
 		}
 	}
 }
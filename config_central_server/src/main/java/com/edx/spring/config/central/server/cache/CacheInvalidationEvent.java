@@ -0,0 +1,19 @@
+package com.edx.spring.config.central.server.cache;
+
+/**
+ * Request to drop cached nexl results, for one nexl path (all expressions) or, with a {@code null} path, for
+ * everything. Remote events were replicated from another replica and are not broadcast again.
+ */
+public class CacheInvalidationEvent {
+	public final String path;
+	public final boolean remote;
+
+	public CacheInvalidationEvent(String path) {
+		this(path, false);
+	}
+
+	public CacheInvalidationEvent(String path, boolean remote) {
+		this.path = path;
+		this.remote = remote;
+	}
+}
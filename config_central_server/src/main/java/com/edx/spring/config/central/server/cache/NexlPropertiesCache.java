@@ -0,0 +1,224 @@
+package com.edx.spring.config.central.server.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of resolved nexl property maps with single-flight loading.
+ * <p>
+ * Concurrent misses for the same key share one upstream call: the first caller loads, the others wait on its
+ * future. Only successful, non-empty results are cached; failures are propagated to every waiter and retried
+ * by the next caller. Cached maps are shared between requests and must be treated as read-only.
+ * <p>
+ * Expired entries stay until evicted, with the validators their loader returned, so that a
+ * {@link RevalidatingLoader} can ask nexl whether they changed instead of downloading and parsing them again.
+ * A loader that hands back the expired value renews it; that lookup is reported as {@link Outcome#REVALIDATED}.
+ * <p>
+ * Invalidation wins over loads already running: a load that started before an invalidation still answers its
+ * callers but does not store its result, and callers arriving after the invalidation start a load of their own.
+ */
+@Slf4j
+public class NexlPropertiesCache {
+
+	public enum Outcome {HIT, MISS, COALESCED, REVALIDATED}
+
+	/** A loaded value and whatever its loader needs to revalidate it later (ETag, content hash), or null. */
+	public record Loaded(Map<String, Object> value, Object validators) {
+	}
+
+	@FunctionalInterface
+	public interface RevalidatingLoader {
+
+		/**
+		 * Loads the value of a key; {@code stale} is its expired entry, or null. Returning {@code stale}'s value
+		 * (the same instance) renews the entry without replacing it.
+		 */
+		Loaded load(Loaded stale);
+	}
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private final Map<String, CompletableFuture<Map<String, Object>>> inFlight = new ConcurrentHashMap<>();
+	/** Bumped by every invalidation; a load stores its result only if no invalidation ran while it loaded. */
+	private final AtomicLong generation = new AtomicLong();
+	private final long ttlNanos;
+	private final int maxEntries;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+	private final LongAdder revalidated = new LongAdder();
+
+	public NexlPropertiesCache(Duration ttl, int maxEntries) {
+		this.ttlNanos = ttl.toNanos();
+		this.maxEntries = maxEntries;
+	}
+
+	public boolean isEnabled() {
+		return ttlNanos > 0 && maxEntries > 0;
+	}
+
+	/**
+	 * Returns the cached value for {@code key}, or loads it through {@code loader}, joining a load already in
+	 * progress for the same key. The {@link Outcome} of the lookup is reported through {@code outcomeSink}.
+	 */
+	public Map<String, Object> get(String key, Supplier<Map<String, Object>> loader, OutcomeSink outcomeSink) {
+		return get(key, stale -> new Loaded(loader.get(), null), outcomeSink);
+	}
+
+	/**
+	 * Like {@link #get(String, Supplier, OutcomeSink)}, but the loader gets the expired entry of the key to
+	 * revalidate.
+	 */
+	public Map<String, Object> get(String key, RevalidatingLoader loader, OutcomeSink outcomeSink) {
+		Entry stale = null;
+		if (isEnabled()) {
+			Entry entry = entries.get(key);
+			if (entry != null && entry.isFresh(System.nanoTime())) {
+				hits.increment();
+				outcomeSink.accept(Outcome.HIT);
+				return entry.value;
+			}
+			stale = entry;
+		}
+
+		CompletableFuture<Map<String, Object>> ours = new CompletableFuture<>();
+		CompletableFuture<Map<String, Object>> existing = inFlight.putIfAbsent(key, ours);
+		if (existing != null) {
+			coalesced.increment();
+			outcomeSink.accept(Outcome.COALESCED);
+			return join(existing);
+		}
+
+		misses.increment();
+		outcomeSink.accept(Outcome.MISS);
+		long loadGeneration = generation.get();
+		try {
+			Loaded loaded = loader.load(stale != null ? new Loaded(stale.value, stale.validators) : null);
+			Map<String, Object> value = loaded.value();
+			if (stale != null && value == stale.value) {
+				revalidated.increment();
+				outcomeSink.accept(Outcome.REVALIDATED);
+			}
+			if (isEnabled() && value != null && !value.isEmpty()) {
+				put(key, value, loaded.validators(), loadGeneration);
+			}
+			ours.complete(value);
+			return value;
+		} catch (RuntimeException e) {
+			ours.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, ours);
+		}
+	}
+
+	public void invalidate(String key) {
+		generation.incrementAndGet();
+		inFlight.remove(key);
+		entries.remove(key);
+	}
+
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		inFlight.clear();
+		entries.clear();
+	}
+
+	public void invalidateIf(Predicate<String> keyFilter) {
+		generation.incrementAndGet();
+		inFlight.keySet().removeIf(keyFilter);
+		entries.keySet().removeIf(keyFilter);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public long hitCount() {
+		return hits.sum();
+	}
+
+	public long missCount() {
+		return misses.sum();
+	}
+
+	public long coalescedCount() {
+		return coalesced.sum();
+	}
+
+	public long revalidatedCount() {
+		return revalidated.sum();
+	}
+
+	private void put(String key, Map<String, Object> value, Object validators, long loadGeneration) {
+		if (generation.get() != loadGeneration) {
+			log.debug("Not caching {}: invalidated while it was loading", key);
+			return;
+		}
+		long now = System.nanoTime();
+		Entry entry = new Entry(value, validators, now + ttlNanos);
+		entries.put(key, entry);
+		if (generation.get() != loadGeneration) {
+			// An invalidation ran between the check and the put and may have missed this entry
+			entries.remove(key, entry);
+			return;
+		}
+		if (entries.size() > maxEntries) {
+			evict(now);
+		}
+	}
+
+	/**
+	 * Drops expired entries and, if still over capacity, the tenth of entries closest to expiry. Runs only on
+	 * overflow, so its cost is amortised over the inserts that caused it.
+	 */
+	private void evict(long now) {
+		entries.values().removeIf(entry -> !entry.isFresh(now));
+		int excess = entries.size() - maxEntries;
+		if (excess > 0) {
+			int toRemove = Math.max(excess, maxEntries / 10);
+			entries.entrySet().stream()
+					.sorted(Comparator.comparingLong(e -> e.getValue().expiresAtNanos))
+					.limit(toRemove)
+					.map(Map.Entry::getKey)
+					.toList()
+					.forEach(entries::remove);
+			log.debug("Evicted {} nexl cache entries over capacity {}", toRemove, maxEntries);
+		}
+	}
+
+	private static Map<String, Object> join(CompletableFuture<Map<String, Object>> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw e;
+		}
+	}
+
+	@FunctionalInterface
+	public interface OutcomeSink {
+		OutcomeSink NONE = outcome -> {
+		};
+
+		void accept(Outcome outcome);
+	}
+
+	private record Entry(Map<String, Object> value, Object validators, long expiresAtNanos) {
+		boolean isFresh(long now) {
+			return expiresAtNanos - now > 0;
+		}
+	}
+}
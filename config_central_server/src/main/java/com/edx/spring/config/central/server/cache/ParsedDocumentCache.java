@@ -0,0 +1,146 @@
+package com.edx.spring.config.central.server.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.lib.ObjectId;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Parsed config files keyed by git blob id. A blob id is the hash of the file content, so every label,
+ * commit and application whose tree contains the same {@code application.yml} gets the same parsed documents,
+ * and memory holds one copy per distinct content. Entries never go stale; the cache is bounded by
+ * {@code maxEntries} and drops the least recently used tenth on overflow.
+ * <p>
+ * Documents are {@link CompactPropertyMap}s: immutable, and shared by every environment that includes them.
+ */
+@Slf4j
+public class ParsedDocumentCache {
+
+	/** One document of a file: the suffix its property source name gets ({@code " (document #1)"}) and its properties. */
+	public record Document(String nameSuffix, Map<String, Object> properties) {
+	}
+
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+	private final int maxEntries;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder bytesSaved = new LongAdder();
+
+	public ParsedDocumentCache(int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	public ParsedDocumentCache bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("config.git.parse-cache.hits", hits, LongAdder::sum)
+				.description("Config files served from already parsed documents")
+				.register(registry);
+		FunctionCounter.builder("config.git.parse-cache.misses", misses, LongAdder::sum)
+				.description("Config files read and parsed")
+				.register(registry);
+		FunctionCounter.builder("config.git.parse-cache.bytes-saved", bytesSaved, LongAdder::sum)
+				.baseUnit("bytes")
+				.description("File content not read and parsed again thanks to the cache")
+				.register(registry);
+		Gauge.builder("config.git.parse-cache.hit-ratio", this, ParsedDocumentCache::hitRatio)
+				.register(registry);
+		Gauge.builder("config.git.parse-cache.size", entries, Map::size)
+				.register(registry);
+		return this;
+	}
+
+	public boolean isEnabled() {
+		return maxEntries > 0;
+	}
+
+	/**
+	 * Returns the documents of the blob, parsing it through {@code parser} on a miss. {@code format} tells
+	 * apart the same content under different extensions; {@code size} is the blob size, counted as saved on hits.
+	 */
+	public List<Document> get(ObjectId blobId, String format, long size, Supplier<List<Document>> parser) {
+		if (!isEnabled()) {
+			return parser.get();
+		}
+		Key key = new Key(blobId.copy(), format);
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			hits.increment();
+			bytesSaved.add(entry.size);
+			entry.lastAccess = System.nanoTime();
+			return entry.documents;
+		}
+		misses.increment();
+		List<Document> documents = parser.get().stream()
+				.map(document -> new Document(document.nameSuffix(), CompactPropertyMap.copyOf(document.properties())))
+				.toList();
+		entries.put(key, new Entry(documents, size));
+		if (entries.size() > maxEntries) {
+			evict();
+		}
+		return documents;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public long hitCount() {
+		return hits.sum();
+	}
+
+	public long missCount() {
+		return misses.sum();
+	}
+
+	public long bytesSaved() {
+		return bytesSaved.sum();
+	}
+
+	public double hitRatio() {
+		long hitCount = hits.sum();
+		long total = hitCount + misses.sum();
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	public void invalidateAll() {
+		entries.clear();
+	}
+
+	/** Runs only on overflow, so its cost is amortised over the misses that caused it. */
+	private synchronized void evict() {
+		int excess = entries.size() - maxEntries;
+		if (excess <= 0) {
+			return;
+		}
+		int toRemove = Math.max(excess, maxEntries / 10);
+		entries.entrySet().stream()
+				.sorted(Comparator.comparingLong(e -> e.getValue().lastAccess))
+				.limit(toRemove)
+				.map(Map.Entry::getKey)
+				.toList()
+				.forEach(entries::remove);
+		log.debug("Evicted {} parsed git documents over capacity {}", toRemove, maxEntries);
+	}
+
+	private record Key(ObjectId blobId, String format) {
+	}
+
+	private static final class Entry {
+		final List<Document> documents;
+		final long size;
+		volatile long lastAccess = System.nanoTime();
+
+		Entry(List<Document> documents, long size) {
+			this.documents = documents;
+			this.size = size;
+		}
+	}
+}
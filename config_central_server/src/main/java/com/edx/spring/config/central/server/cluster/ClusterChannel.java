@@ -0,0 +1,20 @@
+package com.edx.spring.config.central.server.cluster;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+/**
+ * Best-effort broadcast between config server replicas. Delivery is at most once and unordered; receivers
+ * order state changes themselves (see {@link ClusterMessage}). A channel may deliver a node's own messages
+ * back to it.
+ */
+public interface ClusterChannel extends Closeable {
+
+	/** Starts delivering received messages to {@code receiver}, on a channel-owned thread. */
+	void start(Consumer<ClusterMessage> receiver);
+
+	void send(ClusterMessage message);
+
+	@Override
+	void close();
+}
@@ -0,0 +1,93 @@
+package com.edx.spring.config.central.server.cluster;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * State change replicated between config server replicas. {@code version} is a Lamport clock value: the
+ * originating node takes one above every version it has made or received, so a change made after a node saw
+ * another change is ordered after it regardless of wall clocks. With {@code node} as tie-breaker it orders
+ * concurrent changes to the same state.
+ * <p>
+ * Wire format is one UTF-8 line, fields percent-encoded, signed by {@link ClusterSigner}:
+ * <pre>
+ * C2|node|version|type|name|enabled|signature
+ * </pre>
+ * {@code name} is the provider for provider messages and the nexl path for cache invalidations ({@code -} for
+ * all paths). A {@link Type#STATE_REQUEST}, sent by a node joining the cluster, asks the others to broadcast
+ * their state.
+ */
+public record ClusterMessage(String node, long version, Type type, String name, boolean enabled) {
+
+	public enum Type {PROVIDER_STATE, PRIMARY_PROVIDER, CACHE_INVALIDATION, STATE_REQUEST}
+
+	static final String MARKER = "C2|";
+
+	private static final String NONE = "-";
+
+	public static ClusterMessage providerState(String node, long version, String provider, boolean enabled) {
+		return new ClusterMessage(node, version, Type.PROVIDER_STATE, provider, enabled);
+	}
+
+	public static ClusterMessage primaryProvider(String node, long version, String provider) {
+		return new ClusterMessage(node, version, Type.PRIMARY_PROVIDER, provider, true);
+	}
+
+	public static ClusterMessage cacheInvalidation(String node, long version, String path) {
+		return new ClusterMessage(node, version, Type.CACHE_INVALIDATION, path, true);
+	}
+
+	public static ClusterMessage stateRequest(String node, long version) {
+		return new ClusterMessage(node, version, Type.STATE_REQUEST, null, true);
+	}
+
+	/** The replicated state this message overwrites, used to order messages; {@code null} if it has none. */
+	String stateKey() {
+		return switch (type) {
+			case PROVIDER_STATE -> "provider:" + name;
+			case PRIMARY_PROVIDER -> "primary";
+			case CACHE_INVALIDATION, STATE_REQUEST -> null;
+		};
+	}
+
+	/** Whether this message was made after {@code other}, breaking version ties by node. */
+	boolean isNewerThan(ClusterMessage other) {
+		return version != other.version ? version > other.version : node.compareTo(other.node) > 0;
+	}
+
+	public byte[] encode(ClusterSigner signer) {
+		return signer.sign((MARKER + encode(node) + '|' + version + '|' + type + '|' + encode(name) + '|' + enabled)
+				.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/** Decodes a message, or returns {@code null} for anything that is not one or is not signed by {@code signer}. */
+	public static ClusterMessage decode(byte[] data, int offset, int length, ClusterSigner signer) {
+		byte[] payload = signer.verify(data, offset, length);
+		if (payload == null) {
+			return null;
+		}
+		String line = new String(payload, StandardCharsets.UTF_8);
+		if (!line.startsWith(MARKER)) {
+			return null;
+		}
+		String[] fields = line.substring(MARKER.length()).split("\\|", -1);
+		if (fields.length != 5) {
+			return null;
+		}
+		try {
+			return new ClusterMessage(decode(fields[0]), Long.parseLong(fields[1]), Type.valueOf(fields[2]),
+					decode(fields[3]), Boolean.parseBoolean(fields[4]));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static String encode(String value) {
+		return value == null ? NONE : URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+
+	private static String decode(String value) {
+		return NONE.equals(value) ? null : URLDecoder.decode(value, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,72 @@
+package com.edx.spring.config.central.server.cluster;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Signs encoded cluster messages with HMAC-SHA256 over the cluster's shared secret
+ * ({@code config.cluster.secret}), appended to the line as {@code |signature}. Datagrams without a valid
+ * signature are dropped, so a host on the multicast group cannot toggle providers without the secret.
+ */
+public class ClusterSigner {
+
+	private static final String ALGORITHM = "HmacSHA256";
+
+	private final SecretKeySpec key;
+
+	public ClusterSigner(String secret) {
+		if (secret == null || secret.isBlank()) {
+			throw new IllegalStateException("config.cluster.secret is required when config.cluster.enabled is set");
+		}
+		this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+	}
+
+	byte[] sign(byte[] payload) {
+		byte[] signature = Base64.getUrlEncoder().withoutPadding().encode(mac(payload, 0, payload.length));
+		byte[] signed = Arrays.copyOf(payload, payload.length + 1 + signature.length);
+		signed[payload.length] = '|';
+		System.arraycopy(signature, 0, signed, payload.length + 1, signature.length);
+		return signed;
+	}
+
+	/** The payload of a correctly signed datagram, or {@code null} if it is unsigned or the signature is wrong. */
+	byte[] verify(byte[] data, int offset, int length) {
+		int separator = -1;
+		for (int i = offset + length - 1; i >= offset; i--) {
+			if (data[i] == '|') {
+				separator = i;
+				break;
+			}
+		}
+		if (separator < 0) {
+			return null;
+		}
+		byte[] presented;
+		try {
+			presented = Base64.getUrlDecoder().decode(Arrays.copyOfRange(data, separator + 1, offset + length));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		if (!MessageDigest.isEqual(presented, mac(data, offset, separator - offset))) {
+			return null;
+		}
+		return Arrays.copyOfRange(data, offset, separator);
+	}
+
+	private byte[] mac(byte[] data, int offset, int length) {
+		try {
+			// Mac instances are not thread-safe; messages are rare enough to create one each time
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+			mac.update(data, offset, length);
+			return mac.doFinal();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(ALGORITHM + " is not available", e);
+		}
+	}
+}
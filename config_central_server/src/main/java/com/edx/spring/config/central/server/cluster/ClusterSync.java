@@ -0,0 +1,163 @@
+package com.edx.spring.config.central.server.cluster;
+
+import com.edx.spring.config.central.server.admin.ConfigProviderManager;
+import com.edx.spring.config.central.server.admin.ConfigProviderManager.PrimaryProviderChangeEvent;
+import com.edx.spring.config.central.server.admin.ConfigProviderManager.ProviderStateChangeEvent;
+import com.edx.spring.config.central.server.cache.CacheInvalidationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Replicates provider toggles, primary provider changes and nexl cache invalidations to the other replicas
+ * over a {@link ClusterChannel}, and applies theirs locally.
+ * <p>
+ * Local changes are broadcast as they are published; replicated changes are applied through
+ * {@link ConfigProviderManager} and republished as remote events, which are not broadcast again. Provider
+ * state is ordered by the Lamport version of the change, so a reordered or late message cannot undo a newer
+ * change, whatever the replicas' clocks say.
+ * <p>
+ * The channel drops datagrams, so every {@code stateInterval} each node rebroadcasts the latest change it knows
+ * for every replicated state, and a node that starts asks the others for theirs. Replicas that missed a change
+ * converge on the next round. Cache invalidations are not repeated: a missed one expires with the cache ttl.
+ */
+@Slf4j
+public class ClusterSync {
+
+	private final String nodeId;
+	private final ClusterChannel channel;
+	private final ConfigProviderManager providerManager;
+	private final ApplicationEventPublisher eventPublisher;
+	private final Duration stateInterval;
+
+	// Latest applied change per replicated state, and the Lamport clock, guarded by this
+	private final Map<String, ClusterMessage> versions = new HashMap<>();
+	private long clock;
+
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * @param stateInterval how often the known state is rebroadcast; zero or negative never
+	 */
+	public ClusterSync(String nodeId, ClusterChannel channel, ConfigProviderManager providerManager,
+	                   ApplicationEventPublisher eventPublisher, Duration stateInterval) {
+		this.nodeId = nodeId;
+		this.channel = channel;
+		this.providerManager = providerManager;
+		this.eventPublisher = eventPublisher;
+		this.stateInterval = stateInterval;
+	}
+
+	public void start() {
+		channel.start(this::onMessage);
+		broadcast(version -> ClusterMessage.stateRequest(nodeId, version));
+		if (stateInterval.isPositive()) {
+			scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("cluster-state").daemon().factory());
+			long millis = stateInterval.toMillis();
+			scheduler.scheduleAtFixedRate(this::broadcastState, millis, millis, TimeUnit.MILLISECONDS);
+		}
+		log.info("Cluster sync started as node {}, state rebroadcast every {}", nodeId, stateInterval);
+	}
+
+	public void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	public String getNodeId() {
+		return nodeId;
+	}
+
+	@EventListener
+	public void onProviderStateChange(ProviderStateChangeEvent event) {
+		if (!event.remote) {
+			broadcast(version -> ClusterMessage.providerState(nodeId, version, event.providerName, event.enabled));
+		}
+	}
+
+	@EventListener
+	public void onPrimaryProviderChange(PrimaryProviderChangeEvent event) {
+		if (!event.remote) {
+			broadcast(version -> ClusterMessage.primaryProvider(nodeId, version, event.providerName));
+		}
+	}
+
+	@EventListener
+	public void onCacheInvalidation(CacheInvalidationEvent event) {
+		if (!event.remote) {
+			broadcast(version -> ClusterMessage.cacheInvalidation(nodeId, version, event.path));
+		}
+	}
+
+	private void broadcast(LongFunction<ClusterMessage> change) {
+		ClusterMessage message;
+		synchronized (this) {
+			message = change.apply(++clock);
+			record(message);
+		}
+		channel.send(message);
+		log.debug("Broadcast {} {} at version {}", message.type(), message.name(), message.version());
+	}
+
+	/** Rebroadcasts the latest known change to every replicated state, this node's and the ones it applied. */
+	void broadcastState() {
+		List<ClusterMessage> state;
+		synchronized (this) {
+			state = List.copyOf(versions.values());
+		}
+		state.forEach(channel::send);
+		log.debug("Rebroadcast {} replicated states", state.size());
+	}
+
+	void onMessage(ClusterMessage message) {
+		synchronized (this) {
+			clock = Math.max(clock, message.version());
+		}
+		// State messages of this node are applied if newer, which restores its own changes after a restart
+		if (message.stateKey() == null && nodeId.equals(message.node())) {
+			return;
+		}
+		if (message.type() == ClusterMessage.Type.STATE_REQUEST) {
+			log.debug("Node {} joined, sending state", message.node());
+			broadcastState();
+			return;
+		}
+		synchronized (this) {
+			if (!record(message)) {
+				log.debug("Ignoring stale {} {} from {}", message.type(), message.name(), message.node());
+				return;
+			}
+			switch (message.type()) {
+				case PROVIDER_STATE -> providerManager.applyRemoteProviderState(message.name(), message.enabled());
+				case PRIMARY_PROVIDER -> providerManager.applyRemotePrimaryProvider(message.name());
+				case CACHE_INVALIDATION -> eventPublisher.publishEvent(new CacheInvalidationEvent(message.name(), true));
+				case STATE_REQUEST -> {
+				}
+			}
+		}
+	}
+
+	/** Records {@code message} as the latest change to its state; {@code false} if a newer one is known. */
+	private boolean record(ClusterMessage message) {
+		String stateKey = message.stateKey();
+		if (stateKey == null) {
+			return true;
+		}
+		ClusterMessage current = versions.get(stateKey);
+		if (current != null && !message.isNewerThan(current)) {
+			return false;
+		}
+		versions.put(stateKey, message);
+		return true;
+	}
+}
@@ -0,0 +1,53 @@
+package com.edx.spring.config.central.server.cluster;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for a network channel: every channel joined to the same cluster name in this JVM
+ * receives the others' messages, synchronously and through the same encoding as on the wire. For local runs
+ * of several application contexts and for tests.
+ */
+public class LoopbackClusterChannel implements ClusterChannel {
+
+	private static final Map<String, Set<LoopbackClusterChannel>> CLUSTERS = new ConcurrentHashMap<>();
+
+	private final String cluster;
+	private final ClusterSigner signer;
+	private volatile Consumer<ClusterMessage> receiver;
+
+	public LoopbackClusterChannel(String cluster, ClusterSigner signer) {
+		this.cluster = cluster;
+		this.signer = signer;
+	}
+
+	@Override
+	public void start(Consumer<ClusterMessage> receiver) {
+		this.receiver = receiver;
+		CLUSTERS.computeIfAbsent(cluster, name -> new CopyOnWriteArraySet<>()).add(this);
+	}
+
+	@Override
+	public void send(ClusterMessage message) {
+		byte[] data = message.encode(signer);
+		for (LoopbackClusterChannel member : CLUSTERS.getOrDefault(cluster, Set.of())) {
+			if (member != this) {
+				ClusterMessage received = ClusterMessage.decode(data, 0, data.length, member.signer);
+				if (received != null) {
+					member.receiver.accept(received);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		Set<LoopbackClusterChannel> members = CLUSTERS.get(cluster);
+		if (members != null) {
+			members.remove(this);
+		}
+	}
+}
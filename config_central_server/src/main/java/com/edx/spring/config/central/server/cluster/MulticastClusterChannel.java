@@ -0,0 +1,112 @@
+package com.edx.spring.config.central.server.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.function.Consumer;
+
+/**
+ * UDP multicast channel: one datagram per message to a group every replica has joined, so a change reaches
+ * all replicas in a single network hop with no membership to maintain. Requires a network that routes
+ * multicast between the replicas (same subnet, or multicast-capable overlay). Every datagram is signed, and
+ * datagrams that do not carry a valid signature are dropped.
+ */
+@Slf4j
+public class MulticastClusterChannel implements ClusterChannel {
+
+	private static final int MAX_DATAGRAM = 1400;
+
+	private final InetSocketAddress group;
+	private final NetworkInterface networkInterface;
+	private final MulticastSocket socket;
+	private final ClusterSigner signer;
+	private volatile boolean running;
+
+	public MulticastClusterChannel(String groupAddress, int port, String interfaceName, int timeToLive,
+	                               ClusterSigner signer) {
+		this.signer = signer;
+		try {
+			this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+			this.networkInterface = interfaceName == null || interfaceName.isBlank()
+					? null : NetworkInterface.getByName(interfaceName);
+			this.socket = new MulticastSocket(port);
+			socket.setTimeToLive(timeToLive);
+			if (networkInterface != null) {
+				socket.setNetworkInterface(networkInterface);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open multicast socket for " + groupAddress + ":" + port, e);
+		}
+	}
+
+	@Override
+	public void start(Consumer<ClusterMessage> receiver) {
+		try {
+			socket.joinGroup(group, networkInterface);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot join multicast group " + group, e);
+		}
+		running = true;
+		Thread thread = new Thread(() -> receive(receiver), "cluster-receiver");
+		thread.setDaemon(true);
+		thread.start();
+		log.info("Joined cluster multicast group {}", group);
+	}
+
+	private void receive(Consumer<ClusterMessage> receiver) {
+		byte[] buffer = new byte[MAX_DATAGRAM];
+		DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+		while (running) {
+			try {
+				packet.setLength(buffer.length);
+				socket.receive(packet);
+				ClusterMessage message = ClusterMessage.decode(packet.getData(), packet.getOffset(), packet.getLength(),
+						signer);
+				if (message == null) {
+					log.debug("Ignoring unsigned or unrecognised datagram from {}", packet.getSocketAddress());
+					continue;
+				}
+				receiver.accept(message);
+			} catch (SocketException e) {
+				if (running) {
+					log.warn("Cluster receiver stopped: {}", e.getMessage());
+				}
+				return;
+			} catch (Exception e) {
+				log.warn("Failed to handle cluster message", e);
+			}
+		}
+	}
+
+	@Override
+	public void send(ClusterMessage message) {
+		byte[] data = message.encode(signer);
+		if (data.length > MAX_DATAGRAM) {
+			log.warn("Cluster message too large to broadcast ({} bytes): {}", data.length, message.type());
+			return;
+		}
+		try {
+			socket.send(new DatagramPacket(data, data.length, group));
+		} catch (IOException e) {
+			log.warn("Failed to broadcast {} to {}: {}", message.type(), group, e.getMessage());
+		}
+	}
+
+	@Override
+	public void close() {
+		running = false;
+		try {
+			socket.leaveGroup(group, networkInterface);
+		} catch (IOException e) {
+			log.debug("Failed to leave multicast group {}", group, e);
+		}
+		socket.close();
+	}
+}
@@ -0,0 +1,95 @@
+package com.edx.spring.config.central.server.config;
+
+import com.edx.spring.config.central.server.env.LabelRoutingEnvironmentRepository;
+import com.edx.spring.config.central.server.limit.Bulkhead;
+import com.edx.spring.config.central.server.limit.BulkheadFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Bulkheads for nexl, git, admin and peer requests, so that no backend can take all of Tomcat's worker threads.
+ * Runs after the adaptive concurrency limit: requests it sheds never queue for a bulkhead slot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "config.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class BulkheadConfiguration {
+
+	@Value("${config.bulkhead.retry-after:1s}")
+	private Duration retryAfter;
+
+	@Value("${config.bulkhead.nexl.max-concurrent:60}")
+	private int nexlMaxConcurrent;
+
+	@Value("${config.bulkhead.nexl.max-queued:20}")
+	private int nexlMaxQueued;
+
+	@Value("${config.bulkhead.nexl.max-wait:500ms}")
+	private Duration nexlMaxWait;
+
+	@Value("${config.bulkhead.git.max-concurrent:60}")
+	private int gitMaxConcurrent;
+
+	@Value("${config.bulkhead.git.max-queued:20}")
+	private int gitMaxQueued;
+
+	@Value("${config.bulkhead.git.max-wait:500ms}")
+	private Duration gitMaxWait;
+
+	@Value("${config.bulkhead.admin.max-concurrent:10}")
+	private int adminMaxConcurrent;
+
+	@Value("${config.bulkhead.admin.max-queued:10}")
+	private int adminMaxQueued;
+
+	@Value("${config.bulkhead.admin.max-wait:2s}")
+	private Duration adminMaxWait;
+
+	@Value("${config.bulkhead.peer.max-concurrent:20}")
+	private int peerMaxConcurrent;
+
+	@Value("${config.bulkhead.peer.max-queued:10}")
+	private int peerMaxQueued;
+
+	@Value("${config.bulkhead.peer.max-wait:500ms}")
+	private Duration peerMaxWait;
+
+	@Value("${server.tomcat.threads.max:200}")
+	private int tomcatMaxThreads;
+
+	@Bean
+	public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(ObjectProvider<MeterRegistry> meterRegistry,
+			ObjectProvider<LabelRoutingEnvironmentRepository> labelRouting) {
+		Bulkhead nexl = new Bulkhead("nexl", nexlMaxConcurrent, nexlMaxQueued, nexlMaxWait);
+		Bulkhead git = new Bulkhead("git", gitMaxConcurrent, gitMaxQueued, gitMaxWait);
+		Bulkhead admin = new Bulkhead("admin", adminMaxConcurrent, adminMaxQueued, adminMaxWait);
+		Bulkhead peer = new Bulkhead("peer", peerMaxConcurrent, peerMaxQueued, peerMaxWait);
+		meterRegistry.ifAvailable(registry -> List.of(nexl, git, admin, peer).forEach(bulkhead -> bulkhead.bindTo(registry)));
+
+		int threads = nexlMaxConcurrent + nexlMaxQueued + gitMaxConcurrent + gitMaxQueued
+				+ adminMaxConcurrent + adminMaxQueued + peerMaxConcurrent + peerMaxQueued;
+		log.info("Bulkheads: nexl {}+{} queued, git {}+{} queued, admin {}+{} queued, peer {}+{} queued",
+				nexlMaxConcurrent, nexlMaxQueued, gitMaxConcurrent, gitMaxQueued, adminMaxConcurrent, adminMaxQueued,
+				peerMaxConcurrent, peerMaxQueued);
+		if (threads > tomcatMaxThreads) {
+			log.warn("Bulkheads may hold {} threads but Tomcat has {}: a saturated backend can still starve the others",
+					threads, tomcatMaxThreads);
+		}
+
+		FilterRegistrationBean<BulkheadFilter> registrationBean = new FilterRegistrationBean<>();
+		registrationBean.setFilter(new BulkheadFilter(nexl, git, admin, peer, NexlLabels.of(labelRouting),
+				retryAfter.toSeconds()));
+		registrationBean.addUrlPatterns("/*");
+		registrationBean.setOrder(3);
+		return registrationBean;
+	}
+}
@@ -0,0 +1,71 @@
+package com.edx.spring.config.central.server.config;
+
+import com.edx.spring.config.central.server.admin.ConfigProviderManager;
+import com.edx.spring.config.central.server.cluster.ClusterChannel;
+import com.edx.spring.config.central.server.cluster.ClusterSigner;
+import com.edx.spring.config.central.server.cluster.ClusterSync;
+import com.edx.spring.config.central.server.cluster.LoopbackClusterChannel;
+import com.edx.spring.config.central.server.cluster.MulticastClusterChannel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Replication of admin state between replicas. Off by default; with {@code config.cluster.channel=multicast}
+ * replicas on the same network find each other through the multicast group, {@code loopback} connects
+ * application contexts within one JVM. Messages are signed with {@code config.cluster.secret}, which every
+ * replica must share.
+ */
+@Configuration
+@ConditionalOnProperty(name = "config.cluster.enabled", havingValue = "true")
+public class ClusterConfiguration {
+
+	@Value("${config.cluster.channel:multicast}")
+	private String channel;
+
+	@Value("${config.cluster.name:config-central}")
+	private String clusterName;
+
+	@Value("${config.cluster.node-id:}")
+	private String nodeId;
+
+	@Value("${config.cluster.secret:}")
+	private String secret;
+
+	@Value("${config.cluster.state-interval:30s}")
+	private Duration stateInterval;
+
+	@Value("${config.cluster.multicast.group:239.255.27.1}")
+	private String multicastGroup;
+
+	@Value("${config.cluster.multicast.port:47123}")
+	private int multicastPort;
+
+	@Value("${config.cluster.multicast.interface:}")
+	private String multicastInterface;
+
+	@Value("${config.cluster.multicast.ttl:1}")
+	private int multicastTtl;
+
+	@Bean(destroyMethod = "close")
+	public ClusterChannel clusterChannel() {
+		return switch (channel) {
+			case "multicast" -> new MulticastClusterChannel(multicastGroup, multicastPort, multicastInterface, multicastTtl,
+					new ClusterSigner(secret));
+			case "loopback" -> new LoopbackClusterChannel(clusterName, new ClusterSigner(secret));
+			default -> throw new IllegalStateException("Unknown config.cluster.channel: " + channel);
+		};
+	}
+
+	@Bean(initMethod = "start", destroyMethod = "stop")
+	public ClusterSync clusterSync(ClusterChannel clusterChannel, ConfigProviderManager providerManager,
+	                               ApplicationEventPublisher eventPublisher) {
+		String id = nodeId.isBlank() ? UUID.randomUUID().toString().substring(0, 8) : nodeId;
+		return new ClusterSync(id, clusterChannel, providerManager, eventPublisher, stateInterval);
+	}
+}
@@ -0,0 +1,75 @@
+package com.edx.spring.config.central.server.config;
+
+import com.edx.spring.config.central.server.env.LabelRoutingEnvironmentRepository;
+import com.edx.spring.config.central.server.limit.AdaptiveConcurrencyLimiter;
+import com.edx.spring.config.central.server.limit.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Adaptive concurrency limits in front of environment resolution, one for nexl labels and one for git. Runs
+ * after the access log filter and the rate limit, so shed requests still show up in the access and
+ * performance logs.
+ */
+@Configuration
+@ConditionalOnProperty(name = "config.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ConcurrencyLimitConfiguration {
+
+	@Value("${config.concurrency-limit.retry-after:1s}")
+	private Duration retryAfter;
+
+	@Value("${config.concurrency-limit.nexl.initial-limit:20}")
+	private int nexlInitialLimit;
+
+	@Value("${config.concurrency-limit.nexl.min-limit:4}")
+	private int nexlMinLimit;
+
+	@Value("${config.concurrency-limit.nexl.max-limit:200}")
+	private int nexlMaxLimit;
+
+	@Value("${config.concurrency-limit.git.initial-limit:20}")
+	private int gitInitialLimit;
+
+	@Value("${config.concurrency-limit.git.min-limit:4}")
+	private int gitMinLimit;
+
+	@Value("${config.concurrency-limit.git.max-limit:200}")
+	private int gitMaxLimit;
+
+	@Value("${config.concurrency-limit.tolerance:1.5}")
+	private double tolerance;
+
+	@Value("${config.concurrency-limit.smoothing:0.2}")
+	private double smoothing;
+
+	@Bean
+	public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ObjectProvider<MeterRegistry> meterRegistry,
+			ObjectProvider<LabelRoutingEnvironmentRepository> labelRouting) {
+		AdaptiveConcurrencyLimiter nexl = new AdaptiveConcurrencyLimiter("nexl", nexlInitialLimit, nexlMinLimit,
+				nexlMaxLimit, tolerance, smoothing);
+		AdaptiveConcurrencyLimiter git = new AdaptiveConcurrencyLimiter("git", gitInitialLimit, gitMinLimit,
+				gitMaxLimit, tolerance, smoothing);
+		meterRegistry.ifAvailable(registry -> {
+			nexl.bindTo(registry);
+			git.bindTo(registry);
+		});
+		log.info("Concurrency limits: nexl {} [{}..{}], git {} [{}..{}]", nexl.getLimit(), nexlMinLimit, nexlMaxLimit,
+				git.getLimit(), gitMinLimit, gitMaxLimit);
+
+		FilterRegistrationBean<ConcurrencyLimitFilter> registrationBean = new FilterRegistrationBean<>();
+		registrationBean.setFilter(new ConcurrencyLimitFilter(nexl, git, NexlLabels.of(labelRouting),
+				retryAfter.toSeconds()));
+		registrationBean.addUrlPatterns("/*");
+		registrationBean.setOrder(2);
+		return registrationBean;
+	}
+}
@@ -1,24 +1,36 @@
 package com.edx.spring.config.central.server.config;
 
 import com.edx.spring.config.central.server.CustomEntryPointEnvironmentRepository;
+import com.edx.spring.config.central.server.cache.ParsedDocumentCache;
 import com.edx.spring.config.central.server.env.CustomMultipleJGitEnvironmentRepository;
+import com.edx.spring.config.central.server.env.GitWindowCacheProperties;
+import com.edx.spring.config.central.server.env.LabelRoutingEnvironmentRepository;
 import com.edx.spring.config.central.server.loader.ConfigResourceProvider;
+import com.edx.spring.config.central.server.loader.GitConfigResourceProvider;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cloud.config.server.EnableConfigServer;
 import org.springframework.cloud.config.server.environment.EnvironmentRepository;
 import org.springframework.cloud.config.server.environment.MultipleJGitEnvironmentProperties;
 import org.springframework.cloud.config.server.environment.ObservationEnvironmentRepositoryWrapper;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @Profile("operation")
@@ -33,21 +45,73 @@ public class ConfigServerConfiguration {
 		return new MultipleJGitEnvironmentProperties();
 	}
 
+	@Bean
+	@ConfigurationProperties("spring.cloud.config.server.git.window-cache")
+	@ConditionalOnProperty(name = "spring.cloud.config.server.git.enabled", havingValue = "true")
+	public GitWindowCacheProperties gitWindowCacheProperties() {
+		return new GitWindowCacheProperties();
+	}
+
 	// Custom Git repository that handles non-Git labels gracefully
 	@Bean
 	@ConditionalOnProperty(name = "spring.cloud.config.server.git.enabled", havingValue = "true")
 	public EnvironmentRepository gitEnvironmentRepository(
 			ConfigurableEnvironment springEnv,
 			MultipleJGitEnvironmentProperties gitProps,
-			ObservationRegistry observationRegistry) {
+			GitWindowCacheProperties windowCache,
+			ObservationRegistry observationRegistry,
+			ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${config.git.checkout-free:false}") boolean checkoutFree,
+			@Value("${config.git.parse-cache.max-entries:2000}") int parseCacheEntries,
+			@Value("${config.git.partial-clone:false}") boolean partialClone,
+			@Value("${config.git.fetch.wait-for-in-flight:true}") boolean waitForInFlightFetch) {
 
-		log.info("Creating CustomMultipleJGitEnvironmentRepository");
+		log.info("Creating CustomMultipleJGitEnvironmentRepository (checkout-free: {}, parse cache: {} entries)",
+				checkoutFree, parseCacheEntries);
+		windowCache.install();
 		CustomMultipleJGitEnvironmentRepository customGitRepo =
 				new CustomMultipleJGitEnvironmentRepository(springEnv, gitProps, observationRegistry);
+		customGitRepo.setCheckoutFree(checkoutFree);
+		if (partialClone && !checkoutFree) {
+			log.warn("config.git.partial-clone needs config.git.checkout-free: a checkout reads every file, ignoring it");
+		}
+		customGitRepo.setPartialClone(partialClone && checkoutFree);
+		customGitRepo.setWaitForInFlightFetch(waitForInFlightFetch);
+		meterRegistry.ifAvailable(customGitRepo::setMeterRegistry);
+		ParsedDocumentCache documentCache = new ParsedDocumentCache(parseCacheEntries);
+		meterRegistry.ifAvailable(documentCache::bindTo);
+		customGitRepo.setDocumentCache(documentCache);
 
 		return ObservationEnvironmentRepositoryWrapper.wrap(observationRegistry, customGitRepo);
 	}
 
+	/**
+	 * The wrapped JGit repository is not a bean of its own, so {@code clone-on-start} is never applied to it.
+	 * Instead the default label is fetched once in the background after startup: the server becomes ready
+	 * without waiting for the clone, and the first git request usually finds the repository in place.
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "spring.cloud.config.server.git.enabled", havingValue = "true")
+	public ApplicationListener<ApplicationReadyEvent> gitWarmUp(
+			@Qualifier("gitEnvironmentRepository") EnvironmentRepository gitEnvironmentRepository,
+			MultipleJGitEnvironmentProperties gitProps) {
+		return event -> {
+			if (!gitProps.isCloneOnStart()) {
+				return;
+			}
+			Thread.ofVirtual().name("git-warm-up").start(() -> {
+				long start = System.nanoTime();
+				try {
+					gitEnvironmentRepository.findOne("application", "default", gitProps.getDefaultLabel());
+					log.info("Git warm-up of {} finished in {} ms", gitProps.getUri(),
+							TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				} catch (Exception e) {
+					log.warn("Git warm-up failed, the first git request will retry: {}", e.getMessage());
+				}
+			});
+		};
+	}
+
 	// Nexl repository for handling nexl-specific requests
 	@Bean
 	public EnvironmentRepository nexlEnvironmentRepository(List<ConfigResourceProvider> providers) {
@@ -56,8 +120,26 @@ public class ConfigServerConfiguration {
 		return new CustomEntryPointEnvironmentRepository(providers, null);
 	}
 
-	// Let Spring create the CompositeEnvironmentRepository automatically
-	// It will pick up both gitEnvironmentRepository and nexlEnvironmentRepository beans
+	/**
+	 * Takes the place of Spring's composite (which asks both repositories and merges): every request goes to
+	 * exactly one of them, chosen by label. A label is nexl's if a provider other than the git stand-in
+	 * supports it; everything else is git's.
+	 */
+	@Bean
+	@Primary
+	public LabelRoutingEnvironmentRepository labelRoutingEnvironmentRepository(
+			@Qualifier("gitEnvironmentRepository") ObjectProvider<EnvironmentRepository> gitEnvironmentRepository,
+			@Qualifier("nexlEnvironmentRepository") EnvironmentRepository nexlEnvironmentRepository,
+			List<ConfigResourceProvider> providers,
+			ObservationRegistry observationRegistry,
+			@Value("${config.routing.fallback:true}") boolean fallback) {
+		List<ConfigResourceProvider> nexlProviders = providers.stream()
+				.filter(provider -> !(provider instanceof GitConfigResourceProvider))
+				.toList();
+		log.info("Routing requests by label to one repository (nexl to git fallback: {})", fallback);
+		return new LabelRoutingEnvironmentRepository(gitEnvironmentRepository.getIfAvailable(), nexlEnvironmentRepository,
+				label -> nexlProviders.stream().anyMatch(provider -> provider.supports(label)), observationRegistry, fallback);
+	}
 
 	@Bean
 	public RestTemplate restTemplate() {
@@ -0,0 +1,85 @@
+package com.edx.spring.config.central.server.config;
+
+import com.edx.spring.config.central.server.KNexlService;
+import com.edx.spring.config.central.server.NexlClientProperties;
+import com.edx.spring.config.central.server.NexlEndpointBalancer;
+import com.edx.spring.config.central.server.NexlHedgingPolicy;
+import com.edx.spring.config.central.server.NexlLocalEvaluator;
+import com.edx.spring.config.central.server.NexlResponseBodyHandler;
+import com.edx.spring.config.central.server.limit.TokenBucketRateLimiter;
+import com.edx.spring.config.central.server.logging.PerformanceLogSummarizer;
+import com.edx.spring.config.central.server.logging.PerformanceRecord;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Reachability metadata for the native image ({@code -Pnative}). Spring AOT already covers the bean graph,
+ * {@code @ConfigurationProperties} binding and the return types of {@code @ResponseBody} methods; this adds
+ * what it cannot see:
+ * <ul>
+ *     <li>the Kotlin nexl client, which Spring inspects through Kotlin metadata,</li>
+ *     <li>types Jackson writes or Thymeleaf reads reflectively from untyped maps and model attributes,</li>
+ *     <li>the admin templates, which are loaded by name at runtime,</li>
+ *     <li>JGit's translation bundles, which are instantiated and filled field by field via reflection.</li>
+ * </ul>
+ * Nexl responses are parsed into plain {@code Map}s, which need nothing beyond the default constructors.
+ */
+public class ConfigServerRuntimeHints implements RuntimeHintsRegistrar {
+
+	static final List<String> JGIT_TRANSLATION_BUNDLES = List.of(
+			"org.eclipse.jgit.internal.JGitText",
+			"org.eclipse.jgit.internal.transport.sshd.SshdText",
+			"org.eclipse.jgit.transport.http.apache.internal.HttpApacheText");
+
+	private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+	@Override
+	public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+		registerKotlinNexlClient(hints);
+		registerBindings(hints);
+		registerTemplates(hints);
+		registerJGit(hints, classLoader);
+	}
+
+	private void registerKotlinNexlClient(RuntimeHints hints) {
+		for (Class<?> type : List.of(KNexlService.class, NexlClientProperties.class, NexlClientProperties.LoadBalancing.class,
+				NexlClientProperties.Transport.class, NexlClientProperties.Pool.class, NexlClientProperties.Hedging.class,
+				NexlClientProperties.LocalEvaluation.class, NexlEndpointBalancer.class, NexlHedgingPolicy.class,
+				NexlLocalEvaluator.class, NexlResponseBodyHandler.class)) {
+			hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+					MemberCategory.INVOKE_PUBLIC_METHODS);
+		}
+		hints.reflection().registerType(kotlin.Metadata.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+		hints.resources()
+				.registerPattern("META-INF/*.kotlin_module")
+				.registerPattern("kotlin/**/*.kotlin_builtins");
+	}
+
+	private void registerBindings(RuntimeHints hints) {
+		// Access log lines, the rate limit dashboard and its JSON view, the performance summary
+		bindingRegistrar.registerReflectionHints(hints.reflection(), PerformanceRecord.class,
+				TokenBucketRateLimiter.Limit.class, TokenBucketRateLimiter.KeyStatus.class,
+				PerformanceLogSummarizer.Summary.class, PerformanceLogSummarizer.Percentiles.class);
+		hints.reflection().registerType(LinkedHashMap.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+		// Thymeleaf iterates Map.copyOf() overrides, whose entries are this JDK-internal type
+		hints.reflection().registerType(TypeReference.of("java.util.KeyValueHolder"), MemberCategory.INVOKE_PUBLIC_METHODS);
+	}
+
+	private void registerTemplates(RuntimeHints hints) {
+		hints.resources().registerPattern("templates/**/*.html");
+	}
+
+	private void registerJGit(RuntimeHints hints, ClassLoader classLoader) {
+		for (String bundle : JGIT_TRANSLATION_BUNDLES) {
+			hints.reflection().registerTypeIfPresent(classLoader, bundle, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+					MemberCategory.PUBLIC_FIELDS);
+			hints.resources().registerResourceBundle(bundle);
+		}
+	}
+}
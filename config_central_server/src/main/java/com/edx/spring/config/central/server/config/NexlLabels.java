@@ -0,0 +1,30 @@
+package com.edx.spring.config.central.server.config;
+
+import com.edx.spring.config.central.server.env.LabelRoutingEnvironmentRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.util.function.Predicate;
+
+/**
+ * The labels the limiting filters count as nexl requests: whatever {@link LabelRoutingEnvironmentRepository}
+ * sends to nexl, including labels of a primary nexl provider. The repository is looked up on first use, since
+ * filters are created before the config server; without it (outside the {@code operation} profile) only the
+ * {@code nexl} and {@code nexl-primary} labels are.
+ */
+final class NexlLabels {
+
+	private NexlLabels() {
+	}
+
+	static Predicate<String> of(ObjectProvider<LabelRoutingEnvironmentRepository> routing) {
+		SingletonSupplier<LabelRoutingEnvironmentRepository> repository = SingletonSupplier.of(routing::getIfAvailable);
+		return label -> {
+			LabelRoutingEnvironmentRepository labelRouting = repository.get();
+			if (labelRouting != null) {
+				return labelRouting.routesToNexl(label);
+			}
+			return "nexl".equals(label) || "nexl-primary".equals(label);
+		};
+	}
+}
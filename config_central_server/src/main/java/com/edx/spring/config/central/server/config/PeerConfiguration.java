@@ -0,0 +1,41 @@
+package com.edx.spring.config.central.server.config;
+
+import com.edx.spring.config.central.server.peer.PeerAuthentication;
+import com.edx.spring.config.central.server.peer.PeerAuthenticationFilter;
+import com.edx.spring.config.central.server.peer.PeerRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Authentication of peer lookups. The filter runs before the access log and the limiting filters, which only
+ * exempt lookups it marked as coming from another replica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "config.peers.enabled", havingValue = "true")
+public class PeerConfiguration {
+
+	@Value("${config.peers.members}")
+	private List<String> members;
+
+	@Value("${config.peers.secret:}")
+	private String secret;
+
+	@Bean
+	public PeerAuthentication peerAuthentication() {
+		return new PeerAuthentication(members, secret);
+	}
+
+	@Bean
+	public FilterRegistrationBean<PeerAuthenticationFilter> peerAuthenticationFilter(PeerAuthentication peerAuthentication) {
+		FilterRegistrationBean<PeerAuthenticationFilter> registrationBean = new FilterRegistrationBean<>();
+		registrationBean.setFilter(new PeerAuthenticationFilter(peerAuthentication));
+		registrationBean.addUrlPatterns(PeerRouter.OWNER_PATH);
+		registrationBean.setOrder(-1);
+		return registrationBean;
+	}
+}
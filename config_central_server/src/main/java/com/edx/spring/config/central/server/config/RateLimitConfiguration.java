@@ -0,0 +1,68 @@
+package com.edx.spring.config.central.server.config;
+
+import com.edx.spring.config.central.server.limit.RateLimitFilter;
+import com.edx.spring.config.central.server.limit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-application and per-client rate limits for config requests. Runs after the access log filter and
+ * before the concurrency limit, so throttled requests are logged but never take a concurrency permit.
+ * <p>
+ * Off unless {@code config.rate-limit.enabled} is set. Behind a load balancer, also set
+ * {@code server.forward-headers-strategy: native} (and the trusted proxies in
+ * {@code server.tomcat.remoteip.internal-proxies}): otherwise the client address is the balancer's and all
+ * clients share one bucket.
+ */
+@Configuration
+@ConditionalOnProperty(name = "config.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfiguration {
+
+	@Value("${config.rate-limit.application.rate:200}")
+	private double applicationRate;
+
+	@Value("${config.rate-limit.application.burst:400}")
+	private int applicationBurst;
+
+	@Value("${config.rate-limit.client.rate:50}")
+	private double clientRate;
+
+	@Value("${config.rate-limit.client.burst:100}")
+	private int clientBurst;
+
+	@Value("${config.rate-limit.max-keys:10000}")
+	private int maxKeys;
+
+	@Bean
+	public TokenBucketRateLimiter applicationRateLimiter(ObjectProvider<MeterRegistry> meterRegistry) {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("application",
+				new TokenBucketRateLimiter.Limit(applicationRate, applicationBurst), maxKeys);
+		meterRegistry.ifAvailable(limiter::bindTo);
+		return limiter;
+	}
+
+	@Bean
+	public TokenBucketRateLimiter clientRateLimiter(ObjectProvider<MeterRegistry> meterRegistry) {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("client",
+				new TokenBucketRateLimiter.Limit(clientRate, clientBurst), maxKeys);
+		meterRegistry.ifAvailable(limiter::bindTo);
+		return limiter;
+	}
+
+	@Bean
+	public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+			@Qualifier("applicationRateLimiter") TokenBucketRateLimiter applicationRateLimiter,
+			@Qualifier("clientRateLimiter") TokenBucketRateLimiter clientRateLimiter) {
+		FilterRegistrationBean<RateLimitFilter> registrationBean = new FilterRegistrationBean<>();
+		registrationBean.setFilter(new RateLimitFilter(applicationRateLimiter, clientRateLimiter));
+		registrationBean.addUrlPatterns("/*");
+		registrationBean.setOrder(1);
+		return registrationBean;
+	}
+}
@@ -0,0 +1,34 @@
+package com.edx.spring.config.central.server.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Defers beans that only serve the admin dashboard to the first admin request, so they do not count against
+ * startup. Config endpoints, filters and background components stay eager.
+ */
+@Configuration
+@Slf4j
+public class StartupConfiguration {
+
+	static final Set<String> LAZY_BEANS = Set.of(
+			"adminController",
+			"templateEngine",
+			"defaultTemplateResolver",
+			"thymeleafViewResolver");
+
+	@Bean
+	public static BeanFactoryPostProcessor lazyAdminBeans() {
+		return beanFactory -> {
+			for (String name : LAZY_BEANS) {
+				if (beanFactory.containsBeanDefinition(name)) {
+					beanFactory.getBeanDefinition(name).setLazyInit(true);
+				}
+			}
+		};
+	}
+}
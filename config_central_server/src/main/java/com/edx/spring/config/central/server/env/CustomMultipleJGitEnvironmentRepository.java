@@ -11,16 +11,36 @@ package com.edx.spring.config.central.server.env;
 /**
  *
  */
+import com.edx.spring.config.central.server.cache.ParsedDocumentCache;
+import com.edx.spring.config.central.server.logging.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.transport.FetchResult;
 import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.JGitEnvironmentRepository;
 import org.springframework.cloud.config.server.environment.MultipleJGitEnvironmentProperties;
 import org.springframework.cloud.config.server.environment.MultipleJGitEnvironmentRepository;
 import org.springframework.core.env.ConfigurableEnvironment;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Slf4j
 public class CustomMultipleJGitEnvironmentRepository extends MultipleJGitEnvironmentRepository {
 
+	/** When the request being served arrived, for coalescing the fetches of the checkout path. */
+	private static final ThreadLocal<Long> REQUESTED_AT = new ThreadLocal<>();
+
+	private final Map<JGitEnvironmentRepository, GitObjectDatabase> objectDatabases = new ConcurrentHashMap<>();
+	private final Map<JGitEnvironmentRepository, SingleFlightFetch> fetches = new ConcurrentHashMap<>();
+	private ObjectDatabaseEnvironmentReader objectDatabaseReader = new ObjectDatabaseEnvironmentReader(new ParsedDocumentCache(0));
+	private boolean checkoutFree;
+	private boolean partialClone;
+	private boolean waitForInFlightFetch = true;
+	private MeterRegistry meterRegistry;
+
 	public CustomMultipleJGitEnvironmentRepository(ConfigurableEnvironment environment,
 	                                               MultipleJGitEnvironmentProperties properties,
 	                                               ObservationRegistry observationRegistry) {
@@ -28,31 +48,108 @@ public class CustomMultipleJGitEnvironmentRepository extends MultipleJGitEnviron
 		log.info("CustomMultipleJGitEnvironmentRepository initialized");
 	}
 
+	/**
+	 * Reads labels straight from the object database instead of checking them out into the shared working
+	 * tree under the repository lock, see {@link ObjectDatabaseEnvironmentReader}. Requests with
+	 * {@code includeOrigin} and repositories with placeholders in their URI still take the checkout path.
+	 */
+	public void setCheckoutFree(boolean checkoutFree) {
+		this.checkoutFree = checkoutFree;
+	}
+
+	/** Clones without blobs and fetches the files a request reads on first access; checkout-free mode only. */
+	public void setPartialClone(boolean partialClone) {
+		this.partialClone = partialClone;
+	}
+
+	/**
+	 * Whether requests wait for a fetch that another request started (default) or read the local state at
+	 * once; the latter only applies to checkout-free mode, see {@link SingleFlightFetch}.
+	 */
+	public void setWaitForInFlightFetch(boolean waitForInFlightFetch) {
+		this.waitForInFlightFetch = waitForInFlightFetch;
+	}
+
+	/** Registers per-repository fetch counts, see {@link SingleFlightFetch#bindTo}. */
+	public void setMeterRegistry(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/** Shares parsed files between labels and applications in checkout-free mode. */
+	public void setDocumentCache(ParsedDocumentCache documentCache) {
+		this.objectDatabaseReader = new ObjectDatabaseEnvironmentReader(documentCache);
+	}
+
 	@Override
 	public Environment findOne(String application, String profile, String label, boolean includeOrigin) {
-		log.info("CustomGitRepo: Processing request - App: {}, Profile: {}, Label: {}", application, profile, label);
+		log.debug("CustomGitRepo: Processing request - App: {}, Profile: {}, Label: {}", application, profile, label);
 
 		// Handle non-Git labels by returning empty Environment
 		if (isNonGitLabel(label)) {
-			log.info("Non-Git label '{}' detected. Returning empty Environment.", label);
+			log.debug("Non-Git label '{}' detected. Returning empty Environment.", label);
 			return new Environment(application, new String[]{profile}, label, null, null);
 		}
 
 		// For Git-compatible labels, delegate to parent (standard Git logic)
-		log.info("Git-compatible label '{}'. Delegating to parent Git repository.", label);
+		log.debug("Git-compatible label '{}'. Delegating to parent Git repository.", label);
+		RequestTimings timings = RequestTimings.current();
+		long start = System.nanoTime();
+		REQUESTED_AT.set(start);
 		try {
+			if (checkoutFree && !includeOrigin) {
+				GitObjectDatabase database = objectDatabase(application, profile, label);
+				if (database != null) {
+					return objectDatabaseReader.read(database, application, profile, label != null ? label : getDefaultLabel());
+				}
+			}
 			return super.findOne(application, profile, label, includeOrigin);
 		} catch (Exception e) {
 			log.warn("Git repository failed for label '{}': {}. Returning empty Environment.", label, e.getMessage());
 			return new Environment(application, new String[]{profile}, label, null, null);
+		} finally {
+			REQUESTED_AT.remove();
+			if (timings != null) {
+				timings.recordSince("git", start);
+			}
 		}
 	}
 
+	/**
+	 * The checkout path of the default repository: a request that arrived while another one was fetching, and
+	 * waited for the repository lock meanwhile, takes that fetch's result instead of fetching again.
+	 */
+	@Override
+	protected FetchResult fetch(Git git, String label) {
+		Long requestedAt = REQUESTED_AT.get();
+		return fetches(this).fetch(requestedAt != null ? requestedAt : System.nanoTime(), () -> super.fetch(git, label));
+	}
+
 	@Override
 	public Environment findOne(String application, String profile, String label) {
 		return findOne(application, profile, label, false);
 	}
 
+	/** The first pattern repository matching the request, else the default one; null if the URI has placeholders. */
+	private GitObjectDatabase objectDatabase(String application, String profile, String label) {
+		JGitEnvironmentRepository repository = getRepos().values().stream()
+				.filter(candidate -> candidate.matches(application, profile, label))
+				.map(JGitEnvironmentRepository.class::cast)
+				.findFirst()
+				.orElse(this);
+		if (repository.getUri() == null || repository.getUri().contains("{")) {
+			return null;
+		}
+		return objectDatabases.computeIfAbsent(repository,
+				settings -> new GitObjectDatabase(settings, partialClone, fetches(settings)));
+	}
+
+	private SingleFlightFetch fetches(JGitEnvironmentRepository repository) {
+		return fetches.computeIfAbsent(repository, settings -> {
+			SingleFlightFetch fetch = new SingleFlightFetch(settings.getUri(), waitForInFlightFetch);
+			return meterRegistry != null ? fetch.bindTo(meterRegistry) : fetch;
+		});
+	}
+
 	private boolean isNonGitLabel(String label) {
 		if (label == null) {
 			return false;
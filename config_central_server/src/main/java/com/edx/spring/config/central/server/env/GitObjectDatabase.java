@@ -0,0 +1,256 @@
+package com.edx.spring.config.central.server.env;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.TransportCommand;
+import org.eclipse.jgit.api.TransportConfigCallback;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.errors.PackProtocolException;
+import org.eclipse.jgit.errors.RevisionSyntaxException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.transport.FilterSpec;
+import org.eclipse.jgit.transport.RefSpec;
+import org.springframework.cloud.config.server.environment.JGitEnvironmentRepository;
+import org.springframework.cloud.config.server.environment.NoSuchLabelException;
+import org.springframework.cloud.config.server.support.GitCredentialsProviderFactory;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.ResourceUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The object database of one configured git repository, read without a working tree. Remote repositories
+ * are cloned into the repository's {@code basedir} without checkout (an existing clone there is reused) and
+ * fetched at most once per {@code refresh-rate}, one fetch at a time through {@link SingleFlightFetch};
+ * {@code file:} repositories, bare or not, are opened in place and never fetched.
+ * <p>
+ * JGit repositories are safe for concurrent reads, so only clone and fetch are serialized; resolving labels
+ * and reading blobs happen in parallel on the request threads.
+ * <p>
+ * With {@code partialClone} the clone and every fetch use the {@code blob:none} filter: commits and trees are
+ * downloaded, file contents are not. {@link #ensureBlobs} fetches the blobs a request needs on first access,
+ * in one round trip, and they stay in the local object database from then on. Since only files under the
+ * search paths are ever read, the repository on disk holds little more than the served applications' files.
+ * The remote must allow partial clone and fetching blobs by id ({@code uploadpack.allowFilter},
+ * {@code uploadpack.allowAnySHA1InWant}).
+ */
+@Slf4j
+public class GitObjectDatabase {
+
+	private static final String FILE_URI_PREFIX = "file:";
+	private static final List<String> LABEL_REFS = List.of(
+			Constants.R_REMOTES + Constants.DEFAULT_REMOTE_NAME + "/", Constants.R_HEADS, Constants.R_TAGS);
+	private static final Pattern COMMIT_ID = Pattern.compile("[0-9a-f]{7,40}");
+	private static final String BLOB_NONE = "blob:none";
+
+	private final JGitEnvironmentRepository settings;
+	private final boolean local;
+	private final boolean partialClone;
+	private final SingleFlightFetch fetches;
+	private final GitCredentialsProviderFactory credentialsProviderFactory = new GitCredentialsProviderFactory();
+	private final Object lock = new Object();
+
+	private volatile Repository repository;
+	private volatile long lastFetch;
+
+	public GitObjectDatabase(JGitEnvironmentRepository settings) {
+		this(settings, false, new SingleFlightFetch(settings.getUri(), true));
+	}
+
+	public GitObjectDatabase(JGitEnvironmentRepository settings, boolean partialClone, SingleFlightFetch fetches) {
+		this.settings = settings;
+		this.local = settings.getUri().startsWith(FILE_URI_PREFIX);
+		this.partialClone = partialClone && !local;
+		this.fetches = fetches;
+	}
+
+	public String getUri() {
+		return settings.getUri();
+	}
+
+	public String[] getSearchPaths() {
+		return settings.getSearchPaths();
+	}
+
+	public Repository getRepository() {
+		Repository current = repository;
+		if (current == null) {
+			synchronized (lock) {
+				if (repository == null) {
+					repository = open();
+				}
+				current = repository;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Resolves a branch, tag or commit id to a commit, fetching first if the last fetch is older than the
+	 * refresh rate. Throws {@link NoSuchLabelException} if the label is unknown.
+	 */
+	public ObjectId resolve(String label) {
+		long requestedAt = System.nanoTime();
+		Repository current = getRepository();
+		refreshIfStale(current, requestedAt);
+		ObjectId commit = lookup(current, label);
+		if (commit == null && label.equals(settings.getDefaultLabel()) && settings.isTryMasterBranch()) {
+			commit = lookup(current, "master");
+		}
+		if (commit == null) {
+			throw new NoSuchLabelException("No such label: " + label);
+		}
+		return commit;
+	}
+
+	/**
+	 * Makes sure the blobs are in the local object database, fetching the missing ones by id. Only a partial
+	 * clone (made now or by an earlier run) misses blobs; for a full clone this is a few index lookups.
+	 */
+	public void ensureBlobs(Collection<ObjectId> blobIds) {
+		if (local) {
+			return;
+		}
+		Repository current = getRepository();
+		if (blobIds.stream().allMatch(blobId -> has(current, blobId))) {
+			return;
+		}
+		synchronized (lock) {
+			List<ObjectId> missing = blobIds.stream().filter(blobId -> !has(current, blobId)).distinct().toList();
+			if (missing.isEmpty()) {
+				return;
+			}
+			long start = System.nanoTime();
+			try (Git git = new Git(current)) {
+				configure(git.fetch()
+						.setRemote(Constants.DEFAULT_REMOTE_NAME)
+						.setRefSpecs(missing.stream().map(blobId -> new RefSpec(blobId.name())).toList()), false)
+						.call();
+			} catch (GitAPIException | RuntimeException e) {
+				throw new IllegalStateException("Cannot fetch " + missing.size() + " blobs from " + getUri(), e);
+			}
+			log.debug("Fetched {} blobs from {} in {} ms", missing.size(), getUri(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		}
+	}
+
+	private static boolean has(Repository repository, ObjectId objectId) {
+		try {
+			return repository.getObjectDatabase().has(objectId);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static ObjectId lookup(Repository repository, String label) {
+		try {
+			for (String prefix : LABEL_REFS) {
+				ObjectId commit = repository.resolve(prefix + label + "^{commit}");
+				if (commit != null) {
+					return commit;
+				}
+			}
+			return COMMIT_ID.matcher(label).matches() ? repository.resolve(label + "^{commit}") : null;
+		} catch (RevisionSyntaxException | IOException e) {
+			log.debug("Cannot resolve label '{}': {}", label, e.getMessage());
+			return null;
+		}
+	}
+
+	private void refreshIfStale(Repository current, long requestedAt) {
+		if (local || !isStale()) {
+			return;
+		}
+		fetches.fetch(requestedAt, () -> {
+			// Blob fetches share the clone's FETCH_HEAD, so they must not overlap with this one either
+			synchronized (lock) {
+				long start = System.nanoTime();
+				try (Git git = new Git(current)) {
+					configure(git.fetch().setRemote(Constants.DEFAULT_REMOTE_NAME).setRemoveDeletedRefs(true), partialClone).call();
+					log.debug("Fetched {} in {} ms", getUri(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				} catch (GitAPIException | RuntimeException e) {
+					log.warn("Could not fetch {}, serving the local state: {}", getUri(), e.getMessage());
+				}
+				lastFetch = System.currentTimeMillis();
+				return null;
+			}
+		});
+	}
+
+	private boolean isStale() {
+		return System.currentTimeMillis() - lastFetch >= TimeUnit.SECONDS.toMillis(settings.getRefreshRate());
+	}
+
+	private Repository open() {
+		try {
+			if (local) {
+				return Git.open(ResourceUtils.getFile(getUri())).getRepository();
+			}
+			File basedir = settings.getBasedir();
+			if (new File(basedir, Constants.DOT_GIT).isDirectory()) {
+				Repository existing = Git.open(basedir).getRepository();
+				if (getUri().equals(existing.getConfig().getString("remote", Constants.DEFAULT_REMOTE_NAME, "url"))) {
+					return existing;
+				}
+				existing.close();
+				log.info("{} holds a clone of another repository, replacing it", basedir);
+				FileSystemUtils.deleteRecursively(basedir);
+			}
+			long start = System.nanoTime();
+			Repository cloned = configure(Git.cloneRepository()
+					.setURI(getUri())
+					.setDirectory(basedir)
+					.setNoCheckout(true)
+					.setCloneAllBranches(true), partialClone)
+					.call()
+					.getRepository();
+			if (partialClone) {
+				// The same markers git writes, so the command line git can work with the clone too
+				StoredConfig config = cloned.getConfig();
+				config.setString("remote", Constants.DEFAULT_REMOTE_NAME, "promisor", "true");
+				config.setString("remote", Constants.DEFAULT_REMOTE_NAME, "partialclonefilter", BLOB_NONE);
+				config.setInt("core", null, "repositoryformatversion", 1);
+				config.setString("extensions", null, "partialclone", Constants.DEFAULT_REMOTE_NAME);
+				config.save();
+			}
+			lastFetch = System.currentTimeMillis();
+			log.info("Cloned {} into {} without checkout{} in {} ms", getUri(), basedir,
+					partialClone ? " and without blobs" : "", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			return cloned;
+		} catch (IOException | GitAPIException e) {
+			throw new IllegalStateException("Cannot open git repository " + getUri(), e);
+		}
+	}
+
+	private <C extends TransportCommand<C, ?>> C configure(C command, boolean withoutBlobs) {
+		command.setTimeout(settings.getTimeout());
+		TransportConfigCallback callback = settings.getTransportConfigCallback();
+		command.setTransportConfigCallback(transport -> {
+			if (callback != null) {
+				callback.configure(transport);
+			}
+			if (withoutBlobs) {
+				transport.setFilterSpec(blobNone());
+			}
+		});
+		command.setCredentialsProvider(credentialsProviderFactory.createFor(getUri(), settings.getUsername(),
+				settings.getPassword(), settings.getPassphrase(), settings.isSkipSslValidation()));
+		return command;
+	}
+
+	private static FilterSpec blobNone() {
+		try {
+			return FilterSpec.fromFilterLine(BLOB_NONE);
+		} catch (PackProtocolException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
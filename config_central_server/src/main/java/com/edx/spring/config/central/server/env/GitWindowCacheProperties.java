@@ -0,0 +1,102 @@
+package com.edx.spring.config.central.server.env;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * JGit's process-wide pack file cache, bound from {@code spring.cloud.config.server.git.window-cache}.
+ * JGit's defaults read packs through 8 KB heap windows with a 10 MB budget, which is too small for config
+ * repositories with long histories served on many labels: the same pack regions are read and inflated again
+ * and again. Applied once with {@link #install()} before the git repositories are created.
+ * <p>
+ * {@code packed-git-mmap} maps pack files instead of copying them to the heap. Mapped packs stay open until
+ * the windows are evicted, which on Windows keeps {@code git gc} from deleting them, so it is off by default.
+ */
+@Slf4j
+public class GitWindowCacheProperties {
+
+	/** Map pack files into memory instead of reading them into heap buffers. */
+	private boolean packedGitMmap = false;
+
+	/** Size of one window read from a pack file. */
+	private DataSize packedGitWindowSize = DataSize.ofKilobytes(8);
+
+	/** Total size of the pack windows kept in memory. */
+	private DataSize packedGitLimit = DataSize.ofMegabytes(64);
+
+	/** Pack files kept open at the same time. */
+	private int packedGitOpenFiles = 128;
+
+	/** Inflated delta bases kept per reader, so objects delta-compressed against the same base are cheap. */
+	private DataSize deltaBaseCacheLimit = DataSize.ofMegabytes(32);
+
+	/** Objects larger than this are streamed rather than loaded in one piece. */
+	private DataSize streamFileThreshold = DataSize.ofMegabytes(50);
+
+	public WindowCacheConfig toWindowCacheConfig() {
+		WindowCacheConfig config = new WindowCacheConfig();
+		config.setPackedGitMMAP(packedGitMmap);
+		config.setPackedGitWindowSize(Math.toIntExact(packedGitWindowSize.toBytes()));
+		config.setPackedGitLimit(packedGitLimit.toBytes());
+		config.setPackedGitOpenFiles(packedGitOpenFiles);
+		config.setDeltaBaseCacheLimit(Math.toIntExact(deltaBaseCacheLimit.toBytes()));
+		config.setStreamFileThreshold(Math.toIntExact(streamFileThreshold.toBytes()));
+		return config;
+	}
+
+	/** Replaces JGit's global window cache; repositories opened afterwards use the new settings. */
+	public void install() {
+		toWindowCacheConfig().install();
+		log.info("JGit window cache: mmap {}, window {}, limit {}, open files {}, delta base cache {}",
+				packedGitMmap, packedGitWindowSize, packedGitLimit, packedGitOpenFiles, deltaBaseCacheLimit);
+	}
+
+	public boolean isPackedGitMmap() {
+		return packedGitMmap;
+	}
+
+	public void setPackedGitMmap(boolean packedGitMmap) {
+		this.packedGitMmap = packedGitMmap;
+	}
+
+	public DataSize getPackedGitWindowSize() {
+		return packedGitWindowSize;
+	}
+
+	public void setPackedGitWindowSize(DataSize packedGitWindowSize) {
+		this.packedGitWindowSize = packedGitWindowSize;
+	}
+
+	public DataSize getPackedGitLimit() {
+		return packedGitLimit;
+	}
+
+	public void setPackedGitLimit(DataSize packedGitLimit) {
+		this.packedGitLimit = packedGitLimit;
+	}
+
+	public int getPackedGitOpenFiles() {
+		return packedGitOpenFiles;
+	}
+
+	public void setPackedGitOpenFiles(int packedGitOpenFiles) {
+		this.packedGitOpenFiles = packedGitOpenFiles;
+	}
+
+	public DataSize getDeltaBaseCacheLimit() {
+		return deltaBaseCacheLimit;
+	}
+
+	public void setDeltaBaseCacheLimit(DataSize deltaBaseCacheLimit) {
+		this.deltaBaseCacheLimit = deltaBaseCacheLimit;
+	}
+
+	public DataSize getStreamFileThreshold() {
+		return streamFileThreshold;
+	}
+
+	public void setStreamFileThreshold(DataSize streamFileThreshold) {
+		this.streamFileThreshold = streamFileThreshold;
+	}
+}
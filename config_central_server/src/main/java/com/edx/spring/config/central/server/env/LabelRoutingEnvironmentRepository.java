@@ -0,0 +1,94 @@
+package com.edx.spring.config.central.server.env;
+
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.ObservationEnvironmentRepositoryWrapper;
+import org.springframework.cloud.config.server.environment.SearchPathCompositeEnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathLocator;
+import org.springframework.util.StringUtils;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Replaces Spring's composite, which asks every repository for every request and merges the results, with
+ * routing by label: each request goes to exactly one repository.
+ * <ul>
+ *     <li>labels claimed by a nexl provider ({@code nexl}, {@code nexl-primary}, and any label while nexl is the
+ *     primary provider with fallback) go to the nexl repository;</li>
+ *     <li>every other label, and no label, goes to the git repository, or to the nexl repository if git is
+ *     disabled.</li>
+ * </ul>
+ * With {@code fallback} a nexl request that returned no property sources (nexl failure, unknown path) is sent
+ * once to git; nothing is ever merged. There is no fallback the other way: an empty git result means an
+ * unknown branch or a git failure, and the nexl repository's provider chain would answer it with the git
+ * stand-in provider's placeholder properties instead of real configuration.
+ */
+@Slf4j
+public class LabelRoutingEnvironmentRepository extends SearchPathCompositeEnvironmentRepository {
+
+	private final EnvironmentRepository gitRepository;
+	private final EnvironmentRepository nexlRepository;
+	private final Predicate<String> nexlLabels;
+	private final boolean fallback;
+
+	/**
+	 * @param gitRepository the (already observed) git repository, null if git is disabled
+	 * @param nexlLabels    the labels to send to {@code nexlRepository}; null labels never are
+	 */
+	public LabelRoutingEnvironmentRepository(EnvironmentRepository gitRepository, EnvironmentRepository nexlRepository,
+	                                         Predicate<String> nexlLabels, ObservationRegistry observationRegistry,
+	                                         boolean fallback) {
+		super(Stream.of(gitRepository, nexlRepository).filter(Objects::nonNull).collect(Collectors.toList()),
+				ObservationRegistry.NOOP, false);
+		this.gitRepository = gitRepository;
+		this.nexlRepository = ObservationEnvironmentRepositoryWrapper.wrap(observationRegistry, nexlRepository);
+		this.nexlLabels = nexlLabels;
+		this.fallback = fallback && gitRepository != null;
+	}
+
+	@Override
+	public Environment findOne(String application, String profile, String label) {
+		return findOne(application, profile, label, false);
+	}
+
+	@Override
+	public Environment findOne(String application, String profile, String label, boolean includeOrigin) {
+		EnvironmentRepository primary = route(label);
+		Environment environment = primary.findOne(application, profile, label, includeOrigin);
+		if (fallback && primary == nexlRepository && isEmpty(environment)) {
+			log.debug("No configuration for {}/{}/{} in nexl, falling back to git", application, profile, label);
+			return gitRepository.findOne(application, profile, label, includeOrigin);
+		}
+		return environment;
+	}
+
+	/** Resource requests (plain text files) are served from git only; nexl has no files. */
+	@Override
+	public Locations getLocations(String application, String profile, String label) {
+		if (gitRepository instanceof SearchPathLocator locator) {
+			return locator.getLocations(application, profile, label);
+		}
+		return new Locations(application, profile, label, null, new String[0]);
+	}
+
+	/** Whether a request for {@code label} is served by the nexl repository (before any fallback to git). */
+	public boolean routesToNexl(String label) {
+		return route(label) == nexlRepository;
+	}
+
+	EnvironmentRepository route(String label) {
+		if (gitRepository == null || (StringUtils.hasText(label) && nexlLabels.test(label))) {
+			return nexlRepository;
+		}
+		return gitRepository;
+	}
+
+	private static boolean isEmpty(Environment environment) {
+		return environment == null || environment.getPropertySources().isEmpty();
+	}
+}
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -38,7 +39,7 @@ public class NexlEnvironmentRepository implements EnvironmentRepository {
 
 	@Override
 	public Environment findOne(String application, String profile, String label) {
-		log.info("NexlEnvironmentRepository: Finding configuration for application: {}, profile: {}, label: {}",
+		log.debug("NexlEnvironmentRepository: Finding configuration for application: {}, profile: {}, label: {}",
 				application, profile, label);
 
 		// Check if Nexl supports this label/request
@@ -53,8 +54,8 @@ public class NexlEnvironmentRepository implements EnvironmentRepository {
 			log.warn("No HTTP request context available. Falling back to request-unaware loading.");
 		}
 
-		// Load properties from the main Nexl provider
-		Map<String, Object> properties = nexlProvider.loadProperties(application, profile, label, request);
+		// Load properties from the main Nexl provider (copied: the provider may hand out a shared cached map)
+		Map<String, Object> properties = new HashMap<>(nexlProvider.loadProperties(application, profile, label, request));
 
 		// Optionally load from additional providers (merge if needed)
 		for (ConfigResourceProvider provider : additionalProviders) {
@@ -68,7 +69,7 @@ public class NexlEnvironmentRepository implements EnvironmentRepository {
 		}
 
 		if (properties.isEmpty()) {
-			log.info("No properties loaded for Nexl. Returning empty Environment.");
+			log.debug("No properties loaded for Nexl. Returning empty Environment.");
 			return new Environment(application, profile);
 		}
 
@@ -77,7 +78,7 @@ public class NexlEnvironmentRepository implements EnvironmentRepository {
 		PropertySource propertySource = new PropertySource("nexl:" + application + "-" + profile + "-" + (label != null ? label : "default"), properties);
 		environment.add(propertySource);
 
-		log.info("NexlEnvironmentRepository loaded {} properties for {} / {} / {}",
+		log.debug("NexlEnvironmentRepository loaded {} properties for {} / {} / {}",
 				properties.size(), application, profile, label);
 		return environment;
 	}
@@ -0,0 +1,253 @@
+package com.edx.spring.config.central.server.env;
+
+import com.edx.spring.config.central.server.cache.ParsedDocumentCache;
+import org.eclipse.jgit.errors.StopWalkException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds an {@link Environment} for a commit by reading {@code application*} and {@code {application}*}
+ * files straight from the object database with a {@link TreeWalk}: no checkout, no working tree, and
+ * nothing shared between requests, so any number of labels can be read at the same time.
+ * <p>
+ * Files are looked up in the repository root and in the {@code search-paths} (placeholders and {@code *}
+ * patterns supported) and ordered the way Spring Boot config data orders them: profile-specific files over
+ * plain ones, later profiles, later search paths and {@code {application}} over {@code application}, and
+ * {@code .properties} over YAML in the same directory. YAML documents are kept in file order with
+ * {@code spring.config.activate.on-profile} honoured; origin tracking is not supported.
+ * <p>
+ * Parsed files come from a {@link ParsedDocumentCache} keyed by blob id, so a file that is identical across
+ * labels and applications is parsed once.
+ */
+public class ObjectDatabaseEnvironmentReader {
+
+	private static final String ROOT = "";
+	private static final List<String> EXTENSIONS = List.of(".yaml", ".yml", ".properties");
+	private static final String ACTIVATE_ON_PROFILE = "spring.config.activate.on-profile";
+
+	private final PropertySourceLoader yamlLoader = new YamlPropertySourceLoader();
+	private final PropertySourceLoader propertiesLoader = new PropertiesPropertySourceLoader();
+	private final ParsedDocumentCache documentCache;
+
+	public ObjectDatabaseEnvironmentReader(ParsedDocumentCache documentCache) {
+		this.documentCache = documentCache;
+	}
+
+	public Environment read(GitObjectDatabase database, String application, String profile, String label) {
+		ObjectId commitId = database.resolve(label);
+		String[] applications = StringUtils.commaDelimitedListToStringArray(application);
+		String[] profiles = StringUtils.commaDelimitedListToStringArray(profile);
+		List<String> locations = searchLocations(database.getSearchPaths(), applications, profiles, label);
+		List<String> names = configNames(applications);
+
+		Repository repository = database.getRepository();
+		List<ConfigFile> files = findFiles(repository, commitId, locations, names, profiles);
+		files.sort(Comparator.comparing(ConfigFile::precedence).reversed());
+		database.ensureBlobs(files.stream().map(ConfigFile::blobId).toList());
+
+		Environment environment = new Environment(application, profiles, label, commitId.name(), null);
+		Set<String> activeProfiles = new LinkedHashSet<>(Arrays.asList(profiles));
+		try (ObjectReader reader = repository.newObjectReader()) {
+			for (ConfigFile file : files) {
+				List<PropertySource> documents = parse(reader, file, database.getUri() + "/" + file.path(), activeProfiles);
+				// Later documents in a file override earlier ones
+				for (int i = documents.size() - 1; i >= 0; i--) {
+					environment.add(documents.get(i));
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read " + label + " of " + database.getUri(), e);
+		}
+		return environment;
+	}
+
+	private List<ConfigFile> findFiles(Repository repository, ObjectId commitId, List<String> locations,
+	                                   List<String> names, String[] profiles) {
+		Map<String, FileKind> candidates = new LinkedHashMap<>();
+		for (int n = 0; n < names.size(); n++) {
+			for (int e = 0; e < EXTENSIONS.size(); e++) {
+				candidates.put(names.get(n) + EXTENSIONS.get(e), new FileKind(-1, n, e));
+				for (int p = 0; p < profiles.length; p++) {
+					candidates.put(names.get(n) + "-" + profiles[p] + EXTENSIONS.get(e), new FileKind(p, n, e));
+				}
+			}
+		}
+
+		List<ConfigFile> files = new ArrayList<>();
+		try (RevWalk revWalk = new RevWalk(repository); TreeWalk treeWalk = new TreeWalk(repository)) {
+			RevCommit commit = revWalk.parseCommit(commitId);
+			treeWalk.addTree(commit.getTree());
+			treeWalk.setRecursive(true);
+			treeWalk.setFilter(new LocationFilter(locations, candidates.keySet()));
+			while (treeWalk.next()) {
+				String path = treeWalk.getPathString();
+				int slash = path.lastIndexOf('/');
+				String directory = slash < 0 ? ROOT : path.substring(0, slash);
+				FileKind kind = candidates.get(path.substring(slash + 1));
+				int location = lastMatchingLocation(locations, directory);
+				if (kind != null && location >= 0) {
+					files.add(new ConfigFile(path, treeWalk.getObjectId(0), kind, location));
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read tree of " + commitId.name(), e);
+		}
+		return files;
+	}
+
+	private List<PropertySource> parse(ObjectReader reader, ConfigFile file, String name, Set<String> activeProfiles)
+			throws IOException {
+		boolean properties = file.path().endsWith(".properties");
+		long size = documentCache.isEnabled() ? reader.getObjectSize(file.blobId(), Constants.OBJ_BLOB) : 0;
+		List<ParsedDocumentCache.Document> documents = documentCache.get(file.blobId(), properties ? "properties" : "yaml",
+				size, () -> load(reader, file.blobId(), properties ? propertiesLoader : yamlLoader));
+
+		List<PropertySource> sources = new ArrayList<>(documents.size());
+		for (ParsedDocumentCache.Document document : documents) {
+			Object onProfile = document.properties().get(ACTIVATE_ON_PROFILE);
+			if (onProfile == null || Profiles.of(onProfile.toString()).matches(activeProfiles::contains)) {
+				sources.add(new PropertySource(name + document.nameSuffix(), document.properties()));
+			}
+		}
+		return sources;
+	}
+
+	/** Reads and parses a blob into its non-empty documents, named relative to the file. */
+	private static List<ParsedDocumentCache.Document> load(ObjectReader reader, ObjectId blobId, PropertySourceLoader loader) {
+		try {
+			byte[] content = reader.open(blobId, Constants.OBJ_BLOB).getBytes();
+			// Property sources need a name; the blob id is cut off again so the documents stay file-independent
+			String name = blobId.name();
+			List<ParsedDocumentCache.Document> documents = new ArrayList<>();
+			for (org.springframework.core.env.PropertySource<?> document : loader.load(name, new ByteArrayResource(content))) {
+				Map<String, Object> properties = new LinkedHashMap<>();
+				if (document instanceof EnumerablePropertySource<?> enumerable) {
+					for (String key : enumerable.getPropertyNames()) {
+						Object value = enumerable.getProperty(key);
+						properties.put(key, value instanceof OriginTrackedValue tracked ? tracked.getValue() : value);
+					}
+				}
+				if (!properties.isEmpty()) {
+					documents.add(new ParsedDocumentCache.Document(document.getName().substring(name.length()), Collections.unmodifiableMap(properties)));
+				}
+			}
+			return documents;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot parse blob " + blobId.name(), e);
+		}
+	}
+
+	private static List<String> searchLocations(String[] searchPaths, String[] applications, String[] profiles, String label) {
+		Set<String> locations = new LinkedHashSet<>();
+		locations.add(ROOT);
+		if (searchPaths != null) {
+			for (String searchPath : searchPaths) {
+				for (String application : applications) {
+					for (String profile : profiles) {
+						String location = searchPath.replace("{application}", application)
+								.replace("{profile}", profile)
+								.replace("{label}", label);
+						location = StringUtils.trimTrailingCharacter(StringUtils.trimLeadingCharacter(location, '/'), '/');
+						locations.add(location);
+					}
+				}
+			}
+		}
+		return List.copyOf(locations);
+	}
+
+	private static List<String> configNames(String[] applications) {
+		Set<String> names = new LinkedHashSet<>();
+		names.add("application");
+		names.addAll(Arrays.asList(applications));
+		return List.copyOf(names);
+	}
+
+	private static int lastMatchingLocation(List<String> locations, String directory) {
+		for (int i = locations.size() - 1; i >= 0; i--) {
+			String location = locations.get(i);
+			if (location.equals(directory) || (!location.isEmpty() && LocationFilter.MATCHER.match(location, directory))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/** Which of the candidate names a file is: profile index (-1 for none), name index, extension index. */
+	private record FileKind(int profile, int name, int extension) {
+	}
+
+	private record ConfigFile(String path, ObjectId blobId, FileKind kind, int location) {
+
+		/** Packed so that a greater value overrides a smaller one. */
+		long precedence() {
+			return ((kind.profile() + 1L) << 48) | ((long) location << 32) | ((long) kind.name() << 16) | kind.extension();
+		}
+	}
+
+	/**
+	 * Enters only directories that lead to a search location and includes only candidate file names, so the
+	 * walk never reads trees outside the configured paths.
+	 */
+	private static final class LocationFilter extends TreeFilter {
+
+		static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+		private final List<String> locations;
+		private final Set<String> fileNames;
+
+		LocationFilter(List<String> locations, Set<String> fileNames) {
+			this.locations = locations;
+			this.fileNames = fileNames;
+		}
+
+		@Override
+		public boolean include(TreeWalk walker) throws StopWalkException {
+			String path = walker.getPathString();
+			if (walker.isSubtree()) {
+				return locations.stream().anyMatch(location -> !location.isEmpty() && MATCHER.matchStart(location, path));
+			}
+			return fileNames.contains(walker.getNameString()) && lastMatchingLocation(locations,
+					path.indexOf('/') < 0 ? ROOT : path.substring(0, path.lastIndexOf('/'))) >= 0;
+		}
+
+		@Override
+		public boolean shouldBeRecursive() {
+			return locations.size() > 1;
+		}
+
+		@Override
+		public TreeFilter clone() {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.edx.spring.config.central.server.env;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces the fetches of one git repository: at most one is in flight, and a caller that arrived while it
+ * was running (or queued behind it) takes its result instead of fetching again. With {@code force-pull} a
+ * burst of requests for one label then costs one round trip to the remote instead of one per request.
+ * <p>
+ * Callers wait for the fetch in flight by default. Without {@code waitForInFlight} they return at once and
+ * read the local state, which is at most one fetch behind; only the checkout-free path can do that, the
+ * checkout path reads the working tree under the repository lock anyway.
+ */
+@Slf4j
+public class SingleFlightFetch {
+
+	private final String repository;
+	private final boolean waitForInFlight;
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final LongAdder fetches = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+
+	private boolean fetched;
+	private long lastFinished;
+
+	public SingleFlightFetch(String uri, boolean waitForInFlight) {
+		this.repository = withoutCredentials(uri);
+		this.waitForInFlight = waitForInFlight;
+	}
+
+	public SingleFlightFetch bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("config.git.fetches", fetches, LongAdder::sum)
+				.description("Fetches from the remote repository")
+				.tag("repository", repository)
+				.register(registry);
+		FunctionCounter.builder("config.git.fetches.coalesced", coalesced, LongAdder::sum)
+				.description("Fetches not made because a concurrent fetch already covered the request")
+				.tag("repository", repository)
+				.register(registry);
+		FunctionCounter.builder("config.git.fetches.skipped", skipped, LongAdder::sum)
+				.description("Requests that read the local state instead of waiting for the fetch in flight")
+				.tag("repository", repository)
+				.register(registry);
+		return this;
+	}
+
+	/**
+	 * Runs {@code fetch} for a request that arrived at {@code requestedAt} ({@link System#nanoTime()}), unless
+	 * a fetch finished after that, and returns its result; returns null if no fetch was made.
+	 */
+	public <T> T fetch(long requestedAt, Supplier<T> fetch) {
+		if (!waitForInFlight && lock.isLocked()) {
+			skipped.increment();
+			return null;
+		}
+		lock.lock();
+		try {
+			if (fetched && lastFinished - requestedAt >= 0) {
+				coalesced.increment();
+				log.debug("Joined the fetch of {} that was in flight", repository);
+				return null;
+			}
+			fetches.increment();
+			try {
+				return fetch.get();
+			} finally {
+				fetched = true;
+				lastFinished = System.nanoTime();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public long getFetchCount() {
+		return fetches.sum();
+	}
+
+	public long getCoalescedCount() {
+		return coalesced.sum();
+	}
+
+	public long getSkippedCount() {
+		return skipped.sum();
+	}
+
+	private static String withoutCredentials(String uri) {
+		return uri == null ? "" : uri.replaceFirst("//[^/@]*@", "//");
+	}
+}
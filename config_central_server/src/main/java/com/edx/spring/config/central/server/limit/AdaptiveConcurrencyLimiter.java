@@ -0,0 +1,152 @@
+package com.edx.spring.config.central.server.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to measured latency, in the style of the gradient limiters used for load
+ * shedding: the limit grows while latency stays near its long-term baseline and shrinks as soon as requests
+ * start queueing (short-term latency rising above the baseline), so excess load is rejected up front instead
+ * of slowing every request down.
+ * <p>
+ * Per sample: {@code gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1)} and
+ * {@code newLimit = limit * gradient + sqrt(limit)}, blended into the current limit with {@code smoothing}.
+ * The limit does not grow while fewer than half the permits are in use, since that says nothing about
+ * capacity. A failed request (5xx or exception) backs the limit off by 10%.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+	private static final double SHORT_RTT_ALPHA = 0.2;
+	private static final double LONG_RTT_ALPHA = 0.002;
+	private static final double MIN_GRADIENT = 0.5;
+	private static final double FAILURE_BACKOFF = 0.9;
+
+	private final String name;
+	private final int minLimit;
+	private final int maxLimit;
+	private final double tolerance;
+	private final double smoothing;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private volatile int permits;
+
+	// Guarded by this
+	private double limit;
+	private double shortRtt;
+	private double longRtt;
+
+	private Counter rejected;
+
+	public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+	                                  double tolerance, double smoothing) {
+		if (minLimit < 1 || maxLimit < minLimit) {
+			throw new IllegalArgumentException("Invalid limits for " + name + ": min=" + minLimit + ", max=" + maxLimit);
+		}
+		this.name = name;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+		this.smoothing = smoothing;
+		this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+		this.permits = (int) limit;
+	}
+
+	public AdaptiveConcurrencyLimiter bindTo(MeterRegistry registry) {
+		Gauge.builder("config.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+				.tag("path", name)
+				.description("Current adaptive concurrency limit")
+				.register(registry);
+		Gauge.builder("config.concurrency.in-flight", inFlight, AtomicInteger::get)
+				.tag("path", name)
+				.register(registry);
+		rejected = Counter.builder("config.concurrency.rejected")
+				.tag("path", name)
+				.description("Requests shed because the concurrency limit was reached")
+				.register(registry);
+		return this;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getLimit() {
+		return permits;
+	}
+
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/** Takes a permit, or returns {@code null} if the limit is reached. Never blocks. */
+	public Permit tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= permits) {
+				if (rejected != null) {
+					rejected.increment();
+				}
+				return null;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return new Permit(current + 1, System.nanoTime());
+			}
+		}
+	}
+
+	synchronized void onSample(long rttNanos, int inFlightAtStart, boolean success) {
+		if (!success) {
+			setLimit(limit * FAILURE_BACKOFF);
+			return;
+		}
+		double rtt = Math.max(rttNanos, 1);
+		if (longRtt == 0) {
+			shortRtt = rtt;
+			longRtt = rtt;
+			return;
+		}
+		shortRtt += (rtt - shortRtt) * SHORT_RTT_ALPHA;
+		longRtt += (rtt - longRtt) * LONG_RTT_ALPHA;
+		// After a load spike the baseline has crept up; let it come back down quickly once latency recovers
+		if (longRtt > 2 * shortRtt) {
+			longRtt *= 0.95;
+		}
+
+		double gradient = Math.clamp(tolerance * longRtt / shortRtt, MIN_GRADIENT, 1.0);
+		if (gradient == 1.0 && inFlightAtStart < limit / 2) {
+			return;
+		}
+		double newLimit = limit * gradient + Math.sqrt(limit);
+		setLimit(limit * (1 - smoothing) + newLimit * smoothing);
+	}
+
+	private void setLimit(double newLimit) {
+		limit = Math.clamp(newLimit, minLimit, maxLimit);
+		permits = (int) limit;
+	}
+
+	public final class Permit {
+
+		private final int inFlightAtStart;
+		private final long startNanos;
+		private boolean released;
+
+		private Permit(int inFlightAtStart, long startNanos) {
+			this.inFlightAtStart = inFlightAtStart;
+			this.startNanos = startNanos;
+		}
+
+		/** Returns the permit and feeds the request's latency and outcome into the limit. */
+		public void release(boolean success) {
+			if (released) {
+				return;
+			}
+			released = true;
+			inFlight.decrementAndGet();
+			onSample(System.nanoTime() - startNanos, inFlightAtStart, success);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package com.edx.spring.config.central.server.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed share of the request threads for one backend. At most {@code maxConcurrent} requests run at once; up
+ * to {@code maxQueued} more may wait {@code maxWait} for a slot, and everything beyond that is rejected at
+ * once. Unlike the {@link AdaptiveConcurrencyLimiter}, which tracks latency, this is a hard cap: whatever one
+ * backend does, it never holds more than {@code maxConcurrent + maxQueued} threads.
+ */
+public class Bulkhead {
+
+	public enum Rejection {QUEUE_FULL, TIMEOUT}
+
+	private final String name;
+	private final int maxConcurrent;
+	private final int maxQueued;
+	private final long maxWaitNanos;
+
+	private final Semaphore slots;
+	private final AtomicInteger queued = new AtomicInteger();
+
+	private Counter queueFull;
+	private Counter timedOut;
+	private Timer waitTimer;
+
+	public Bulkhead(String name, int maxConcurrent, int maxQueued, Duration maxWait) {
+		if (maxConcurrent < 1 || maxQueued < 0) {
+			throw new IllegalArgumentException("Invalid bulkhead " + name + ": max-concurrent=" + maxConcurrent
+					+ ", max-queued=" + maxQueued);
+		}
+		this.name = name;
+		this.maxConcurrent = maxConcurrent;
+		this.maxQueued = maxQueued;
+		this.maxWaitNanos = maxWait.toNanos();
+		this.slots = new Semaphore(maxConcurrent, true);
+	}
+
+	public Bulkhead bindTo(MeterRegistry registry) {
+		Gauge.builder("config.bulkhead.max", this, Bulkhead::getMaxConcurrent)
+				.tag("bulkhead", name)
+				.description("Requests the bulkhead lets run at once")
+				.register(registry);
+		Gauge.builder("config.bulkhead.active", this, Bulkhead::getActive)
+				.tag("bulkhead", name)
+				.register(registry);
+		Gauge.builder("config.bulkhead.queued", queued, AtomicInteger::get)
+				.tag("bulkhead", name)
+				.register(registry);
+		Gauge.builder("config.bulkhead.saturation", this, b -> (double) b.getActive() / b.maxConcurrent)
+				.tag("bulkhead", name)
+				.description("Share of the bulkhead's slots in use")
+				.register(registry);
+		queueFull = Counter.builder("config.bulkhead.rejected")
+				.tag("bulkhead", name)
+				.tag("reason", "queue-full")
+				.description("Requests rejected by a saturated bulkhead")
+				.register(registry);
+		timedOut = Counter.builder("config.bulkhead.rejected")
+				.tag("bulkhead", name)
+				.tag("reason", "timeout")
+				.description("Requests rejected by a saturated bulkhead")
+				.register(registry);
+		waitTimer = Timer.builder("config.bulkhead.wait")
+				.tag("bulkhead", name)
+				.description("Time requests waited for a bulkhead slot")
+				.register(registry);
+		return this;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getMaxConcurrent() {
+		return maxConcurrent;
+	}
+
+	public int getActive() {
+		return maxConcurrent - slots.availablePermits();
+	}
+
+	public int getQueued() {
+		return queued.get();
+	}
+
+	/**
+	 * Takes a slot, waiting up to {@code maxWait} if the bulkhead is full and its queue is not. Returns
+	 * {@code null} on success, or why the request was rejected; a successful caller must {@link #release()}.
+	 */
+	public Rejection acquire() throws InterruptedException {
+		if (slots.tryAcquire()) {
+			return null;
+		}
+		if (queued.incrementAndGet() > maxQueued) {
+			queued.decrementAndGet();
+			increment(queueFull);
+			return Rejection.QUEUE_FULL;
+		}
+		long start = System.nanoTime();
+		try {
+			if (slots.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+				return null;
+			}
+			increment(timedOut);
+			return Rejection.TIMEOUT;
+		} finally {
+			queued.decrementAndGet();
+			if (waitTimer != null) {
+				waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	public void release() {
+		slots.release();
+	}
+
+	private static void increment(Counter counter) {
+		if (counter != null) {
+			counter.increment();
+		}
+	}
+}
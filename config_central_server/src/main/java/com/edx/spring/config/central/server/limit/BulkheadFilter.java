@@ -0,0 +1,104 @@
+package com.edx.spring.config.central.server.limit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * Runs each request inside the bulkhead of the backend it needs: nexl (labels routed to nexl and
+ * {@code /nexl/batch}), git (all other config requests), admin (the dashboard and its HTMX fragments) or peer
+ * (authenticated lookups from other replicas in peer mode). A nexl outage then ties up at most the nexl bulkhead's threads,
+ * and git labels and the admin UI keep being served. Peer lookups have their own bulkhead because they arrive
+ * from replicas that already hold a nexl slot: sharing one would let a burst on one replica fill the nexl
+ * bulkheads of the others.
+ * <p>
+ * A request the bulkhead cannot take gets a {@code 503} with {@code Retry-After}. Actuator and static
+ * resources are not isolated.
+ */
+@Slf4j
+public class BulkheadFilter extends OncePerRequestFilter {
+
+	private final Bulkhead nexl;
+	private final Bulkhead git;
+	private final Bulkhead admin;
+	private final Bulkhead peer;
+	private final Predicate<String> nexlLabels;
+	private final String retryAfterSeconds;
+
+	/**
+	 * @param nexlLabels whether the config server routes a label to nexl
+	 */
+	public BulkheadFilter(Bulkhead nexl, Bulkhead git, Bulkhead admin, Bulkhead peer, Predicate<String> nexlLabels,
+	                      long retryAfterSeconds) {
+		this.nexl = nexl;
+		this.git = git;
+		this.admin = admin;
+		this.peer = peer;
+		this.nexlLabels = nexlLabels;
+		this.retryAfterSeconds = Long.toString(Math.max(1, retryAfterSeconds));
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return bulkheadFor(request) == null;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		Bulkhead bulkhead = bulkheadFor(request);
+		Bulkhead.Rejection rejection;
+		try {
+			rejection = bulkhead.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			rejection = Bulkhead.Rejection.TIMEOUT;
+		}
+		if (rejection != null) {
+			log.debug("Rejecting {} request {}: bulkhead full ({})", bulkhead.getName(), request.getRequestURI(), rejection);
+			reject(response, bulkhead);
+			return;
+		}
+
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			bulkhead.release();
+		}
+	}
+
+	Bulkhead bulkheadFor(HttpServletRequest request) {
+		return ConfigRequests.isPeerLookup(request) ? peer : bulkheadFor(request.getRequestURI());
+	}
+
+	Bulkhead bulkheadFor(String uri) {
+		if (uri == null) {
+			return null;
+		}
+		if (uri.startsWith("/admin")) {
+			return admin;
+		}
+		if (!ConfigRequests.isConfigRequest(uri)) {
+			return null;
+		}
+		return ConfigRequests.isNexlRequest(uri, nexlLabels) ? nexl : git;
+	}
+
+	private void reject(HttpServletResponse response, Bulkhead bulkhead) throws IOException {
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.getOutputStream().write(("{\"status\":503,\"error\":\"Service Unavailable\",\"message\":\""
+				+ bulkhead.getName() + " bulkhead full\"}").getBytes(StandardCharsets.UTF_8));
+	}
+}
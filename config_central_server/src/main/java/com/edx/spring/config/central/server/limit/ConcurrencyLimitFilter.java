@@ -0,0 +1,85 @@
+package com.edx.spring.config.central.server.limit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * Sheds config requests once the adaptive concurrency limit for their path is reached. Requests for labels
+ * routed to nexl (and {@code /nexl/batch}) and all other config requests, which resolve through git, have
+ * separate limits, so a slow git fetch cannot starve nexl or the other way round.
+ * <p>
+ * A rejected request gets an immediate {@code 503} with {@code Retry-After}, before any environment
+ * resolution, which keeps the admitted requests fast during deploy storms instead of letting everyone time
+ * out and retry. Admin, actuator and static resources are never limited.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+	private final AdaptiveConcurrencyLimiter nexlLimiter;
+	private final AdaptiveConcurrencyLimiter gitLimiter;
+	private final Predicate<String> nexlLabels;
+	private final String retryAfterSeconds;
+
+	/**
+	 * @param nexlLabels whether the config server routes a label to nexl
+	 */
+	public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter nexlLimiter, AdaptiveConcurrencyLimiter gitLimiter,
+	                              Predicate<String> nexlLabels, long retryAfterSeconds) {
+		this.nexlLimiter = nexlLimiter;
+		this.gitLimiter = gitLimiter;
+		this.nexlLabels = nexlLabels;
+		this.retryAfterSeconds = Long.toString(Math.max(1, retryAfterSeconds));
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return ConfigRequests.isPeerLookup(request) || limiterFor(request.getRequestURI()) == null;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		AdaptiveConcurrencyLimiter limiter = limiterFor(request.getRequestURI());
+		AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+		if (permit == null) {
+			log.debug("Shedding {} request {}: limit {} reached", limiter.getName(), request.getRequestURI(),
+					limiter.getLimit());
+			reject(response, limiter);
+			return;
+		}
+
+		boolean success = false;
+		try {
+			chain.doFilter(request, response);
+			success = response.getStatus() < 500;
+		} finally {
+			permit.release(success);
+		}
+	}
+
+	AdaptiveConcurrencyLimiter limiterFor(String uri) {
+		if (!ConfigRequests.isConfigRequest(uri)) {
+			return null;
+		}
+		return ConfigRequests.isNexlRequest(uri, nexlLabels) ? nexlLimiter : gitLimiter;
+	}
+
+	private void reject(HttpServletResponse response, AdaptiveConcurrencyLimiter limiter) throws IOException {
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.getOutputStream().write(("{\"status\":503,\"error\":\"Service Unavailable\",\"message\":\""
+				+ limiter.getName() + " concurrency limit reached\"}").getBytes(StandardCharsets.UTF_8));
+	}
+}
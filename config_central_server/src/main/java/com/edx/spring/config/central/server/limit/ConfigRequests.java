@@ -0,0 +1,74 @@
+package com.edx.spring.config.central.server.limit;
+
+import com.edx.spring.config.central.server.peer.PeerAuthentication;
+import com.edx.spring.config.central.server.peer.PeerRouter;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.function.Predicate;
+
+/**
+ * Classifies request URIs for the limiting filters: config requests ({@code /{application}/{profile}[/{label}]}
+ * and {@code /nexl/batch}) are limited; admin, actuator and static resources are not. A peer lookup, which was
+ * already limited on the replica the client called, is exempt only once authenticated; otherwise it is
+ * classified by its URI like any other request.
+ */
+final class ConfigRequests {
+
+	static final String NEXL_BATCH = "/nexl/batch";
+
+	private ConfigRequests() {
+	}
+
+	static boolean isConfigRequest(String uri) {
+		if (uri == null || isUnlimited(uri)) {
+			return false;
+		}
+		if (uri.startsWith(NEXL_BATCH)) {
+			return true;
+		}
+		int second = uri.indexOf('/', 1);
+		return second > 1 && second < uri.length() - 1;
+	}
+
+	/** Whether {@code request} is a lookup from another replica that {@link PeerAuthentication} accepted. */
+	static boolean isPeerLookup(HttpServletRequest request) {
+		String uri = request.getRequestURI();
+		return uri != null && uri.startsWith(PeerRouter.OWNER_PATH) && PeerAuthentication.isAuthenticated(request);
+	}
+
+	/**
+	 * Whether a config request resolves through nexl: a batch, or a request whose label the config server
+	 * routes to nexl ({@code nexlLabels} is asked for the {@code null} label of a request without one).
+	 */
+	static boolean isNexlRequest(String uri, Predicate<String> nexlLabels) {
+		return uri.startsWith(NEXL_BATCH) || nexlLabels.test(label(uri));
+	}
+
+	/**
+	 * The {@code {label}} segment of {@code /{application}/{profile}/{label}}, with {@code (_)} decoded to a
+	 * slash as the config server does, or {@code null} if the request has no label. Resource requests
+	 * ({@code /{application}/{profile}/{label}/{path}}) are served from git only, so they have none here.
+	 */
+	static String label(String uri) {
+		int second = uri.indexOf('/', 1);
+		int third = second < 0 ? -1 : uri.indexOf('/', second + 1);
+		if (third < 0 || third == uri.length() - 1 || uri.indexOf('/', third + 1) >= 0) {
+			return null;
+		}
+		return uri.substring(third + 1).replace("(_)", "/");
+	}
+
+	/** The {@code {application}} segment of a config request, or {@code null} for a batch. */
+	static String application(String uri) {
+		if (uri.startsWith(NEXL_BATCH)) {
+			return null;
+		}
+		return uri.substring(1, uri.indexOf('/', 1));
+	}
+
+	private static boolean isUnlimited(String uri) {
+		return uri.startsWith("/admin") || uri.startsWith("/actuator") || uri.startsWith("/error")
+				|| uri.startsWith("/css/") || uri.startsWith("/fonts/") || uri.startsWith("/js/")
+				|| uri.startsWith("/static/") || uri.startsWith("/webjars/");
+	}
+}
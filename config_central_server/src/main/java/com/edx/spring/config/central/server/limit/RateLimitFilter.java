@@ -0,0 +1,74 @@
+package com.edx.spring.config.central.server.limit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles config requests per application ({@code {application}} path segment) and per remote address, so a
+ * single service polling in a tight loop gets {@code 429} instead of starving everyone else. A request must
+ * pass both buckets, and a request one bucket rejects takes no token from the other; batch requests carry no
+ * application and are limited per client only.
+ * <p>
+ * The client is {@link HttpServletRequest#getRemoteAddr()}, which is the real client only when Tomcat resolves
+ * {@code X-Forwarded-For} from trusted proxies ({@code server.forward-headers-strategy: native}).
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	private final TokenBucketRateLimiter applicationLimiter;
+	private final TokenBucketRateLimiter clientLimiter;
+
+	public RateLimitFilter(TokenBucketRateLimiter applicationLimiter, TokenBucketRateLimiter clientLimiter) {
+		this.applicationLimiter = applicationLimiter;
+		this.clientLimiter = clientLimiter;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return ConfigRequests.isPeerLookup(request) || !ConfigRequests.isConfigRequest(request.getRequestURI());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String client = request.getRemoteAddr();
+		long waitNanos = clientLimiter.tryAcquire(client);
+		if (waitNanos > 0) {
+			reject(response, clientLimiter, client, waitNanos);
+			return;
+		}
+		String application = ConfigRequests.application(request.getRequestURI());
+		if (application != null) {
+			waitNanos = applicationLimiter.tryAcquire(application);
+			if (waitNanos > 0) {
+				// Not served, so it must not count against the client
+				clientLimiter.refund(client);
+				reject(response, applicationLimiter, application, waitNanos);
+				return;
+			}
+		}
+		chain.doFilter(request, response);
+	}
+
+	private void reject(HttpServletResponse response, TokenBucketRateLimiter limiter, String key, long waitNanos)
+			throws IOException {
+		log.debug("Throttling {} '{}', retry in {}ms", limiter.getScope(), key, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+		long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.getOutputStream().write(("{\"status\":429,\"error\":\"Too Many Requests\",\"message\":\""
+				+ limiter.getScope() + " rate limit exceeded\"}").getBytes(StandardCharsets.UTF_8));
+	}
+}
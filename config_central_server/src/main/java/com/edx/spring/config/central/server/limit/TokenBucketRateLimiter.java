@@ -0,0 +1,191 @@
+package com.edx.spring.config.central.server.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-key token buckets, implemented as GCRA (generic cell rate algorithm): each bucket is a single
+ * {@link AtomicLong} holding the theoretical arrival time of the next request, updated with a CAS, so the hot
+ * path takes no locks and allocates nothing for a known key.
+ * <p>
+ * A request is admitted when the bucket would not be pushed more than {@code burst} emission intervals ahead
+ * of now; the bucket refills at {@code rate} requests per second. Rate and burst apply to every key unless the
+ * key has an override, and both can be changed at runtime.
+ * <p>
+ * The key map is bounded: once it exceeds {@code maxKeys}, buckets that have fully refilled (indistinguishable
+ * from a new bucket) are dropped, and if that is not enough, the least recently used tenth.
+ */
+@Slf4j
+public class TokenBucketRateLimiter {
+
+	public record Limit(double rate, int burst) {
+		public Limit {
+			if (!(rate > 0) || burst < 1) {
+				throw new IllegalArgumentException("Rate must be positive and burst at least 1: " + rate + "/" + burst);
+			}
+		}
+
+		long intervalNanos() {
+			return Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+		}
+	}
+
+	public record KeyStatus(String key, long throttled, Limit override) {
+	}
+
+	private final String scope;
+	private final int maxKeys;
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+	private final Map<String, Limit> overrides = new ConcurrentHashMap<>();
+	private volatile Limit defaultLimit;
+
+	private Counter throttledCounter;
+
+	public TokenBucketRateLimiter(String scope, Limit defaultLimit, int maxKeys) {
+		this.scope = scope;
+		this.defaultLimit = defaultLimit;
+		this.maxKeys = maxKeys;
+	}
+
+	public TokenBucketRateLimiter bindTo(MeterRegistry registry) {
+		Gauge.builder("config.rate-limit.keys", buckets, Map::size)
+				.tag("scope", scope)
+				.description("Keys currently tracked by the rate limiter")
+				.register(registry);
+		throttledCounter = Counter.builder("config.rate-limit.throttled")
+				.tag("scope", scope)
+				.description("Requests rejected by the rate limiter")
+				.register(registry);
+		return this;
+	}
+
+	public String getScope() {
+		return scope;
+	}
+
+	public Limit getDefaultLimit() {
+		return defaultLimit;
+	}
+
+	public void setDefaultLimit(Limit limit) {
+		log.info("Rate limit for {} changed from {} to {}", scope, defaultLimit, limit);
+		defaultLimit = limit;
+	}
+
+	public Map<String, Limit> getOverrides() {
+		return Map.copyOf(overrides);
+	}
+
+	public void setOverride(String key, Limit limit) {
+		log.info("Rate limit for {} '{}' set to {}", scope, key, limit);
+		overrides.put(key, limit);
+	}
+
+	public void removeOverride(String key) {
+		if (overrides.remove(key) != null) {
+			log.info("Rate limit override for {} '{}' removed", scope, key);
+		}
+	}
+
+	/**
+	 * Takes one token for {@code key}. Returns {@code 0} if the request is admitted, otherwise the nanoseconds
+	 * until it would be.
+	 */
+	public long tryAcquire(String key) {
+		Limit limit = overrides.isEmpty() ? defaultLimit : overrides.getOrDefault(key, defaultLimit);
+		long interval = limit.intervalNanos();
+		long tolerance = interval * limit.burst();
+		long now = System.nanoTime();
+
+		Bucket bucket = buckets.get(key);
+		if (bucket == null) {
+			bucket = buckets.computeIfAbsent(key, k -> new Bucket(now));
+			if (buckets.size() > maxKeys) {
+				evict(now);
+			}
+		}
+
+		AtomicLong tat = bucket.theoreticalArrival;
+		while (true) {
+			long current = tat.get();
+			long next = Math.max(current, now) + interval;
+			long ahead = next - now;
+			if (ahead > tolerance) {
+				bucket.throttled.increment();
+				if (throttledCounter != null) {
+					throttledCounter.increment();
+				}
+				return ahead - tolerance;
+			}
+			if (tat.compareAndSet(current, next)) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Gives back the token a successful {@link #tryAcquire} took, for a request that a later limit rejected and
+	 * that was therefore never served.
+	 */
+	public void refund(String key) {
+		Bucket bucket = buckets.get(key);
+		if (bucket == null) {
+			return;
+		}
+		Limit limit = overrides.isEmpty() ? defaultLimit : overrides.getOrDefault(key, defaultLimit);
+		// A bucket pushed back before now is simply full; tryAcquire starts from max(tat, now)
+		bucket.theoreticalArrival.addAndGet(-limit.intervalNanos());
+	}
+
+	public int size() {
+		return buckets.size();
+	}
+
+	/** Keys that have been throttled, most throttled first. */
+	public List<KeyStatus> topThrottled(int max) {
+		return buckets.entrySet().stream()
+				.filter(e -> e.getValue().throttled.sum() > 0)
+				.map(e -> new KeyStatus(e.getKey(), e.getValue().throttled.sum(), overrides.get(e.getKey())))
+				.sorted(Comparator.comparingLong(KeyStatus::throttled).reversed())
+				.limit(max)
+				.toList();
+	}
+
+	/** Runs only on overflow, so its cost is amortised over the new keys that caused it. */
+	private synchronized void evict(long now) {
+		if (buckets.size() <= maxKeys) {
+			return;
+		}
+		buckets.values().removeIf(bucket -> bucket.theoreticalArrival.get() - now <= 0);
+		int excess = buckets.size() - maxKeys;
+		if (excess > 0) {
+			int toRemove = Math.max(excess, maxKeys / 10);
+			buckets.entrySet().stream()
+					.sorted(Comparator.comparingLong(e -> e.getValue().theoreticalArrival.get()))
+					.limit(toRemove)
+					.map(Map.Entry::getKey)
+					.toList()
+					.forEach(buckets::remove);
+			log.debug("Evicted {} {} rate limit buckets over capacity {}", toRemove, scope, maxKeys);
+		}
+	}
+
+	private static final class Bucket {
+		final AtomicLong theoreticalArrival;
+		final LongAdder throttled = new LongAdder();
+
+		Bucket(long now) {
+			this.theoreticalArrival = new AtomicLong(now);
+		}
+	}
+}
@@ -27,11 +27,11 @@ public class GitConfigResourceProvider implements ConfigResourceProvider {
 
 	@Override
     public Map<String, Object> loadProperties(String application, String profile, String label) {
-        log.info("GitConfigResourceProvider loading properties for application: {}, profile: {}, label: {}",
+        log.debug("GitConfigResourceProvider loading properties for application: {}, profile: {}, label: {}",
                 application, profile, label);
 
         if (!enabled) {
-            log.info("Git provider is disabled");
+            log.debug("Git provider is disabled");
             return new HashMap<>();
         }
 
@@ -48,7 +48,7 @@ public class GitConfigResourceProvider implements ConfigResourceProvider {
         properties.put("cache.enabled", "true");
         properties.put("logging.level", "INFO");
 
-        log.info("Git provider loaded {} properties", properties.size());
+        log.debug("Git provider loaded {} properties", properties.size());
         return properties;
     }
 
@@ -2,41 +2,104 @@ package com.edx.spring.config.central.server.loader;
 
 import com.edx.spring.config.central.server.KNexlService;
 import com.edx.spring.config.central.server.admin.ConfigProviderManager;
+import com.edx.spring.config.central.server.cache.CacheInvalidationEvent;
+import com.edx.spring.config.central.server.cache.CompactPropertyMap;
+import com.edx.spring.config.central.server.cache.NexlPropertiesCache;
+import com.edx.spring.config.central.server.logging.RequestTimings;
+import com.edx.spring.config.central.server.peer.PeerRouter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.UriComponentsBuilder;
 
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
-
-import java.net.URLEncoder;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class NexlConfigResourceProvider implements HttpRequestAwareConfigResourceProvider {
 
+	private static final String RAW_RESPONSE = "nexl.raw.response";
+
 	@Autowired
 	private ConfigProviderManager providerManager;
 	@Autowired
 	private KNexlService nexlService;
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+	@Autowired(required = false)
+	private PeerRouter peerRouter;
 	private final ObjectMapper objectMapper = new ObjectMapper();
 
 	@Value("${config.providers.nexl.enabled:true}")
 	private boolean enabled;
 
-
-	@Value("${config.providers.nexl.base-url:http://nexl:8181}")
-	private String baseUrl;
-
 	@Value("${config.providers.nexl.fallback:false}")
 	private boolean fallback;
 
+	/**
+	 * On by default: a change in nexl is served up to this long after it was made, unless the path is invalidated
+	 * through {@code POST /admin/api/cache/invalidate}. {@code 0} disables the cache and every request calls nexl.
+	 */
+	@Value("${config.providers.nexl.cache.ttl:5s}")
+	private Duration cacheTtl = Duration.ofSeconds(5);
+
+	@Value("${config.providers.nexl.cache.max-entries:1000}")
+	private int cacheMaxEntries = 1000;
+
+	private NexlPropertiesCache cache = new NexlPropertiesCache(Duration.ZERO, 0);
+	private Timer parseTimer;
+
+	@PostConstruct
+	void initCache() {
+		cache = new NexlPropertiesCache(cacheTtl, cacheMaxEntries);
+		if (cache.isEnabled()) {
+			log.info("Nexl properties cache: ttl={}, maxEntries={}; nexl changes are served within the ttl", cacheTtl,
+					cacheMaxEntries);
+		} else {
+			log.info("Nexl properties cache disabled");
+		}
+		if (meterRegistry != null) {
+			Gauge.builder("nexl.cache.size", cache, NexlPropertiesCache::size).register(meterRegistry);
+			FunctionCounter.builder("nexl.cache.lookups", cache, NexlPropertiesCache::hitCount)
+					.tag("outcome", "hit").register(meterRegistry);
+			FunctionCounter.builder("nexl.cache.lookups", cache, NexlPropertiesCache::missCount)
+					.tag("outcome", "miss").register(meterRegistry);
+			FunctionCounter.builder("nexl.cache.lookups", cache, NexlPropertiesCache::coalescedCount)
+					.tag("outcome", "coalesced").register(meterRegistry);
+			FunctionCounter.builder("nexl.cache.revalidations", cache, NexlPropertiesCache::revalidatedCount)
+					.description("Expired entries renewed because nexl reported them unchanged").register(meterRegistry);
+			parseTimer = Timer.builder("nexl.response.parse")
+					.description("Time spent parsing nexl responses into property maps").register(meterRegistry);
+		}
+	}
+
+	public NexlPropertiesCache getCache() {
+		return cache;
+	}
+
+	@EventListener
+	public void onCacheInvalidation(CacheInvalidationEvent event) {
+		nexlService.invalidateLocalDocuments(event.path);
+		if (event.path == null) {
+			cache.invalidateAll();
+			log.info("Nexl cache cleared{}", event.remote ? " (replicated)" : "");
+		} else {
+			cache.invalidateIf(key -> NexlRequestKey.isCacheKeyFor(key, event.path));
+			log.info("Nexl cache invalidated for {}{}", event.path, event.remote ? " (replicated)" : "");
+		}
+	}
+
 	/*@Override
 	public boolean supports(String label) {
 		// Support when label is "nexl" or when it's the primary provider
@@ -45,48 +108,28 @@ public class NexlConfigResourceProvider implements HttpRequestAwareConfigResourc
 
 	@Override
 	public Map<String, Object> loadProperties(String application, String profile, String label, HttpServletRequest request) {
-		log.info("NexlConfigResourceProvider loading properties with HTTP request context");
+		log.debug("NexlConfigResourceProvider loading properties with HTTP request context");
 
 		if (!enabled) {
-			log.info("Nexl provider is disabled");
+			log.debug("Nexl provider is disabled");
 			return new HashMap<>();
 		}
 		try {
-			String path;
-			String expression;
-
+			NexlRequestKey key;
 			if (request != null) {
-				// Extract path and expression from HTTP request
-				String[] pathAndExpression = extractPathAndExpressionFromHttpRequest(request);
-				path = pathAndExpression[0];
-				expression = pathAndExpression[1];
-				log.info("Extracted from HTTP request - path: {}, expression: {}", path, expression);
+				key = NexlRequestParser.fromHttpRequest(request);
+				log.debug("Extracted from HTTP request - path: {}, expression: {}", key.path(), key.expression());
 			} else {
 				// Fallback to parameter-based path and expression extraction
-				String[] pathAndExpression = extractPathAndExpressionFromParameters(application, profile);
-				path = pathAndExpression[0];
-				expression = pathAndExpression[1];
-				log.info("Extracted from parameters - path: {}, expression: {}", path, expression);
+				key = NexlRequestParser.fromParameters(application, profile);
+				log.debug("Extracted from parameters - path: {}, expression: {}", key.path(), key.expression());
 			}
 
-			KNexlService.NexlResult nexlResult = nexlService.callNexlServerForJava(path, expression);
-
-			if (nexlResult.isSuccess()) {
-				String response = nexlResult.getData();
-				log.info("Nexl server response body length: {}", response != null ? response.length() : 0);
-
-				if (response != null && !response.trim().isEmpty()) {
-					log.debug("Nexl server response body: {}", response);
-					return parseNexlResponse(response, application, profile, request);
-				} else {
-					log.warn("No configuration found for path: {} with expression: {}", path, expression);
-					return new HashMap<>();
-				}
-			} else {
-				Throwable failure = nexlResult.getException();
-				log.error("Failed to load configuration from Nexl server: {}",
-						failure != null ? failure.getMessage() : "Unknown error", failure);
+			Map<String, Object> properties = resolve(key, request);
+			if (properties.isEmpty()) {
+				log.warn("No configuration found for path: {} with expression: {}", key.path(), key.expression());
 			}
+			return withSource(properties, application, profile);
 
 		} catch (Exception e) {
 			log.error("Failed to load configuration from Nexl server: {}", e.getMessage(), e);
@@ -96,6 +139,97 @@ public class NexlConfigResourceProvider implements HttpRequestAwareConfigResourc
 	}
 
 
+	/**
+	 * Whether nexl may be called at all: the provider is enabled by configuration and has not been switched off
+	 * through {@link ConfigProviderManager}. Callers outside the label routing (batch, peer) check this first.
+	 */
+	public boolean isAvailable() {
+		return enabled && (providerManager == null || providerManager.isProviderEnabled(getClass().getSimpleName()));
+	}
+
+	/**
+	 * Resolves a nexl path/expression pair to its property map, going through the short-lived cache so that
+	 * concurrent identical lookups share a single nexl round-trip. Used directly by batch resolution, which checks
+	 * {@link #isAvailable()} first.
+	 *
+	 * @throws IllegalStateException if the nexl call fails
+	 */
+	public Map<String, Object> resolve(String path, String expression) {
+		return resolve(NexlRequestKey.of(path, expression), null);
+	}
+
+	/**
+	 * Resolves on this replica, through its own cache, even in peer mode. Used to serve keys this replica owns
+	 * to the other replicas.
+	 */
+	public Map<String, Object> resolveLocally(String path, String expression) {
+		return resolveLocally(NexlRequestKey.of(path, expression), RequestTimings.current());
+	}
+
+	private Map<String, Object> resolve(NexlRequestKey key, HttpServletRequest request) {
+		RequestTimings timings = RequestTimings.of(request);
+		if (peerRouter != null) {
+			long start = System.nanoTime();
+			Map<String, Object> owned = peerRouter.fetchFromOwner(key);
+			if (owned != null) {
+				if (timings != null) {
+					timings.tag("cache", "PEER");
+					timings.recordSince("nexl", start);
+				}
+				return owned;
+			}
+		}
+		return resolveLocally(key, timings);
+	}
+
+	private Map<String, Object> resolveLocally(NexlRequestKey key, RequestTimings timings) {
+		return cache.get(key.cacheKey(),
+				stale -> fetchAndParse(key, timings, stale),
+				timings != null ? outcome -> timings.tag("cache", outcome) : NexlPropertiesCache.OutcomeSink.NONE);
+	}
+
+	/**
+	 * Calls nexl and parses the response. With a {@code stale} entry the call is conditional, and if nexl reports
+	 * the result unchanged the stale map is returned as is: nothing is transferred (304) or parsed.
+	 */
+	private NexlPropertiesCache.Loaded fetchAndParse(NexlRequestKey key, RequestTimings timings,
+	                                                 NexlPropertiesCache.Loaded stale) {
+		KNexlService.Validators previous = stale != null && stale.validators() instanceof KNexlService.Validators validators
+				? validators : null;
+		long start = System.nanoTime();
+		KNexlService.NexlResult nexlResult = nexlService.callNexlServerConditional(key.path(), key.expression(), previous);
+		if (timings != null) {
+			timings.recordSince("nexl", start);
+		}
+
+		if (!nexlResult.isSuccess()) {
+			Throwable failure = nexlResult.getException();
+			throw new IllegalStateException(failure != null ? failure.getMessage() : "Unknown error", failure);
+		}
+		if (nexlResult.isUnchanged()) {
+			log.debug("Nexl result of {} unchanged, cached properties renewed", key.path());
+			return new NexlPropertiesCache.Loaded(stale.value(), nexlResult.getValidators());
+		}
+
+		String response = nexlResult.getData();
+		log.debug("Nexl server response body length: {}", response != null ? response.length() : 0);
+
+		if (response == null || response.trim().isEmpty()) {
+			return new NexlPropertiesCache.Loaded(new HashMap<>(), null);
+		}
+		log.debug("Nexl server response body: {}", response);
+		long parseStart = System.nanoTime();
+		// Compacted because the result may be cached and shared; large nexl documents are mostly map overhead
+		Map<String, Object> properties = CompactPropertyMap.copyOf(parseNexlResponse(response));
+		if (timings != null) {
+			timings.recordSince("parse", parseStart);
+		}
+		if (parseTimer != null) {
+			parseTimer.record(System.nanoTime() - parseStart, TimeUnit.NANOSECONDS);
+		}
+		return new NexlPropertiesCache.Loaded(properties, nexlResult.getValidators());
+	}
+
 	@Override
 	public boolean supports(String label) {
 		// 1) Check if provider is enabled
@@ -142,345 +276,28 @@ public class NexlConfigResourceProvider implements HttpRequestAwareConfigResourc
 		return true; // or check some configuration property
 	}
 
-	private String[] extractPathAndExpressionFromHttpRequest(HttpServletRequest request) {
-		String requestURI = request.getRequestURI();
-		String queryString = request.getQueryString();
-
-		log.info("Processing request URI: {}", requestURI);
-		log.info("Query string: {}", queryString);
-
-		// Check if there's a 'url' parameter - this is the primary case
-		String urlParam = request.getParameter("url");
-		if (urlParam != null) {
-			return splitUrlParameterIntoPathAndExpression(urlParam);
-		}
-
-		// Fallback to path-based URL building
-		return extractPathAndExpressionFromRequestPath(requestURI, queryString);
-	}
-
-/*	private String[] splitUrlParameterIntoPathAndExpression(String urlParam) {
-		log.info("Found URL parameter: {}", urlParam);
-
-		// Split on "expression="
-		int expressionIndex = urlParam.indexOf("expression=");
-		if (expressionIndex == -1) {
-			// No expression parameter, return path only
-			return new String[]{urlParam, ""};
-		}
-
-		// Split the URL at the expression parameter
-		String path = urlParam.substring(0, expressionIndex - 1); // Remove the "?" before "expression="
-		String expressionPart = urlParam.substring(expressionIndex + "expression=".length());
-
-		// Find the end of the expression value (next & or end of string)
-		int nextParamIndex = expressionPart.indexOf('&');
-		String expression = nextParamIndex != -1 ?
-				expressionPart.substring(0, nextParamIndex) :
-				expressionPart;
-
-		// URL decode the expression since it comes from the URL parameter
-		String decodedExpression = URLDecoder.decode(expression, StandardCharsets.UTF_8);
-
-		log.info("Split URL - path: {}, expression: {}", path, decodedExpression);
-		return new String[]{path, decodedExpression};
-	}*/
-
-	private String[] splitUrlParameterIntoPathAndExpression(String urlParam) {
-		log.info("Found URL parameter: {}", urlParam);
-
-		// Check if URL contains expression parameter
-		int expressionIndex = urlParam.indexOf("expression=");
-		if (expressionIndex != -1) {
-			// Handle the case with expression parameter (existing logic)
-			String path = urlParam.substring(0, expressionIndex - 1); // Remove the "?" before "expression="
-			String expressionPart = urlParam.substring(expressionIndex + "expression=".length());
-
-			// Find the end of the expression value (next & or end of string)
-			int nextParamIndex = expressionPart.indexOf('&');
-			String expression = nextParamIndex != -1 ?
-					expressionPart.substring(0, nextParamIndex) :
-					expressionPart;
-
-			// URL decode the expression since it comes from the URL parameter
-			String decodedExpression = URLDecoder.decode(expression, StandardCharsets.UTF_8);
-
-			log.info("Split URL with expression - path: {}, expression: {}", path, decodedExpression);
-			return new String[]{path, decodedExpression};
-		} else {
-			// Handle the case without expression parameter - just pass the entire URL as path
-			log.info("URL without expression parameter - using entire URL as path: {}", urlParam);
-			return new String[]{urlParam, ""};
-		}
-	}
-
-	private String[] extractPathAndExpressionFromRequestPath(String requestURI, String queryString) {
-		// Parse the Spring Cloud Config URL pattern: /{application}/{profile}/{label}
-		String[] pathParts = requestURI.split("/");
-		if (pathParts.length < 4) {
-			throw new IllegalArgumentException("Invalid request URI format: " + requestURI);
-		}
-
-		String application = URLDecoder.decode(pathParts[1], StandardCharsets.UTF_8);
-		String profile = URLDecoder.decode(pathParts[2], StandardCharsets.UTF_8);
-
-		log.info("Decoded application: {}", application);
-		log.info("Decoded profile: {}", profile);
-
-		// Build path and extract expression
-		String path = buildPathFromApplicationProfile(application, profile);
-		String expression = extractExpressionFromQueryOrProfile(queryString, profile);
-
-		return new String[]{path, expression};
-	}
-
-	private String[] extractPathAndExpressionFromParameters(String application, String profile) {
-		log.info("Building path and expression from parameters - application: {}, profile: {}", application, profile);
-
-		String path;
-		String expression = "";
-
-		if (application.contains("/") && application.endsWith(".js")) {
-			// Direct path specified (e.g., "java-opts/docker-conf/mobile.js")
-			path = "/" + application;
-
-			// Check if profile contains expression
-			if (profile.contains("expression=")) {
-				expression = extractExpressionFromProfile(profile);
-			}
-		} else if (profile.contains("?")) {
-			// Query parameters in profile (e.g., "js?expression=${all}")
-			String[] parts = profile.split("\\?", 2);
-			path = "/" + application + "/" + parts[0];
-
-			// Extract expression from query part
-			if (parts[1].contains("expression=")) {
-				String[] expressionParts = parts[1].split("expression=", 2);
-				if (expressionParts.length > 1) {
-					expression = URLDecoder.decode(expressionParts[1].split("&")[0], StandardCharsets.UTF_8);
-				}
-			}
-		} else {
-			// Standard application/profile format
-			path = "/" + application + "/" + profile + ".js";
-		}
-
-		return new String[]{path, expression};
-	}
-
-	private String buildPathFromApplicationProfile(String application, String profile) {
-		if (application.endsWith(".js")) {
-			// Direct JavaScript file path
-			return "/" + application;
-		} else if (profile.contains("?")) {
-			// Profile contains query parameters (e.g., "js?expression=${all}")
-			String[] profileParts = profile.split("\\?", 2);
-			return "/" + application + "/" + profileParts[0];
-		} else {
-			// Standard pattern
-			return "/" + application + "/" + profile + ".js";
-		}
-	}
-
-	private String extractExpressionFromQueryOrProfile(String queryString, String profile) {
-		// Try query string first
-		if (queryString != null && queryString.contains("expression=")) {
-			String[] parts = queryString.split("expression=", 2);
-			if (parts.length > 1) {
-				return URLDecoder.decode(parts[1].split("&")[0], StandardCharsets.UTF_8);
-			}
-		}
-
-		// Try profile
-		return extractExpressionFromProfile(profile);
-	}
-
 	@Override
 	public Map<String, Object> loadProperties(String application, String profile, String label) {
 		// Fallback method without HTTP request context
 		return loadProperties(application, profile, label, null);
 	}
 
-	private String buildNexlUrlFromHttpRequest(HttpServletRequest request) {
-		String requestURI = request.getRequestURI();
-		String queryString = request.getQueryString();
-
-		log.info("Processing request URI: {}", requestURI);
-		log.info("Query string: {}", queryString);
-
-		// Check if there's a 'url' parameter - this is the primary case
-		String urlParam = request.getParameter("url");
-		if (urlParam != null) {
-			return buildNexlUrlFromUrlParameterWithReEncoding(urlParam);
-		}
-
-		// Fallback to path-based URL building
-		return buildNexlUrlFromRequestPath(requestURI, queryString);
-	}
-
-	private String buildNexlUrlFromUrlParameter(String urlParam) {
-		log.info("Found URL parameter: {}", urlParam);
-
-		// Let's try without re-encoding first - the parameter is already decoded by the servlet
-		String finalUrl = baseUrl + urlParam;
-
-		log.info("Built final URL: {}", finalUrl);
-		return finalUrl;
-	}
-
-	// Keep the re-encoding method but don't use it by default - we can test both approaches
-	private String buildNexlUrlFromUrlParameterWithReEncoding(String urlParam) {
-		log.info("Found URL parameter: {}", urlParam);
-
-		// Re-encode only the expression part if it exists
-		String processedUrl = reEncodeExpressionInUrl(urlParam);
-		String finalUrl = baseUrl + processedUrl;
-
-		log.info("Built final URL with re-encoding: {}", finalUrl);
-		return finalUrl;
-	}
-
-	private String reEncodeExpressionInUrl(String url) {
-		// Check if URL contains expression parameter
-		int expressionIndex = url.indexOf("expression=");
-		if (expressionIndex == -1) {
-			return url; // No expression parameter, return as-is
-		}
-
-		// Split the URL at the expression parameter
-		String beforeExpression = url.substring(0, expressionIndex + "expression=".length());
-		String afterExpression = url.substring(expressionIndex + "expression=".length());
-
-		// Find the end of the expression value (next & or end of string)
-		int nextParamIndex = afterExpression.indexOf('&');
-		String expressionValue;
-		String remainingParams;
-
-		if (nextParamIndex != -1) {
-			expressionValue = afterExpression.substring(0, nextParamIndex);
-			remainingParams = afterExpression.substring(nextParamIndex);
-		} else {
-			expressionValue = afterExpression;
-			remainingParams = "";
-		}
-
-		// Re-encode only the expression value
-		String encodedExpression = URLEncoder.encode(expressionValue, StandardCharsets.UTF_8);
-
-		return beforeExpression + encodedExpression + remainingParams;
-	}
-
-	private String buildNexlUrlFromRequestPath(String requestURI, String queryString) {
-		// Parse the Spring Cloud Config URL pattern: /{application}/{profile}/{label}
-		String[] pathParts = requestURI.split("/");
-		if (pathParts.length < 4) {
-			throw new IllegalArgumentException("Invalid request URI format: " + requestURI);
-		}
-
-		String application = URLDecoder.decode(pathParts[1], StandardCharsets.UTF_8);
-		String profile = URLDecoder.decode(pathParts[2], StandardCharsets.UTF_8);
-
-		log.info("Decoded application: {}", application);
-		log.info("Decoded profile: {}", profile);
-
-		UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl);
-
-		// Build path based on different patterns
-		buildNexlPath(builder, application, profile);
-
-		// Add query parameters from original request
-		if (queryString != null) {
-			addQueryParametersFromString(builder, queryString);
-		}
-
-		return builder.build().toUriString();
-	}
-
-	private void buildNexlPath(UriComponentsBuilder builder, String application, String profile) {
-		if (application.endsWith(".js")) {
-			// Direct JavaScript file path
-			builder.path("/" + application);
-		} else if (profile.contains("?")) {
-			// Profile contains query parameters (e.g., "js?expression=${all}")
-			String[] profileParts = profile.split("\\?", 2);
-			builder.path("/" + application + "/" + profileParts[0]);
-
-			// Add query parameters from profile
-			if (profileParts.length > 1) {
-				addQueryParametersFromString(builder, profileParts[1]);
-			}
-		} else {
-			// Standard pattern
-			builder.path("/" + application + "/" + profile + ".js");
-		}
-	}
-
-	private String buildNexlUrlFromParameters(String application, String profile) {
-		log.info("Building Nexl URL from parameters - application: {}, profile: {}", application, profile);
-
-		UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl);
-
-		// Parse different patterns
-		if (application.contains("/") && application.endsWith(".js")) {
-			// Direct path specified (e.g., "java-opts/docker-conf/mobile.js")
-			builder.path("/" + application);
-
-			// Check if profile contains expression
-			if (profile.contains("expression=")) {
-				String expression = extractExpressionFromProfile(profile);
-				if (expression != null) {
-					builder.queryParam("expression", expression);
-				}
-			}
-		} else if (profile.contains("?")) {
-			// Query parameters in profile (e.g., "js?expression=${all}")
-			String[] parts = profile.split("\\?", 2);
-			builder.path("/" + application + "/" + parts[0]);
-			addQueryParametersFromString(builder, parts[1]);
-		} else {
-			// Standard application/profile format
-			builder.path("/" + application + "/" + profile + ".js");
-		}
-
-		return builder.build().toUriString();
-	}
-
-	private void addQueryParametersFromString(UriComponentsBuilder builder, String queryString) {
-		if (queryString != null && !queryString.trim().isEmpty()) {
-			String[] params = queryString.split("&");
-			for (String param : params) {
-				String[] keyValue = param.split("=", 2);
-				if (keyValue.length == 2) {
-					String key = URLDecoder.decode(keyValue[0], StandardCharsets.UTF_8);
-					String value = URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8);
-					builder.queryParam(key, value);
-				}
-			}
-		}
-	}
-
-	private String extractExpressionFromProfile(String profile) {
-		if (profile.contains("expression=")) {
-			String[] parts = profile.split("expression=", 2);
-			if (parts.length > 1) {
-				return URLDecoder.decode(parts[1].split("&")[0], StandardCharsets.UTF_8);
-			}
-		}
-		return null;
-	}
-
-	private Map<String, Object> parseNexlResponse(String response, String application, String profile, HttpServletRequest request) {
+	/**
+	 * The cached part of a response: it is shared by every application and profile that asks for the same
+	 * path and expression, so nothing request-specific goes in here (see {@link #withSource}).
+	 */
+	private Map<String, Object> parseNexlResponse(String response) {
 		Map<String, Object> properties = new HashMap<>();
 
 		try {
 			// If the response looks like JSON, parse it as JSON
 			if (response.trim().startsWith("{") || response.trim().startsWith("[")) {
 				properties = objectMapper.readValue(response, Map.class);
-				log.info("Successfully parsed JSON response with {} properties", properties.size());
+				log.debug("Successfully parsed JSON response with {} properties", properties.size());
 			} else {
 				// For JavaScript files, try to extract JSON or key-value pairs
 				properties = parseJavaScriptResponse(response);
-				log.info("Parsed JavaScript response with {} properties", properties.size());
+				log.debug("Parsed JavaScript response with {} properties", properties.size());
 			}
 //			return properties;
 			// Add metadata about the source
@@ -497,14 +314,23 @@ public class NexlConfigResourceProvider implements HttpRequestAwareConfigResourc
 		} catch (Exception e) {
 			log.warn("Failed to parse Nexl response as JSON, treating as plain text: {}", e.getMessage());
 			// Fallback: store the raw response
-			properties.put("nexl.raw.response", response);
-			properties.put("nexl.source.application", application);
-			properties.put("nexl.source.profile", profile);
+			properties.put(RAW_RESPONSE, response);
 		}
 
 		return properties;
 	}
 
+	/** Names the requesting application and profile next to a raw (unparseable) response. */
+	private static Map<String, Object> withSource(Map<String, Object> properties, String application, String profile) {
+		if (!properties.containsKey(RAW_RESPONSE)) {
+			return properties;
+		}
+		Map<String, Object> withSource = new HashMap<>(properties);
+		withSource.put("nexl.source.application", application);
+		withSource.put("nexl.source.profile", profile);
+		return withSource;
+	}
+
 	private Map<String, Object> parseJavaScriptResponse(String jsResponse) {
 		Map<String, Object> properties = new HashMap<>();
 
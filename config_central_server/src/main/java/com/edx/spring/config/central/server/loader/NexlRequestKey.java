@@ -0,0 +1,74 @@
+package com.edx.spring.config.central.server.loader;
+
+import java.util.Objects;
+
+/**
+ * Immutable identity of a nexl lookup: the nexl document path, the (decoded) expression to evaluate against it,
+ * and the normalized key under which its result is cached. An absent expression is represented as {@code ""}.
+ *
+ * @see NexlRequestParser
+ */
+public final class NexlRequestKey {
+
+	private final String path;
+	private final String expression;
+	private String cacheKey;
+
+	private NexlRequestKey(String path, String expression) {
+		this.path = path;
+		this.expression = expression;
+	}
+
+	public static NexlRequestKey of(String path, String expression) {
+		return new NexlRequestKey(Objects.requireNonNull(path, "path"), expression != null ? expression : "");
+	}
+
+	public String path() {
+		return path;
+	}
+
+	public String expression() {
+		return expression;
+	}
+
+	public boolean hasExpression() {
+		return !expression.isEmpty();
+	}
+
+	/** Path and expression joined by a NUL, which can appear in neither; built once on first use. */
+	public String cacheKey() {
+		String key = cacheKey;
+		if (key == null) {
+			key = expression.isEmpty() ? path : path + '\u0000' + expression;
+			cacheKey = key;
+		}
+		return key;
+	}
+
+	/** Whether {@code cacheKey} was produced by a key for {@code path}, whatever its expression. */
+	public static boolean isCacheKeyFor(String cacheKey, String path) {
+		return cacheKey.startsWith(path)
+				&& (cacheKey.length() == path.length() || cacheKey.charAt(path.length()) == '\u0000');
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof NexlRequestKey other)) {
+			return false;
+		}
+		return path.equals(other.path) && expression.equals(other.expression);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * path.hashCode() + expression.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return expression.isEmpty() ? path : path + " [" + expression + "]";
+	}
+}
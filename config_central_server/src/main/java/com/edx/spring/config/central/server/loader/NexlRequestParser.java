@@ -0,0 +1,137 @@
+package com.edx.spring.config.central.server.loader;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns an incoming config request into a {@link NexlRequestKey}.
+ * <p>
+ * Every form is parsed in a single forward scan using indices into the original strings: no regex splitting,
+ * no intermediate {@code String[]}, and {@link URLDecoder} only runs on the segments that actually contain a
+ * {@code %} or {@code +} - in the common case a segment is returned as a plain substring.
+ * <p>
+ * Supported forms, in order of precedence for HTTP requests:
+ * <ul>
+ *     <li>{@code ?url=/path/doc.js?expression=...} - the url parameter carries the nexl path and expression</li>
+ *     <li>{@code /{application}/{profile}/{label}[?expression=...]} - the path is derived from application and
+ *     profile; the expression comes from the query string or from a {@code ?expression=} embedded in the
+ *     profile</li>
+ * </ul>
+ */
+public final class NexlRequestParser {
+
+	private static final String EXPRESSION_PARAM = "expression=";
+	private static final String JS_SUFFIX = ".js";
+
+	private NexlRequestParser() {
+	}
+
+	public static NexlRequestKey fromHttpRequest(HttpServletRequest request) {
+		// The 'url' parameter is the primary case; the servlet container has already decoded it once
+		String urlParam = request.getParameter("url");
+		if (urlParam != null) {
+			return fromUrlParameter(urlParam);
+		}
+		return fromRequestPath(request.getRequestURI(), request.getQueryString());
+	}
+
+	/**
+	 * Splits {@code /path/doc.js?expression=...} into path and expression; without an expression the whole
+	 * value is the path (it may carry other query parameters, which nexl then receives untouched).
+	 */
+	public static NexlRequestKey fromUrlParameter(String urlParam) {
+		int expressionIndex = urlParam.indexOf(EXPRESSION_PARAM);
+		if (expressionIndex == -1) {
+			return NexlRequestKey.of(urlParam, "");
+		}
+		if (expressionIndex == 0) {
+			throw new IllegalArgumentException("No nexl path before expression in url parameter: " + urlParam);
+		}
+		// Drop the '?' (or '&') that precedes "expression="
+		String path = urlParam.substring(0, expressionIndex - 1);
+		return NexlRequestKey.of(path, parameterValue(urlParam, expressionIndex));
+	}
+
+	/** Parses the Spring Cloud Config URL pattern {@code /{application}/{profile}/{label}}. */
+	public static NexlRequestKey fromRequestPath(String requestURI, String queryString) {
+		int first = requestURI.indexOf('/');
+		int second = first < 0 ? -1 : requestURI.indexOf('/', first + 1);
+		int third = second < 0 ? -1 : requestURI.indexOf('/', second + 1);
+		if (third < 0 || !hasNonSlashAfter(requestURI, third)) {
+			throw new IllegalArgumentException("Invalid request URI format: " + requestURI);
+		}
+
+		String application = decode(requestURI, first + 1, second);
+		String profile = decode(requestURI, second + 1, third);
+
+		String path = pathFromApplicationProfile(application, profile, application.endsWith(JS_SUFFIX));
+
+		String expression = null;
+		if (queryString != null) {
+			expression = expressionIn(queryString, 0);
+		}
+		if (expression == null) {
+			expression = expressionIn(profile, 0);
+		}
+		return NexlRequestKey.of(path, expression);
+	}
+
+	/** Builds the key from the environment coordinates alone, for lookups without an HTTP request. */
+	public static NexlRequestKey fromParameters(String application, String profile) {
+		if (application.indexOf('/') >= 0 && application.endsWith(JS_SUFFIX)) {
+			// Direct path specified (e.g., "java-opts/docker-conf/mobile.js")
+			return NexlRequestKey.of("/" + application, expressionIn(profile, 0));
+		}
+		int query = profile.indexOf('?');
+		if (query >= 0) {
+			// Query parameters in profile (e.g., "js?expression=${all}")
+			String path = "/" + application + "/" + profile.substring(0, query);
+			return NexlRequestKey.of(path, expressionIn(profile, query + 1));
+		}
+		return NexlRequestKey.of("/" + application + "/" + profile + JS_SUFFIX, "");
+	}
+
+	private static String pathFromApplicationProfile(String application, String profile, boolean directScript) {
+		if (directScript) {
+			return "/" + application;
+		}
+		int query = profile.indexOf('?');
+		if (query >= 0) {
+			return "/" + application + "/" + profile.substring(0, query);
+		}
+		return "/" + application + "/" + profile + JS_SUFFIX;
+	}
+
+	/** Decoded value of the first {@code expression=} at or after {@code from}, or {@code null} if absent. */
+	private static String expressionIn(String source, int from) {
+		int index = source.indexOf(EXPRESSION_PARAM, from);
+		return index < 0 ? null : parameterValue(source, index);
+	}
+
+	private static String parameterValue(String source, int parameterIndex) {
+		int start = parameterIndex + EXPRESSION_PARAM.length();
+		int end = source.indexOf('&', start);
+		return decode(source, start, end < 0 ? source.length() : end);
+	}
+
+	private static boolean hasNonSlashAfter(String source, int index) {
+		for (int i = index + 1; i < source.length(); i++) {
+			if (source.charAt(i) != '/') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String decode(String source, int start, int end) {
+		for (int i = start; i < end; i++) {
+			char c = source.charAt(i);
+			if (c == '%' || c == '+') {
+				return URLDecoder.decode(source.substring(start, end), StandardCharsets.UTF_8);
+			}
+		}
+		return start == 0 && end == source.length() ? source : source.substring(start, end);
+	}
+}
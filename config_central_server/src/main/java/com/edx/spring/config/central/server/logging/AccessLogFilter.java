@@ -0,0 +1,148 @@
+package com.edx.spring.config.central.server.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes one structured (JSON) access record per request to the {@value #LOGGER_NAME} logger: method, URI,
+ * status, total duration, plus whatever the hot path added to {@link RequestTimings} (provider, cache outcome,
+ * nexl and git time). This replaces the per-step INFO lines, which are now DEBUG.
+ * <p>
+ * The same fields also make up the request's {@link PerformanceRecord}, handed to the {@link PerformanceLog}.
+ */
+@Slf4j
+public class AccessLogFilter extends OncePerRequestFilter {
+
+	public static final String LOGGER_NAME = "com.edx.spring.config.central.server.access";
+
+	private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+
+	private final ObjectMapper objectMapper;
+	private final boolean accessLogEnabled;
+	private final PerformanceLog performanceLog;
+
+	public AccessLogFilter(ObjectMapper objectMapper, boolean accessLogEnabled, PerformanceLog performanceLog) {
+		this.objectMapper = objectMapper;
+		this.accessLogEnabled = accessLogEnabled && accessLog.isInfoEnabled();
+		this.performanceLog = performanceLog != null && performanceLog.isEnabled() ? performanceLog : null;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String uri = request.getRequestURI();
+		return (!accessLogEnabled && performanceLog == null) || uri.startsWith("/css/") || uri.startsWith("/fonts/")
+				|| uri.startsWith("/js/") || uri.startsWith("/static/");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		long start = System.nanoTime();
+		RequestTimings timings = new RequestTimings();
+		request.setAttribute(RequestTimings.ATTRIBUTE, timings);
+		ByteCountingResponse countingResponse = new ByteCountingResponse(response);
+		try {
+			chain.doFilter(request, countingResponse);
+		} finally {
+			long durationNanos = System.nanoTime() - start;
+			timings.tag("bytesOut", countingResponse.bytesWritten());
+			if (performanceLog != null) {
+				performanceLog.record(PerformanceRecord.of(timings.fields(), durationNanos));
+			}
+			if (accessLogEnabled) {
+				Map<String, Object> record = new LinkedHashMap<>(16);
+				record.put("ts", Instant.now().toString());
+				record.put("method", request.getMethod());
+				record.put("uri", request.getRequestURI());
+				record.put("status", response.getStatus());
+				record.put("durationMs", RequestTimings.toMillis(durationNanos));
+				record.putAll(timings.fields());
+				try {
+					accessLog.info(objectMapper.writeValueAsString(record));
+				} catch (JsonProcessingException e) {
+					log.debug("Could not serialize access record: {}", e.getMessage());
+				}
+			}
+		}
+	}
+
+	/** Counts bytes written through the output stream; writer output is not counted. */
+	private static final class ByteCountingResponse extends HttpServletResponseWrapper {
+
+		private CountingOutputStream outputStream;
+
+		ByteCountingResponse(HttpServletResponse response) {
+			super(response);
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (outputStream == null) {
+				outputStream = new CountingOutputStream(super.getOutputStream());
+			}
+			return outputStream;
+		}
+
+		long bytesWritten() {
+			return outputStream != null ? outputStream.count : 0;
+		}
+	}
+
+	private static final class CountingOutputStream extends ServletOutputStream {
+
+		private final ServletOutputStream delegate;
+		private long count;
+
+		CountingOutputStream(ServletOutputStream delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			delegate.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			delegate.write(b, off, len);
+			count += len;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			delegate.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			delegate.close();
+		}
+
+		@Override
+		public boolean isReady() {
+			return delegate.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			delegate.setWriteListener(writeListener);
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.edx.spring.config.central.server.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes {@link PerformanceRecord}s to the {@code PerformanceLogger} appender (logs/performance).
+ * <p>
+ * Request threads only enqueue the record: the buffer is a lock-free queue bounded by a separate counter, and a
+ * record that finds it full is dropped and counted rather than making the request wait. A single writer thread
+ * drains the buffer, formats the lines and does the file I/O.
+ */
+@Component
+@Slf4j
+public class PerformanceLog {
+
+	public static final String LOGGER_NAME = "com.edx.spring.config.central.server.performance";
+
+	private static final Logger performanceLog = LoggerFactory.getLogger(LOGGER_NAME);
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+	@Value("${config.performance-log.enabled:true}")
+	private boolean enabled;
+
+	@Value("${config.performance-log.buffer-size:8192}")
+	private int bufferSize;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	private final ConcurrentLinkedQueue<PerformanceRecord> buffer = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger buffered = new AtomicInteger();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder written = new LongAdder();
+
+	private volatile boolean running;
+	private Thread writer;
+
+	@PostConstruct
+	void start() {
+		if (!isEnabled()) {
+			log.info("Performance log disabled");
+			return;
+		}
+		running = true;
+		writer = Thread.ofPlatform().name("performance-log-writer").daemon().start(this::drainLoop);
+		if (meterRegistry != null) {
+			Gauge.builder("config.performance-log.buffered", buffered, AtomicInteger::get)
+					.description("Performance records waiting to be written")
+					.register(meterRegistry);
+			FunctionCounter.builder("config.performance-log.dropped", dropped, LongAdder::sum)
+					.description("Performance records dropped because the buffer was full")
+					.register(meterRegistry);
+		}
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		running = false;
+		if (writer != null) {
+			LockSupport.unpark(writer);
+			writer.join(TimeUnit.SECONDS.toMillis(5));
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled && performanceLog.isInfoEnabled();
+	}
+
+	/** Enqueues the record for writing; never blocks. */
+	public void record(PerformanceRecord record) {
+		if (buffered.incrementAndGet() > bufferSize) {
+			buffered.decrementAndGet();
+			dropped.increment();
+			return;
+		}
+		buffer.offer(record);
+	}
+
+	public long droppedCount() {
+		return dropped.sum();
+	}
+
+	public long writtenCount() {
+		return written.sum();
+	}
+
+	private void drainLoop() {
+		while (running) {
+			if (drain() == 0) {
+				LockSupport.parkNanos(IDLE_PARK_NANOS);
+			}
+		}
+		drain();
+	}
+
+	private int drain() {
+		int count = 0;
+		PerformanceRecord record;
+		while ((record = buffer.poll()) != null) {
+			buffered.decrementAndGet();
+			try {
+				performanceLog.info(record.toLine());
+				count++;
+			} catch (RuntimeException e) {
+				log.debug("Failed to write performance record: {}", e.getMessage());
+			}
+		}
+		written.add(count);
+		return count;
+	}
+}
@@ -0,0 +1,197 @@
+package com.edx.spring.config.central.server.logging;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Offline percentiles over performance log files, grouped by any of app, profile, label, provider and cache.
+ * <p>
+ * Served by {@code GET /admin/api/performance}, and runnable from the command line against copied files:
+ * <pre>
+ * java -cp config-central-server.jar -Dloader.main=com.edx.spring.config.central.server.logging.PerformanceLogSummarizer \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher --group-by=app,provider logs/performance
+ * </pre>
+ * Directories are searched for {@code *.log} files, including archived ones.
+ */
+public final class PerformanceLogSummarizer {
+
+	public static final List<String> DEFAULT_GROUP_BY = List.of("app", "provider");
+
+	private static final Map<String, Function<PerformanceRecord, String>> GROUP_FIELDS = Map.of(
+			"app", PerformanceRecord::application,
+			"profile", PerformanceRecord::profile,
+			"label", PerformanceRecord::label,
+			"provider", PerformanceRecord::provider,
+			"cache", PerformanceRecord::cache);
+
+	private PerformanceLogSummarizer() {
+	}
+
+	public static void main(String[] args) {
+		List<String> groupBy = DEFAULT_GROUP_BY;
+		List<Path> paths = new ArrayList<>();
+		for (String arg : args) {
+			if (arg.startsWith("--group-by=")) {
+				groupBy = parseGroupBy(arg.substring("--group-by=".length()));
+			} else {
+				paths.add(Path.of(arg));
+			}
+		}
+		if (paths.isEmpty()) {
+			paths.add(Path.of("logs", "performance"));
+		}
+
+		List<Summary> summaries = summarize(paths, groupBy);
+		System.out.printf("%-40s %8s %9s %9s %9s %9s %9s %9s%n",
+				String.join("/", groupBy), "count", "p50 ms", "p90 ms", "p99 ms", "max ms", "nexl p50", "nexl p99");
+		for (Summary summary : summaries) {
+			System.out.printf("%-40s %8d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", summary.key(), summary.count(),
+					summary.total().p50(), summary.total().p90(), summary.total().p99(), summary.total().max(),
+					summary.nexl().p50(), summary.nexl().p99());
+		}
+	}
+
+	public static List<String> parseGroupBy(String value) {
+		List<String> groupBy = Arrays.stream(value.split(","))
+				.map(String::trim)
+				.filter(field -> !field.isEmpty())
+				.toList();
+		for (String field : groupBy) {
+			if (!GROUP_FIELDS.containsKey(field)) {
+				throw new IllegalArgumentException("Unknown group-by field: " + field + ", expected one of "
+						+ GROUP_FIELDS.keySet());
+			}
+		}
+		return groupBy.isEmpty() ? DEFAULT_GROUP_BY : groupBy;
+	}
+
+	public static List<Summary> summarize(List<Path> paths, List<String> groupBy) {
+		try (Stream<String> lines = paths.stream().flatMap(PerformanceLogSummarizer::logFiles).flatMap(PerformanceLogSummarizer::lines)) {
+			return summarize(lines, groupBy);
+		}
+	}
+
+	public static List<Summary> summarize(Stream<String> lines, List<String> groupBy) {
+		List<Function<PerformanceRecord, String>> keyFields = groupBy.stream().map(GROUP_FIELDS::get).toList();
+		Map<String, Samples> samplesByKey = new TreeMap<>();
+		lines.map(PerformanceRecord::parse)
+				.filter(record -> record != null)
+				.forEach(record -> samplesByKey.computeIfAbsent(key(record, keyFields), k -> new Samples()).add(record));
+
+		List<Summary> summaries = new ArrayList<>(samplesByKey.size());
+		samplesByKey.forEach((key, samples) -> summaries.add(samples.summarize(key)));
+		summaries.sort(Comparator.comparingLong(Summary::count).reversed());
+		return summaries;
+	}
+
+	private static String key(PerformanceRecord record, List<Function<PerformanceRecord, String>> keyFields) {
+		StringBuilder key = new StringBuilder();
+		for (Function<PerformanceRecord, String> field : keyFields) {
+			if (!key.isEmpty()) {
+				key.append('/');
+			}
+			String value = field.apply(record);
+			key.append(value != null ? value : "-");
+		}
+		return key.toString();
+	}
+
+	private static Stream<Path> logFiles(Path path) {
+		if (!Files.isDirectory(path)) {
+			return Stream.of(path);
+		}
+		try (Stream<Path> files = Files.walk(path)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(".log")).sorted().toList().stream();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Stream<String> lines(Path file) {
+		try {
+			return Files.lines(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/** Percentiles in milliseconds; all zero when no request had the segment. */
+	public record Percentiles(long samples, double p50, double p90, double p99, double max) {
+	}
+
+	public record Summary(String key, long count, Percentiles total, Percentiles nexl, Percentiles parse,
+	                      Percentiles write, double meanBytesOut) {
+	}
+
+	private static final class Samples {
+
+		private final LongSeries total = new LongSeries();
+		private final LongSeries nexl = new LongSeries();
+		private final LongSeries parse = new LongSeries();
+		private final LongSeries write = new LongSeries();
+		private long bytesOutSum;
+		private long bytesOutCount;
+
+		void add(PerformanceRecord record) {
+			total.add(record.totalMicros());
+			nexl.add(record.nexlMicros());
+			parse.add(record.parseMicros());
+			write.add(record.writeMicros());
+			if (record.bytesOut() >= 0) {
+				bytesOutSum += record.bytesOut();
+				bytesOutCount++;
+			}
+		}
+
+		Summary summarize(String key) {
+			return new Summary(key, total.size, total.percentiles(), nexl.percentiles(), parse.percentiles(),
+					write.percentiles(), bytesOutCount == 0 ? 0 : (double) bytesOutSum / bytesOutCount);
+		}
+	}
+
+	/** Growable array of non-negative microsecond samples. */
+	private static final class LongSeries {
+
+		private long[] values = new long[64];
+		private int size;
+
+		void add(long micros) {
+			if (micros < 0) {
+				return;
+			}
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = micros;
+		}
+
+		Percentiles percentiles() {
+			if (size == 0) {
+				return new Percentiles(0, 0, 0, 0, 0);
+			}
+			long[] sorted = Arrays.copyOf(values, size);
+			Arrays.sort(sorted);
+			return new Percentiles(size, millis(nearestRank(sorted, 0.50)), millis(nearestRank(sorted, 0.90)),
+					millis(nearestRank(sorted, 0.99)), millis(sorted[size - 1]));
+		}
+
+		private static long nearestRank(long[] sorted, double quantile) {
+			int rank = (int) Math.ceil(quantile * sorted.length);
+			return sorted[Math.max(0, rank - 1)];
+		}
+
+		private static double millis(long micros) {
+			return micros / 1000.0;
+		}
+	}
+}
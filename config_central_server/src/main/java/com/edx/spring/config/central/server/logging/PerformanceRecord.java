@@ -0,0 +1,96 @@
+package com.edx.spring.config.central.server.logging;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One request in the performance log. Durations are in microseconds; -1 means the segment did not run (for
+ * example no nexl call on a cache hit).
+ * <p>
+ * Line format, after the {@value #MARKER} marker that follows the logback prefix:
+ * <pre>
+ * app|profile|label|provider|cache|nexlUs|parseUs|writeUs|bytesOut|totalUs
+ * </pre>
+ * Missing text fields are written as {@code -}; a {@code |} inside a field is replaced by {@code _}.
+ */
+public record PerformanceRecord(String application, String profile, String label, String provider, String cache,
+                                long nexlMicros, long parseMicros, long writeMicros, long bytesOut,
+                                long totalMicros) {
+
+	public static final String MARKER = "P1|";
+
+	static final int FIELD_COUNT = 10;
+
+	/**
+	 * Builds the record from the {@link RequestTimings} fields of a request. Durations there are milliseconds
+	 * with two decimals, so segment times are exact to 10 microseconds. A git request has no provider tag; its
+	 * provider is {@code git}.
+	 */
+	static PerformanceRecord of(Map<String, Object> fields, long totalNanos) {
+		String provider = text(fields, "provider");
+		if (provider == null && fields.containsKey("gitMs")) {
+			provider = "git";
+		}
+		Object bytesOut = fields.get("bytesOut");
+		return new PerformanceRecord(text(fields, "application"), text(fields, "profile"), text(fields, "label"),
+				provider, text(fields, "cache"), micros(fields, "nexlMs"), micros(fields, "parseMs"),
+				micros(fields, "writeMs"), bytesOut instanceof Number number ? number.longValue() : -1,
+				TimeUnit.NANOSECONDS.toMicros(totalNanos));
+	}
+
+	public String toLine() {
+		StringBuilder line = new StringBuilder(MARKER.length() + 96).append(MARKER);
+		appendText(line, application);
+		appendText(line, profile);
+		appendText(line, label);
+		appendText(line, provider);
+		appendText(line, cache);
+		line.append(nexlMicros).append('|')
+				.append(parseMicros).append('|')
+				.append(writeMicros).append('|')
+				.append(bytesOut).append('|')
+				.append(totalMicros);
+		return line.toString();
+	}
+
+	/** Parses the record from a performance log line, or returns {@code null} if the line holds none. */
+	public static PerformanceRecord parse(String line) {
+		int start = line.indexOf(MARKER);
+		if (start < 0) {
+			return null;
+		}
+		String[] fields = line.substring(start + MARKER.length()).trim().split("\\|", -1);
+		if (fields.length != FIELD_COUNT) {
+			return null;
+		}
+		try {
+			return new PerformanceRecord(text(fields[0]), text(fields[1]), text(fields[2]), text(fields[3]),
+					text(fields[4]), Long.parseLong(fields[5]), Long.parseLong(fields[6]), Long.parseLong(fields[7]),
+					Long.parseLong(fields[8]), Long.parseLong(fields[9]));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static void appendText(StringBuilder line, String value) {
+		if (value == null || value.isEmpty()) {
+			line.append('-');
+		} else {
+			line.append(value.indexOf('|') >= 0 ? value.replace('|', '_') : value);
+		}
+		line.append('|');
+	}
+
+	private static String text(Map<String, Object> fields, String name) {
+		Object value = fields.get(name);
+		return value != null ? value.toString() : null;
+	}
+
+	private static long micros(Map<String, Object> fields, String name) {
+		return fields.get(name) instanceof Number millis ? Math.round(millis.doubleValue() * 1000) : -1;
+	}
+
+	private static String text(String field) {
+		return "-".equals(field) ? null : field;
+	}
+}
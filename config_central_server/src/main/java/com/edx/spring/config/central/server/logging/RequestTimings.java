@@ -0,0 +1,54 @@
+package com.edx.spring.config.central.server.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request timing and outcome fields collected along the config hot path and written out as a single access
+ * record by {@link AccessLogFilter}, which also builds the {@link PerformanceRecord} from them. Only present
+ * while the access or performance log is enabled; callers get {@code null} otherwise and skip recording.
+ */
+public final class RequestTimings {
+
+	static final String ATTRIBUTE = RequestTimings.class.getName();
+
+	private final Map<String, Object> fields = new LinkedHashMap<>(8);
+
+	RequestTimings() {
+	}
+
+	public static RequestTimings of(HttpServletRequest request) {
+		return request != null ? (RequestTimings) request.getAttribute(ATTRIBUTE) : null;
+	}
+
+	/** Timings of the request bound to the current thread, if any. */
+	public static RequestTimings current() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		return attributes != null
+				? (RequestTimings) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+				: null;
+	}
+
+	/** Records the time spent since {@code startNanos} as {@code <name>Ms}. */
+	public void recordSince(String name, long startNanos) {
+		fields.put(name + "Ms", toMillis(System.nanoTime() - startNanos));
+	}
+
+	public void tag(String name, Object value) {
+		fields.put(name, value);
+	}
+
+	Map<String, Object> fields() {
+		return fields;
+	}
+
+	static double toMillis(long nanos) {
+		// Two decimals is plenty for an access log and keeps the records short
+		return Math.round(nanos / (double) TimeUnit.MICROSECONDS.toNanos(10)) / 100.0;
+	}
+}
@@ -0,0 +1,49 @@
+package com.edx.spring.config.central.server.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lets through roughly one in {@code oneIn} DEBUG events from loggers under {@code loggerPrefix} and denies the
+ * rest before the message is formatted, so DEBUG can stay on in production without paying for every event.
+ * <p>
+ * Sampling is random rather than counter based to avoid a shared counter on the hot path. Note that an
+ * {@code isDebugEnabled()} guard is sampled too, independently of the call it guards.
+ * Configured from logback-spring.xml:
+ * <pre>
+ * &lt;turboFilter class="...SampledDebugTurboFilter"&gt;
+ *     &lt;loggerPrefix&gt;com.edx.spring.config.central.server&lt;/loggerPrefix&gt;
+ *     &lt;oneIn&gt;100&lt;/oneIn&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ * {@code oneIn} of 1 keeps every event, 0 drops all of them.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+	private String loggerPrefix = "com.edx.spring.config.central.server";
+	private int oneIn = 100;
+
+	@Override
+	public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+		if (level != Level.DEBUG || !logger.getName().startsWith(loggerPrefix)) {
+			return FilterReply.NEUTRAL;
+		}
+		if (oneIn <= 0) {
+			return FilterReply.DENY;
+		}
+		return oneIn == 1 || ThreadLocalRandom.current().nextInt(oneIn) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+	}
+
+	public void setLoggerPrefix(String loggerPrefix) {
+		this.loggerPrefix = loggerPrefix;
+	}
+
+	public void setOneIn(int oneIn) {
+		this.oneIn = oneIn;
+	}
+}
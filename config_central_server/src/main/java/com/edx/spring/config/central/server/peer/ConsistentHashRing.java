@@ -0,0 +1,68 @@
+package com.edx.spring.config.central.server.peer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable consistent-hash ring. Each member is placed at {@code virtualNodes} points so keys spread evenly
+ * and adding or removing a member only moves that member's share of the keyspace.
+ */
+public final class ConsistentHashRing {
+
+	private final long[] points;
+	private final String[] owners;
+	private final List<String> members;
+
+	public ConsistentHashRing(List<String> members, int virtualNodes) {
+		if (members.isEmpty() || virtualNodes < 1) {
+			throw new IllegalArgumentException("A ring needs at least one member and one virtual node");
+		}
+		this.members = List.copyOf(members);
+		int size = members.size() * virtualNodes;
+		long[] unsortedPoints = new long[size];
+		Integer[] order = new Integer[size];
+		for (int m = 0; m < members.size(); m++) {
+			for (int v = 0; v < virtualNodes; v++) {
+				int index = m * virtualNodes + v;
+				unsortedPoints[index] = hash(members.get(m) + '#' + v);
+				order[index] = index;
+			}
+		}
+		Arrays.sort(order, (a, b) -> Long.compare(unsortedPoints[a], unsortedPoints[b]));
+		this.points = new long[size];
+		this.owners = new String[size];
+		for (int i = 0; i < size; i++) {
+			points[i] = unsortedPoints[order[i]];
+			owners[i] = members.get(order[i] / virtualNodes);
+		}
+	}
+
+	public List<String> members() {
+		return members;
+	}
+
+	/** The member owning {@code key}: the first point at or after the key's hash, wrapping around. */
+	public String owner(String key) {
+		int index = Arrays.binarySearch(points, hash(key));
+		if (index < 0) {
+			index = -index - 1;
+		}
+		return owners[index == points.length ? 0 : index];
+	}
+
+	/** FNV-1a over the UTF-8 bytes, finished with the murmur3 mix so nearby keys land far apart. */
+	static long hash(String key) {
+		long h = 0xcbf29ce484222325L;
+		for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+			h ^= b;
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
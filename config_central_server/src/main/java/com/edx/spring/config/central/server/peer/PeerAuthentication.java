@@ -0,0 +1,71 @@
+package com.edx.spring.config.central.server.peer;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides whether a request to {@link PeerRouter#OWNER_PATH} comes from another replica. With
+ * {@code config.peers.secret} set, the request must carry that secret in the {@value #HEADER} header;
+ * without one, its remote address must be one the hosts of {@code config.peers.members} resolved to at
+ * startup. Set the secret wherever replica addresses change at runtime or requests pass through a proxy.
+ * <p>
+ * Only an authenticated lookup skips the rate and concurrency limits and runs in the peer bulkhead; any other
+ * request for the path is limited like a nexl request and then refused.
+ */
+@Slf4j
+public class PeerAuthentication {
+
+	public static final String HEADER = "X-Peer-Secret";
+
+	private static final String AUTHENTICATED = PeerAuthentication.class.getName() + ".AUTHENTICATED";
+
+	private final byte[] secret;
+	private final Set<String> memberAddresses = new HashSet<>();
+
+	/**
+	 * @param secret the shared secret, or blank to accept the members' addresses instead
+	 */
+	public PeerAuthentication(List<String> members, String secret) {
+		this.secret = secret == null || secret.isBlank() ? null : secret.getBytes(StandardCharsets.UTF_8);
+		if (this.secret != null) {
+			log.info("Peer lookups are authenticated by the {} header", HEADER);
+			return;
+		}
+		for (String member : members) {
+			String host = URI.create(member.trim()).getHost();
+			try {
+				Arrays.stream(InetAddress.getAllByName(host)).map(InetAddress::getHostAddress).forEach(memberAddresses::add);
+			} catch (UnknownHostException e) {
+				log.warn("Cannot resolve peer {}, its lookups will be refused: {}", member, e.getMessage());
+			}
+		}
+		log.info("Peer lookups are accepted from the member addresses {}", memberAddresses);
+	}
+
+	public boolean authenticate(HttpServletRequest request) {
+		if (secret != null) {
+			String presented = request.getHeader(HEADER);
+			return presented != null && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+		}
+		return memberAddresses.contains(request.getRemoteAddr());
+	}
+
+	/** Whether {@link PeerAuthenticationFilter} authenticated {@code request} as a lookup from another replica. */
+	public static boolean isAuthenticated(HttpServletRequest request) {
+		return Boolean.TRUE.equals(request.getAttribute(AUTHENTICATED));
+	}
+
+	static void markAuthenticated(HttpServletRequest request) {
+		request.setAttribute(AUTHENTICATED, Boolean.TRUE);
+	}
+}
@@ -0,0 +1,41 @@
+package com.edx.spring.config.central.server.peer;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Marks lookups on {@link PeerRouter#OWNER_PATH} that {@link PeerAuthentication} accepts, ahead of the
+ * limiting filters. It rejects nothing itself: unmarked requests are limited as nexl requests and then refused
+ * by the controller.
+ */
+@Slf4j
+public class PeerAuthenticationFilter extends OncePerRequestFilter {
+
+	private final PeerAuthentication authentication;
+
+	public PeerAuthenticationFilter(PeerAuthentication authentication) {
+		this.authentication = authentication;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !request.getRequestURI().startsWith(PeerRouter.OWNER_PATH);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		if (authentication.authenticate(request)) {
+			PeerAuthentication.markAuthenticated(request);
+		} else {
+			log.debug("Peer lookup from {} is not authenticated", request.getRemoteAddr());
+		}
+		chain.doFilter(request, response);
+	}
+}
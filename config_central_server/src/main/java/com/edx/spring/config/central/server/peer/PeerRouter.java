@@ -0,0 +1,174 @@
+package com.edx.spring.config.central.server.peer;
+
+import com.edx.spring.config.central.server.loader.NexlRequestKey;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Peer mode: replicas form a consistent-hash ring over the nexl request key, and each key is resolved and
+ * cached only by its owner. A non-owner fetches the result from the owner's cache over HTTP instead of
+ * calling nexl itself, so every nexl result is cached once in the cluster and the effective cache capacity
+ * grows with the number of replicas.
+ * <p>
+ * If the owner cannot be reached, or sheds the lookup with {@code 503}/{@code 429} because its own limits are
+ * full, the caller resolves locally and the owner is skipped for {@code config.peers.retry-after}. An owner
+ * that reached nexl and failed is reported as a failure, not retried locally, so a nexl outage is not
+ * amplified.
+ * <p>
+ * Lookups carry {@code config.peers.secret}, if set, for {@link PeerAuthentication} on the owner. An owner that
+ * refuses them with {@code 403} (a different secret, or an address it does not know) is treated as
+ * unreachable, so a misconfigured replica is logged and bypassed rather than failing requests.
+ */
+@Component
+@ConditionalOnProperty(name = "config.peers.enabled", havingValue = "true")
+@Slf4j
+public class PeerRouter {
+
+	public static final String OWNER_PATH = "/internal/peer/nexl";
+
+	private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+	};
+
+	@Value("${config.peers.self}")
+	private String self;
+
+	@Value("${config.peers.members}")
+	private List<String> members;
+
+	@Value("${config.peers.virtual-nodes:128}")
+	private int virtualNodes;
+
+	@Value("${config.peers.timeout:2s}")
+	private Duration timeout;
+
+	@Value("${config.peers.retry-after:5s}")
+	private Duration retryAfter;
+
+	@Value("${config.peers.secret:}")
+	private String secret;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Map<String, Long> unreachableUntil = new ConcurrentHashMap<>();
+	private ConsistentHashRing ring;
+	private HttpClient httpClient;
+	private Counter forwarded;
+	private Counter unreachable;
+
+	@PostConstruct
+	void init() {
+		self = trimSlash(self);
+		List<String> normalized = members.stream().map(PeerRouter::trimSlash).distinct().toList();
+		if (!normalized.contains(self)) {
+			throw new IllegalStateException("config.peers.self " + self + " is not in config.peers.members " + normalized);
+		}
+		ring = new ConsistentHashRing(normalized, virtualNodes);
+		httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+		if (meterRegistry != null) {
+			forwarded = Counter.builder("config.peers.requests").tag("outcome", "forwarded").register(meterRegistry);
+			unreachable = Counter.builder("config.peers.requests").tag("outcome", "unreachable").register(meterRegistry);
+		}
+		log.info("Peer mode: {} owns 1/{} of the nexl keyspace", self, normalized.size());
+	}
+
+	public ConsistentHashRing getRing() {
+		return ring;
+	}
+
+	/**
+	 * Fetches {@code key} from its owner. Returns {@code null} if this replica owns the key or the owner is
+	 * unreachable or saturated, in which case the caller resolves locally.
+	 *
+	 * @throws IllegalStateException if the owner failed to resolve the key
+	 */
+	public Map<String, Object> fetchFromOwner(NexlRequestKey key) {
+		String owner = ring.owner(key.cacheKey());
+		if (owner.equals(self)) {
+			return null;
+		}
+		Long until = unreachableUntil.get(owner);
+		if (until != null) {
+			if (until - System.nanoTime() > 0) {
+				return null;
+			}
+			unreachableUntil.remove(owner, until);
+		}
+
+		URI uri = URI.create(owner + OWNER_PATH + "?path=" + URLEncoder.encode(key.path(), StandardCharsets.UTF_8)
+				+ "&expression=" + URLEncoder.encode(key.expression(), StandardCharsets.UTF_8));
+		HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(timeout).GET();
+		if (!secret.isBlank()) {
+			request.header(PeerAuthentication.HEADER, secret);
+		}
+		HttpResponse<InputStream> response;
+		try {
+			response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+		} catch (IOException e) {
+			markUnreachable(owner, e);
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+
+		try (InputStream body = response.body()) {
+			if (response.statusCode() == 503 || response.statusCode() == 429) {
+				// Shed by the owner's bulkhead or limits before it reached nexl
+				markUnreachable(owner, new IOException("HTTP " + response.statusCode()));
+				return null;
+			}
+			if (response.statusCode() == 403) {
+				markUnreachable(owner, new IOException("HTTP 403, not accepted as a peer (check config.peers.secret)"));
+				return null;
+			}
+			if (response.statusCode() != 200) {
+				throw new IllegalStateException("Peer " + owner + " failed to resolve " + key.path()
+						+ ": HTTP " + response.statusCode());
+			}
+			Map<String, Object> properties = objectMapper.readValue(body, MAP_TYPE);
+			if (forwarded != null) {
+				forwarded.increment();
+			}
+			return properties;
+		} catch (IOException e) {
+			markUnreachable(owner, e);
+			return null;
+		}
+	}
+
+	private void markUnreachable(String owner, Exception e) {
+		log.warn("Peer {} unreachable, resolving locally for {}: {}", owner, retryAfter, e.toString());
+		unreachableUntil.put(owner, System.nanoTime() + retryAfter.toNanos());
+		if (unreachable != null) {
+			unreachable.increment();
+		}
+	}
+
+	private static String trimSlash(String url) {
+		String trimmed = url.trim();
+		return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+	}
+}
@@ -0,0 +1,103 @@
+package com.edx.spring.config.central.server.rest;
+
+import com.edx.spring.config.central.server.loader.NexlConfigResourceProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Resolves many nexl (path, expression) pairs in one HTTP exchange.
+ * <p>
+ * Each entry goes through {@link NexlConfigResourceProvider#resolve(String, String)}, so entries share the
+ * provider's cache and duplicate entries within or across batches collapse into one nexl call. Entries are
+ * resolved concurrently on virtual threads; a failing entry is reported in place and does not fail the batch.
+ * While the nexl provider is disabled or switched off the whole batch is rejected with 503.
+ */
+@RestController
+@RequestMapping("/nexl/batch")
+@RequiredArgsConstructor
+@Slf4j
+public class NexlBatchController {
+
+	private final NexlConfigResourceProvider nexlProvider;
+
+	@Value("${config.providers.nexl.batch.max-size:50}")
+	private int maxBatchSize = 50;
+
+	@PostMapping
+	public BatchResponse resolve(@RequestBody List<BatchEntry> entries) throws InterruptedException {
+		if (!nexlProvider.isAvailable()) {
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Nexl provider is disabled");
+		}
+		if (entries == null || entries.isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must contain at least one entry");
+		}
+		if (entries.size() > maxBatchSize) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Batch of " + entries.size() + " entries exceeds the limit of " + maxBatchSize);
+		}
+		log.debug("Resolving nexl batch of {} entries", entries.size());
+
+		List<Future<BatchResult>> futures = new ArrayList<>(entries.size());
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (BatchEntry entry : entries) {
+				futures.add(executor.submit(() -> resolveEntry(entry)));
+			}
+		}
+
+		List<BatchResult> results = new ArrayList<>(futures.size());
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				results.add(futures.get(i).get());
+			} catch (ExecutionException e) {
+				results.add(BatchResult.failure(entries.get(i), e.getCause().getMessage()));
+			}
+		}
+		return new BatchResponse(results);
+	}
+
+	private BatchResult resolveEntry(BatchEntry entry) {
+		if (entry.path() == null || entry.path().isBlank()) {
+			return BatchResult.failure(entry, "path is required");
+		}
+		String expression = entry.expression() != null ? entry.expression() : "";
+		try {
+			return BatchResult.success(entry, nexlProvider.resolve(entry.path(), expression));
+		} catch (RuntimeException e) {
+			log.warn("Batch entry {} ({}) failed: {}", entry.path(), expression, e.getMessage());
+			return BatchResult.failure(entry, e.getMessage());
+		}
+	}
+
+	public record BatchEntry(String path, String expression) {
+	}
+
+	public record BatchResult(String path, String expression, boolean success, Map<String, Object> properties,
+	                          String error) {
+
+		static BatchResult success(BatchEntry entry, Map<String, Object> properties) {
+			return new BatchResult(entry.path(), entry.expression(), true, properties, null);
+		}
+
+		static BatchResult failure(BatchEntry entry, String error) {
+			return new BatchResult(entry.path(), entry.expression(), false, null, error);
+		}
+	}
+
+	public record BatchResponse(List<BatchResult> results) {
+	}
+}
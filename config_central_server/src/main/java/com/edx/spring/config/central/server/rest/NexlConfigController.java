@@ -0,0 +1,71 @@
+package com.edx.spring.config.central.server.rest;
+
+import com.edx.spring.config.central.server.logging.RequestTimings;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Serves {@code /{application}/{profile}/nexl} (and {@code nexl-primary}) as the raw nexl property map.
+ * <p>
+ * These literal-label mappings take precedence over the config server's {@code /{name}/{profiles}/{label}}. The
+ * environment comes from the primary (label routing) repository, so these labels get the same nexl to git
+ * fallback as any other nexl request, and its first property source is serialized directly onto the response
+ * stream. When neither returns anything, the empty {@link Environment} is written instead, as the config server
+ * would have.
+ */
+@RestController
+@Profile("operation")
+@Slf4j
+public class NexlConfigController {
+
+	private final EnvironmentRepository environmentRepository;
+	private final ObjectWriter writer;
+
+	public NexlConfigController(EnvironmentRepository environmentRepository, ObjectMapper objectMapper) {
+		this.environmentRepository = environmentRepository;
+		// The servlet container owns the response stream
+		this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	@GetMapping("/{application}/{profile}/nexl")
+	public void nexl(@PathVariable String application, @PathVariable String profile,
+	                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+		write(application, profile, "nexl", request, response);
+	}
+
+	@GetMapping("/{application}/{profile}/nexl-primary")
+	public void nexlPrimary(@PathVariable String application, @PathVariable String profile,
+	                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+		write(application, profile, "nexl-primary", request, response);
+	}
+
+	private void write(String application, String profile, String label, HttpServletRequest request,
+	                   HttpServletResponse response) throws IOException {
+		Environment environment = environmentRepository.findOne(Environment.normalize(application), profile, label);
+
+		Object body = environment.getPropertySources().isEmpty()
+				? environment
+				: environment.getPropertySources().get(0).getSource();
+
+		long start = System.nanoTime();
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		writer.writeValue(response.getOutputStream(), body);
+		RequestTimings timings = RequestTimings.of(request);
+		if (timings != null) {
+			timings.recordSince("write", start);
+		}
+	}
+}
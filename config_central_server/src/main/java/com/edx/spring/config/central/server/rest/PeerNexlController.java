@@ -0,0 +1,49 @@
+package com.edx.spring.config.central.server.rest;
+
+import com.edx.spring.config.central.server.loader.NexlConfigResourceProvider;
+import com.edx.spring.config.central.server.peer.PeerAuthentication;
+import com.edx.spring.config.central.server.peer.PeerRouter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+/**
+ * Serves nexl keys this replica owns to the other replicas in peer mode, from this replica's cache. Never
+ * forwards again, so a request is at most one hop from its owner even while replicas disagree on the ring.
+ * <p>
+ * Requests that {@link PeerAuthentication} did not accept get {@code 403}. While the nexl provider is disabled
+ * or switched off, lookups get {@code 503} and the caller resolves locally, under its own provider state.
+ */
+@RestController
+@ConditionalOnProperty(name = "config.peers.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class PeerNexlController {
+
+	private final NexlConfigResourceProvider nexlProvider;
+
+	@GetMapping(PeerRouter.OWNER_PATH)
+	public Map<String, Object> resolve(@RequestParam String path, @RequestParam(defaultValue = "") String expression,
+	                                   HttpServletRequest request) {
+		if (!PeerAuthentication.isAuthenticated(request)) {
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not a peer of this replica");
+		}
+		if (!nexlProvider.isAvailable()) {
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Nexl provider is disabled");
+		}
+		try {
+			return nexlProvider.resolveLocally(path, expression);
+		} catch (IllegalStateException e) {
+			log.debug("Failed to resolve {} for a peer: {}", path, e.getMessage());
+			throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, e.getMessage());
+		}
+	}
+}
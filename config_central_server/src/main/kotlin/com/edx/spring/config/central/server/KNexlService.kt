@@ -1,5 +1,11 @@
 package com.edx.spring.config.central.server
 
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.slf4j.LoggerFactory
 import org.springframework.stereotype.Component
 import java.net.ProxySelector
 import java.net.URI
@@ -8,20 +14,39 @@ import java.net.http.HttpClient
 import java.net.http.HttpRequest
 import java.net.http.HttpResponse
 import java.nio.charset.StandardCharsets
-import java.time.Duration
+import java.security.MessageDigest
+import java.util.HexFormat
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
 
+// No default for properties: Kotlin would then generate a no-arg constructor, which AOT picks over this one
 @Component
-class KNexlService(private val httpClient: HttpClient = createDefaultHttpClient()) {
+class KNexlService(
+	private val properties: NexlClientProperties,
+	private val meterRegistry: MeterRegistry = SimpleMeterRegistry(),
+	private val httpClient: HttpClient = createDefaultHttpClient(properties)
+) {
 
 	companion object {
-		private fun createDefaultHttpClient(): HttpClient {
+		private val log = LoggerFactory.getLogger(KNexlService::class.java)
+
+		private fun createDefaultHttpClient(properties: NexlClientProperties): HttpClient {
+			applyConnectionPoolSettings(properties.pool)
+
+			val directHosts = properties.resolvedEndpoints().mapNotNull { URI.create(it).host }.toSet() + setOf("nexl", "localhost")
+
 			// Create a custom ProxySelector that bypasses proxy for nexl
 			val proxySelector = object : ProxySelector() {
 				private val defaultSelector = ProxySelector.getDefault()
 
 				override fun select(uri: URI?): List<java.net.Proxy> {
-					return if (uri != null && (uri.host == "nexl" || uri.host == "localhost")) {
-						// Return NO_PROXY for nexl and localhost
+					return if (uri != null && uri.host in directHosts) {
+						// Return NO_PROXY for the nexl endpoints and localhost
 						listOf(java.net.Proxy.NO_PROXY)
 					} else {
 						// Use default proxy for everything else
@@ -34,15 +59,75 @@ class KNexlService(private val httpClient: HttpClient = createDefaultHttpClient(
 				}
 			}
 
+			val version = when (properties.transport.mode) {
+				NexlClientProperties.TransportMode.HTTP_2 -> HttpClient.Version.HTTP_2
+				NexlClientProperties.TransportMode.HTTP_1_1 -> HttpClient.Version.HTTP_1_1
+			}
+
 			return HttpClient.newBuilder()
-				.connectTimeout(Duration.ofSeconds(10))
+				.connectTimeout(properties.transport.connectTimeout)
 				.followRedirects(HttpClient.Redirect.NORMAL)
-				.version(HttpClient.Version.HTTP_1_1)
+				.version(version)
 				.proxy(proxySelector)
 				.build()
 		}
+
+		/**
+		 * The JDK client keeps one internal connection pool per [HttpClient] and reads its sizing from
+		 * system properties when the pool class is first loaded, so explicit JVM flags always win.
+		 */
+		private fun applyConnectionPoolSettings(pool: NexlClientProperties.Pool) {
+			setIfAbsent("jdk.httpclient.keepalive.timeout", pool.keepAlive.toSeconds().toString())
+			setIfAbsent("jdk.httpclient.keepalive.timeout.h2", pool.keepAlive.toSeconds().toString())
+			setIfAbsent("jdk.httpclient.connectionPoolSize", pool.maxConnections.toString())
+		}
+
+		private fun setIfAbsent(key: String, value: String) {
+			if (System.getProperty(key) == null) {
+				System.setProperty(key, value)
+			}
+		}
 	}
 
+	private val balancer = NexlEndpointBalancer(
+		properties.resolvedEndpoints(), properties.loadBalancing, properties.transport.requestTimeout, meterRegistry)
+
+	private val hedging = NexlHedgingPolicy(properties.hedging)
+
+	private val localEvaluator = if (properties.localEvaluation.enabled)
+		NexlLocalEvaluator(properties.localEvaluation, ::callRemote, meterRegistry) else null
+
+	private val bodyHandler = NexlResponseBodyHandler(meterRegistry)
+
+	private val connectionSlots = Semaphore(properties.pool.maxConnections, true)
+
+	private val acquireTimer: Timer = Timer.builder("nexl.client.pool.acquire")
+		.description("Time spent waiting for a free nexl connection slot")
+		.register(meterRegistry)
+
+	private val rejectedCounter: Counter = Counter.builder("nexl.client.pool.rejected")
+		.description("Requests rejected because the nexl connection pool stayed exhausted")
+		.register(meterRegistry)
+
+	init {
+		Gauge.builder("nexl.client.pool.max") { properties.pool.maxConnections }
+			.description("Configured nexl connection slots")
+			.register(meterRegistry)
+		Gauge.builder("nexl.client.pool.in-use", connectionSlots) { (properties.pool.maxConnections - it.availablePermits()).toDouble() }
+			.description("Nexl connection slots currently in use")
+			.register(meterRegistry)
+		Gauge.builder("nexl.client.pool.pending", connectionSlots) { it.queueLength.toDouble() }
+			.description("Callers waiting for a nexl connection slot")
+			.register(meterRegistry)
+	}
+
+	/**
+	 * Forgets the source documents kept for local evaluation, for [path] or, if `null`, all of them; called
+	 * whenever cached nexl results are invalidated.
+	 */
+	fun invalidateLocalDocuments(path: String?) {
+		if (path == null) localEvaluator?.invalidateAll() else localEvaluator?.invalidate(path)
+	}
 
 	fun callNexlServerForJava(path: String, expression: String): NexlResult {
 		return try {
@@ -58,56 +143,228 @@ class KNexlService(private val httpClient: HttpClient = createDefaultHttpClient(
 	}
 
 	fun callNexlServer(path: String, expression: String): Result<String> {
+		localEvaluator?.evaluate(path, expression)?.let { return Result.success(it) }
+		return callRemote(path, expression)
+	}
+
+	private fun callRemote(path: String, expression: String): Result<String> {
 		return try {
-			val baseUrl = "http://nexl:8181"
-			// Clean the path - remove leading slash if present since we'll add it
-			val cleanPath = if (path.startsWith("/")) path else "/$path"
-
-			// Build URL with or without expression parameter
-			val fullUrl = if (expression.isNotEmpty()) {
-				val encodedExpression = URLEncoder.encode(expression, StandardCharsets.UTF_8)
-				"$baseUrl$cleanPath?expression=$encodedExpression"
-			} else {
-				// If no expression, just use the path as-is (it might already contain query parameters)
-				"$baseUrl$cleanPath"
+			val response = send(path, expression, null)
+
+			when (response.statusCode()) {
+				200 -> Result.success(response.body())
+				else -> Result.failure(httpError(response))
 			}
+		} catch (e: Exception) {
+			Result.failure(unwrap(path, e))
+		}
+	}
 
-			println("Target URL: $fullUrl")
+	/**
+	 * Evaluates an expression whose previous result is known by its [previous] validators: nexl is sent
+	 * `If-None-Match` / `If-Modified-Since`, and a 304, or a 200 whose body hashes like the previous one, comes
+	 * back as [NexlResult.unchanged] with no body, so the caller can keep what it parsed last time.
+	 */
+	fun callNexlServerConditional(path: String, expression: String, previous: Validators?): NexlResult {
+		localEvaluator?.evaluate(path, expression)?.let { return compare(it, Validators(null, null, contentHash(it)), previous) }
+		return try {
+			val response = send(path, expression, previous)
+			when (response.statusCode()) {
+				200 -> {
+					val body = response.body()
+					val headers = response.headers()
+					compare(body, Validators(headers.firstValue("ETag").orElse(null),
+						headers.firstValue("Last-Modified").orElse(null), contentHash(body)), previous)
+				}
+				304 -> if (previous != null) {
+					revalidationCounter("not-modified").increment()
+					NexlResult.unchanged(previous)
+				} else {
+					NexlResult.failure(httpError(response))
+				}
+				else -> NexlResult.failure(httpError(response))
+			}
+		} catch (e: Exception) {
+			NexlResult.failure(unwrap(path, e))
+		}
+	}
 
-			// Check proxy settings
-			val uri = URI.create(fullUrl)
-			val proxies = ProxySelector.getDefault().select(uri)
+	private fun compare(body: String, validators: Validators, previous: Validators?): NexlResult {
+		if (previous == null) {
+			return NexlResult.success(body, validators)
+		}
+		if (previous.contentHash == validators.contentHash) {
+			revalidationCounter("same-content").increment()
+			return NexlResult.unchanged(validators)
+		}
+		revalidationCounter("changed").increment()
+		return NexlResult.success(body, validators)
+	}
 
-			val request = HttpRequest.newBuilder()
-				.uri(URI.create(fullUrl))
-				.header("User-Agent", "spring-config-central/1.0")
-				.header("Accept", "*/*")
-				.timeout(Duration.ofSeconds(30))
-				.GET()
-				.build()
+	private fun revalidationCounter(result: String) = meterRegistry.counter("nexl.client.revalidations", "result", result)
 
-			val response = httpClient.send(request, HttpResponse.BodyHandlers.ofString())
+	private fun contentHash(body: String): String =
+		HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body.toByteArray(StandardCharsets.UTF_8)))
 
-			when (response.statusCode()) {
-				200 -> Result.success(response.body())
-				else -> Result.failure(RuntimeException("HTTP Error: ${response.statusCode()} - ${response.body()}"))
+	private fun send(path: String, expression: String, conditional: Validators?): HttpResponse<String> {
+		val pathAndQuery = buildPathAndQuery(path, expression)
+		return if (hedging.enabled) sendHedged(pathAndQuery, conditional) else sendOnce(pathAndQuery, conditional)
+	}
+
+	private fun httpError(response: HttpResponse<String>) =
+		RuntimeException("HTTP Error: ${response.statusCode()} - ${response.body()}")
+
+	private fun unwrap(path: String, e: Exception): Throwable {
+		val cause = if (e is ExecutionException && e.cause != null) e.cause!! else e
+		log.warn("Error calling NEXL server for {}: {} ({})", path, cause.message, cause.javaClass.simpleName)
+		log.debug("NEXL call failure", cause)
+		return cause
+	}
+
+	private fun buildPathAndQuery(path: String, expression: String): String {
+		val url = StringBuilder(path.length + expression.length + 16)
+		// Clean the path - add a leading slash if missing
+		if (!path.startsWith("/")) {
+			url.append('/')
+		}
+		url.append(path)
+		// Without an expression the path is used as-is (it might already contain query parameters)
+		if (expression.isNotEmpty()) {
+			url.append("?expression=").append(URLEncoder.encode(expression, StandardCharsets.UTF_8))
+		}
+		return url.toString()
+	}
+
+	private fun sendOnce(pathAndQuery: String, conditional: Validators?): HttpResponse<String> {
+		val attempt = startAttempt(balancer.pick(), pathAndQuery, conditional, properties.pool.acquireTimeout.toNanos())
+			?: throw poolExhausted()
+		return attempt.future.get()
+	}
+
+	/**
+	 * Sends the primary request and, if it is still outstanding after the hedge delay and the budget allows,
+	 * a second identical one to another endpoint. The first successful response wins and the other is cancelled.
+	 */
+	private fun sendHedged(pathAndQuery: String, conditional: Validators?): HttpResponse<String> {
+		val primary = startAttempt(balancer.pick(), pathAndQuery, conditional, properties.pool.acquireTimeout.toNanos())
+			?: throw poolExhausted()
+		hedging.onPrimaryRequest()
+
+		val delay = hedging.hedgeDelayNanos() ?: return primary.future.get()
+		try {
+			return primary.future.get(delay, TimeUnit.NANOSECONDS)
+		} catch (e: TimeoutException) {
+			// Primary is slow - fall through and consider a hedge
+		}
+
+		if (!hedging.tryAcquireHedge()) {
+			meterRegistry.counter("nexl.client.hedge", "outcome", "over-budget").increment()
+			return primary.future.get()
+		}
+		// A hedge never waits for a connection slot: if the pool is saturated, extra load is the last thing nexl needs
+		val backup = startAttempt(balancer.pick(exclude = primary.endpoint), pathAndQuery, conditional, 0)
+		if (backup == null) {
+			meterRegistry.counter("nexl.client.hedge", "outcome", "pool-exhausted").increment()
+			return primary.future.get()
+		}
+		meterRegistry.counter("nexl.client.hedge", "outcome", "sent").increment()
+
+		val winner = CompletableFuture<Attempt>()
+		val failures = AtomicInteger()
+		for (attempt in listOf(primary, backup)) {
+			attempt.future.whenComplete { response, error ->
+				if (error == null && response.statusCode() < 500) {
+					winner.complete(attempt)
+				} else if (failures.incrementAndGet() == 2) {
+					// Both lost: surface the primary's outcome, exactly as an unhedged call would
+					winner.complete(primary)
+				}
 			}
+		}
+		val won = winner.get()
+		val loser = if (won === primary) backup else primary
+		loser.future.cancel(true)
+		if (won === backup) {
+			meterRegistry.counter("nexl.client.hedge", "outcome", "won").increment()
+		}
+		return won.future.get()
+	}
+
+	private fun startAttempt(endpoint: NexlEndpointBalancer.Endpoint, pathAndQuery: String, conditional: Validators?,
+	                         acquireTimeoutNanos: Long): Attempt? {
+		val waitStart = System.nanoTime()
+		val acquired = connectionSlots.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)
+		acquireTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS)
+		if (!acquired) {
+			rejectedCounter.increment()
+			return null
+		}
+
+		val fullUrl = endpoint.baseUrl + pathAndQuery
+		log.debug("Target URL: {}", fullUrl)
+
+		val requestBuilder = HttpRequest.newBuilder()
+			.uri(URI.create(fullUrl))
+			.header("User-Agent", "spring-config-central/1.0")
+			.header("Accept", "*/*")
+			.timeout(properties.transport.requestTimeout)
+			.GET()
+		if (properties.transport.compression) {
+			requestBuilder.header("Accept-Encoding", "gzip, deflate")
+		}
+		conditional?.etag?.let { requestBuilder.header("If-None-Match", it) }
+		conditional?.lastModified?.let { requestBuilder.header("If-Modified-Since", it) }
+		val request = requestBuilder.build()
+
+		val startNanos = endpoint.start()
+		val future = try {
+			httpClient.sendAsync(request, bodyHandler)
 		} catch (e: Exception) {
-			println("Error calling NEXL server: ${e.message}")
-			println("Exception type: ${e.javaClass.simpleName}")
-			e.printStackTrace()
-			Result.failure(e)
+			endpoint.complete(startNanos, false)
+			connectionSlots.release()
+			throw e
 		}
+		future.whenComplete { response, error ->
+			connectionSlots.release()
+			when {
+				// Cancelled hedge loser (the JDK client reports it wrapped): says nothing about the endpoint's health
+				error is CancellationException || error?.cause is CancellationException -> endpoint.abandon()
+				error != null -> endpoint.complete(startNanos, false)
+				else -> {
+					meterRegistry.counter("nexl.client.responses", "protocol", response.version().name).increment()
+					// 4xx means a bad path or expression, not a sick instance
+					val healthy = response.statusCode() < 500
+					endpoint.complete(startNanos, healthy)
+					if (healthy) {
+						hedging.recordLatency(System.nanoTime() - startNanos)
+					}
+				}
+			}
+		}
+		return Attempt(endpoint, future)
 	}
 
+	private fun poolExhausted() = IllegalStateException(
+		"Nexl connection pool exhausted (${properties.pool.maxConnections} in use) after ${properties.pool.acquireTimeout}")
+
+	private class Attempt(val endpoint: NexlEndpointBalancer.Endpoint, val future: CompletableFuture<HttpResponse<String>>)
+
+
+	/** What identifies a response for revalidation: nexl's validators if it sent any, and the body's SHA-256. */
+	data class Validators(val etag: String?, val lastModified: String?, val contentHash: String)
 
 	data class NexlResult(
 		val isSuccess: Boolean,
 		val data: String?,
-		val exception: Throwable?
+		val exception: Throwable?,
+		val validators: Validators? = null,
+		/** Set by [callNexlServerConditional] when the result is the one the validators were taken from. */
+		val isUnchanged: Boolean = false
 	) {
 		companion object {
 			fun success(data: String?): NexlResult = NexlResult(true, data, null)
+			fun success(data: String?, validators: Validators): NexlResult = NexlResult(true, data, null, validators)
+			fun unchanged(validators: Validators): NexlResult = NexlResult(true, null, null, validators, true)
 			fun failure(exception: Throwable?): NexlResult = NexlResult(false, null, exception)
 		}
 	}
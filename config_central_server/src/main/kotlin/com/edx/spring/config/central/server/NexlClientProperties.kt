@@ -0,0 +1,120 @@
+package com.edx.spring.config.central.server
+
+import org.springframework.boot.context.properties.ConfigurationProperties
+import org.springframework.stereotype.Component
+import java.time.Duration
+
+/**
+ * Client-side settings for talking to the nexl server, bound from `config.providers.nexl.*`.
+ *
+ * The flags already read through `@Value` by [com.edx.spring.config.central.server.loader.NexlConfigResourceProvider]
+ * (`enabled`, `fallback`) are intentionally not duplicated here.
+ */
+@Component
+@ConfigurationProperties(prefix = "config.providers.nexl")
+class NexlClientProperties {
+
+	/** Single nexl instance, used when [endpoints] is empty. */
+	var baseUrl: String = "http://nexl:8181"
+
+	/** Nexl instances to balance across; takes precedence over [baseUrl] when set. */
+	var endpoints: MutableList<String> = mutableListOf()
+
+	var loadBalancing: LoadBalancing = LoadBalancing()
+
+	var transport: Transport = Transport()
+
+	var pool: Pool = Pool()
+
+	var hedging: Hedging = Hedging()
+
+	var localEvaluation: LocalEvaluation = LocalEvaluation()
+
+	enum class TransportMode {
+		/** Plain HTTP/1.1, one request per connection at a time. */
+		HTTP_1_1,
+
+		/** HTTP/2 (ALPN over TLS, h2c upgrade over cleartext), falling back to HTTP/1.1 when nexl refuses. */
+		HTTP_2
+	}
+
+	enum class BalancingStrategy {
+		/** Prefer the endpoint with the fewest requests in flight. */
+		LEAST_OUTSTANDING,
+
+		/** Prefer the endpoint with the lowest decayed latency, weighted by requests in flight. */
+		EWMA
+	}
+
+	class LoadBalancing {
+		var strategy: BalancingStrategy = BalancingStrategy.EWMA
+
+		/** Time constant of the latency moving average; older samples lose half their weight after ~0.7x this. */
+		var decay: Duration = Duration.ofSeconds(10)
+
+		/** Consecutive failures (connect errors or 5xx) after which an endpoint is ejected. */
+		var ejectionThreshold: Int = 3
+
+		/** How long an ejected endpoint stays out of rotation before it is probed again. */
+		var ejectionDuration: Duration = Duration.ofSeconds(30)
+	}
+
+	/** Effective endpoint list, normalized without trailing slashes. */
+	fun resolvedEndpoints(): List<String> =
+		(endpoints.ifEmpty { listOf(baseUrl) })
+			.map { it.trim().trimEnd('/') }
+			.filter { it.isNotEmpty() }
+			.distinct()
+
+	class Transport {
+		var mode: TransportMode = TransportMode.HTTP_1_1
+		var connectTimeout: Duration = Duration.ofSeconds(10)
+		var requestTimeout: Duration = Duration.ofSeconds(30)
+
+		/** Ask nexl for gzip/deflate responses; worth it for large documents between data centres. */
+		var compression: Boolean = false
+	}
+
+	class Pool {
+		/** Upper bound on concurrent in-flight requests, and therefore on open HTTP/1.1 connections. */
+		var maxConnections: Int = 32
+
+		/** How long a caller may wait for a free connection slot before failing fast. */
+		var acquireTimeout: Duration = Duration.ofSeconds(5)
+
+		/** Idle connections are evicted after this long without use. */
+		var keepAlive: Duration = Duration.ofSeconds(30)
+	}
+
+	class Hedging {
+		var enabled: Boolean = false
+
+		/** Latency percentile of recent calls after which a backup request is sent. */
+		var percentile: Double = 0.95
+
+		/** Fraction of primary requests that may be hedged, e.g. 0.05 for 5% extra load at most. */
+		var budgetRatio: Double = 0.05
+
+		/** Hedges that may be spent back-to-back after a quiet period. */
+		var maxBurst: Long = 10
+
+		/** Floor for the hedge delay, so a fast nexl is not hedged on scheduling noise. */
+		var minDelay: Duration = Duration.ofMillis(20)
+
+		/** Latency samples required before hedging starts. */
+		var minSamples: Int = 64
+	}
+
+	class LocalEvaluation {
+		var enabled: Boolean = false
+
+		/** Expression whose result is the whole file as a JSON object; evaluated once per path and cached. */
+		var sourceExpression: String = "\${all}"
+
+		/** Age after which a cached file is fetched again; the old copy is served until the new one arrives. */
+		var revalidateAfter: Duration = Duration.ofSeconds(30)
+
+		/** Files kept for local evaluation; the least recently used tenth is dropped on overflow. */
+		var maxDocuments: Int = 500
+	}
+}
@@ -0,0 +1,143 @@
+package com.edx.spring.config.central.server
+
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import java.time.Duration
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.math.exp
+
+/**
+ * Client-side load balancer over the configured nexl instances.
+ *
+ * Selection uses "power of two choices": two random healthy endpoints are compared and the cheaper one wins,
+ * which keeps the choice O(1) while avoiding the herding a strict "always pick the best" would cause.
+ * Endpoints failing [NexlClientProperties.LoadBalancing.ejectionThreshold] times in a row are ejected for
+ * [NexlClientProperties.LoadBalancing.ejectionDuration]; if every endpoint is ejected the least recently
+ * ejected one is still used rather than failing outright.
+ */
+class NexlEndpointBalancer(
+	baseUrls: List<String>,
+	private val settings: NexlClientProperties.LoadBalancing,
+	private val failurePenalty: Duration,
+	meterRegistry: MeterRegistry
+) {
+
+	val endpoints: List<Endpoint> = baseUrls.map { Endpoint(it, meterRegistry) }
+
+	init {
+		require(endpoints.isNotEmpty()) { "At least one nexl endpoint must be configured" }
+	}
+
+	/**
+	 * Picks the endpoint for the next call. [exclude] is avoided when any other endpoint is usable,
+	 * which lets a retry or hedge land on a different instance.
+	 */
+	fun pick(exclude: Endpoint? = null): Endpoint {
+		val now = System.nanoTime()
+		val candidates = endpoints.filter { it !== exclude && it.isHealthy(now) }
+			.ifEmpty { endpoints.filter { it.isHealthy(now) } }
+		if (candidates.isEmpty()) {
+			// Panic mode: everything is ejected, so probe the endpoint that has been out the longest
+			return endpoints.minBy { it.ejectedUntil.get() }
+		}
+		if (candidates.size == 1) {
+			return candidates[0]
+		}
+		val random = ThreadLocalRandom.current()
+		val first = random.nextInt(candidates.size)
+		var second = random.nextInt(candidates.size - 1)
+		if (second >= first) {
+			second++
+		}
+		val a = candidates[first]
+		val b = candidates[second]
+		return if (score(a, now) <= score(b, now)) a else b
+	}
+
+	private fun score(endpoint: Endpoint, now: Long): Double {
+		val outstanding = endpoint.outstanding.get().toDouble()
+		return when (settings.strategy) {
+			NexlClientProperties.BalancingStrategy.LEAST_OUTSTANDING -> outstanding
+			NexlClientProperties.BalancingStrategy.EWMA -> endpoint.decayedLatencyNanos(now) * (outstanding + 1)
+		}
+	}
+
+	inner class Endpoint(val baseUrl: String, registry: MeterRegistry) {
+		val outstanding = AtomicInteger()
+		val ejectedUntil = AtomicLong(System.nanoTime())
+		private val consecutiveFailures = AtomicInteger()
+
+		// Guarded by this; updates are a handful of arithmetic ops so a monitor is cheaper than CAS retries on two fields
+		private var ewmaNanos = 0.0
+		private var lastSampleNanos = System.nanoTime()
+
+		private val successCounter: Counter = registry.counter("nexl.endpoint.requests", "endpoint", baseUrl, "outcome", "success")
+		private val failureCounter: Counter = registry.counter("nexl.endpoint.requests", "endpoint", baseUrl, "outcome", "failure")
+		private val ejectionCounter: Counter = registry.counter("nexl.endpoint.ejections", "endpoint", baseUrl)
+
+		init {
+			Gauge.builder("nexl.endpoint.outstanding", outstanding) { it.get().toDouble() }
+				.tag("endpoint", baseUrl)
+				.register(registry)
+			Gauge.builder("nexl.endpoint.latency.ewma", this) { TimeUnit.NANOSECONDS.toMillis(it.decayedLatencyNanos(System.nanoTime()).toLong()).toDouble() }
+				.tag("endpoint", baseUrl)
+				.baseUnit("milliseconds")
+				.register(registry)
+			Gauge.builder("nexl.endpoint.healthy", this) { if (it.isHealthy(System.nanoTime())) 1.0 else 0.0 }
+				.tag("endpoint", baseUrl)
+				.register(registry)
+		}
+
+		fun isHealthy(now: Long): Boolean = ejectedUntil.get() - now <= 0
+
+		/** Marks a request as started; pair with [complete]. Returns the start timestamp. */
+		fun start(): Long {
+			outstanding.incrementAndGet()
+			return System.nanoTime()
+		}
+
+		fun complete(startNanos: Long, success: Boolean) {
+			val now = System.nanoTime()
+			outstanding.decrementAndGet()
+			// A failure counts as a full timeout, otherwise an instance refusing connections would look fastest
+			recordLatency(if (success) now - startNanos else maxOf(now - startNanos, failurePenalty.toNanos()), now)
+			if (success) {
+				consecutiveFailures.set(0)
+				successCounter.increment()
+			} else {
+				failureCounter.increment()
+				if (consecutiveFailures.incrementAndGet() >= settings.ejectionThreshold) {
+					consecutiveFailures.set(0)
+					ejectedUntil.set(now + settings.ejectionDuration.toNanos())
+					ejectionCounter.increment()
+				}
+			}
+		}
+
+		/** Releases a request that was cancelled before completing, without judging the endpoint by it. */
+		fun abandon() {
+			outstanding.decrementAndGet()
+		}
+
+		/** Latency average decayed towards zero while idle, so a slow endpoint is retried once it has rested. */
+		@Synchronized
+		fun decayedLatencyNanos(now: Long): Double {
+			val idle = (now - lastSampleNanos).coerceAtLeast(0)
+			return ewmaNanos * exp(-idle.toDouble() / settings.decay.toNanos())
+		}
+
+		@Synchronized
+		private fun recordLatency(latencyNanos: Long, now: Long) {
+			val elapsed = (now - lastSampleNanos).coerceAtLeast(0)
+			val weight = exp(-elapsed.toDouble() / settings.decay.toNanos())
+			ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight)
+			lastSampleNanos = now
+		}
+
+		override fun toString(): String = baseUrl
+	}
+}
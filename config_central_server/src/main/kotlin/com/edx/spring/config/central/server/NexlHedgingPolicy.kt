@@ -0,0 +1,72 @@
+package com.edx.spring.config.central.server
+
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * Decides when [KNexlService] should send a backup ("hedged") request and whether it may afford one.
+ *
+ * The hedge delay is the configured percentile of a sliding window of recent successful latencies, recomputed
+ * every [RECOMPUTE_EVERY] samples so the hot path only reads a volatile. The budget is a token bucket refilled by
+ * primary requests: each one deposits [NexlClientProperties.Hedging.budgetRatio] of a token and a hedge spends a
+ * whole token, so hedges can never exceed that fraction of traffic over any longer period.
+ */
+class NexlHedgingPolicy(private val settings: NexlClientProperties.Hedging) {
+
+	companion object {
+		private const val WINDOW_SIZE = 512
+		private const val RECOMPUTE_EVERY = 32
+		private const val TOKEN_SCALE = 1_000_000L
+	}
+
+	private val window = AtomicLongArray(WINDOW_SIZE)
+	private val samples = AtomicInteger()
+
+	@Volatile
+	private var hedgeDelayNanos = -1L
+
+	private val budgetMicroTokens = AtomicLong()
+	private val depositPerRequest = (settings.budgetRatio * TOKEN_SCALE).toLong()
+	private val maxBudget = settings.maxBurst * TOKEN_SCALE
+
+	val enabled: Boolean
+		get() = settings.enabled
+
+	/** Delay after which a hedge should be sent, or `null` while there is not enough history to judge. */
+	fun hedgeDelayNanos(): Long? = hedgeDelayNanos.takeIf { it >= 0 }
+
+	fun recordLatency(latencyNanos: Long) {
+		val count = samples.incrementAndGet()
+		// Sample n goes to slot n - 1, so the first WINDOW_SIZE samples fill slots 0 until the window wraps
+		window.set(Math.floorMod(count - 1, WINDOW_SIZE), latencyNanos)
+		if (count >= settings.minSamples && count % RECOMPUTE_EVERY == 0) {
+			hedgeDelayNanos = maxOf(percentile(minOf(count, WINDOW_SIZE)), settings.minDelay.toNanos())
+		}
+	}
+
+	/** Called once per primary request to earn hedge budget. */
+	fun onPrimaryRequest() {
+		budgetMicroTokens.getAndUpdate { minOf(it + depositPerRequest, maxBudget) }
+	}
+
+	/** Spends one hedge from the budget; `false` means the hedge must be skipped. */
+	fun tryAcquireHedge(): Boolean {
+		while (true) {
+			val current = budgetMicroTokens.get()
+			if (current < TOKEN_SCALE) {
+				return false
+			}
+			if (budgetMicroTokens.compareAndSet(current, current - TOKEN_SCALE)) {
+				return true
+			}
+		}
+	}
+
+	private fun percentile(filled: Int): Long {
+		val snapshot = LongArray(filled) { window.get(it) }
+		snapshot.sort()
+		val index = ((filled - 1) * settings.percentile).toInt().coerceIn(0, filled - 1)
+		return snapshot[index]
+	}
+}
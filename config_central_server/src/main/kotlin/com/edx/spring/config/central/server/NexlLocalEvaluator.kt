@@ -0,0 +1,200 @@
+package com.edx.spring.config.central.server
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import org.slf4j.LoggerFactory
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.locks.ReentrantLock
+
+/**
+ * Evaluates the common nexl expression forms in-process against a cached copy of the source file, so that
+ * hundreds of expression variants on one path cost one upstream call instead of one each.
+ *
+ * The file is fetched by evaluating [NexlClientProperties.LocalEvaluation.sourceExpression] (`${all}` by
+ * convention, the object that aggregates the file's variables) and kept as parsed JSON. After
+ * [NexlClientProperties.LocalEvaluation.revalidateAfter] one caller refetches it while the others keep reading
+ * the previous copy, which is also kept if the refetch fails.
+ *
+ * Supported are `${name}`, property selection `${name.a.b}` and the `~K` / `~V` keys and values projections
+ * of an object. The source variable itself (`${all}`) is the whole document. Everything else (functions,
+ * arrays, merges, defaults, nested expressions) and any name missing from the document is left to nexl:
+ * [evaluate] returns `null` and the caller goes remote.
+ */
+class NexlLocalEvaluator(
+	private val settings: NexlClientProperties.LocalEvaluation,
+	private val fetch: (path: String, expression: String) -> Result<String>,
+	meterRegistry: MeterRegistry
+) {
+
+	companion object {
+		private val log = LoggerFactory.getLogger(NexlLocalEvaluator::class.java)
+
+		private val SIMPLE_EXPRESSION = Regex("""^\$\{([A-Za-z_$][\w$]*(?:\.[A-Za-z_$][\w$]*)*)(~[KV])?}$""")
+	}
+
+	private val objectMapper = ObjectMapper()
+
+	private val documents = ConcurrentHashMap<String, Document>()
+
+	/** The variable the source expression reads (`all` for `${all}`), or null if it is not a plain variable. */
+	private val sourceVariable = SIMPLE_EXPRESSION.matchEntire(settings.sourceExpression)
+		?.takeIf { it.groupValues[2].isEmpty() }
+		?.groupValues?.get(1)
+
+	private val revalidateAfterNanos = settings.revalidateAfter.toNanos()
+
+	private val localCounter = Counter.builder("nexl.local.evaluations")
+		.description("Nexl expressions evaluated locally or sent to nexl")
+		.tag("outcome", "local")
+		.register(meterRegistry)
+
+	private val remoteCounter = Counter.builder("nexl.local.evaluations")
+		.description("Nexl expressions evaluated locally or sent to nexl")
+		.tag("outcome", "remote")
+		.register(meterRegistry)
+
+	private val fetchCounter = Counter.builder("nexl.local.document-fetches")
+		.description("Source documents fetched from nexl for local evaluation")
+		.register(meterRegistry)
+
+	init {
+		Gauge.builder("nexl.local.documents", documents) { it.size.toDouble() }
+			.description("Nexl source documents cached for local evaluation")
+			.register(meterRegistry)
+	}
+
+	/** The response nexl would give for [expression] on [path], or `null` if it has to be asked. */
+	fun evaluate(path: String, expression: String): String? {
+		val result = evaluateLocally(normalize(path), expression)
+		if (result != null) localCounter.increment() else remoteCounter.increment()
+		return result
+	}
+
+	fun documentCount(): Int = documents.size
+
+	fun invalidateAll() {
+		documents.clear()
+	}
+
+	/** Drops the cached document of [path], so the next expression on it refetches. */
+	fun invalidate(path: String) {
+		documents.remove(normalize(path))
+	}
+
+	private fun evaluateLocally(path: String, expression: String): String? {
+		val match = SIMPLE_EXPRESSION.matchEntire(expression) ?: return null
+		if (sourceVariable == null) {
+			return null
+		}
+		val root = document(path) ?: return null
+
+		val names = match.groupValues[1].split('.').let { if (it[0] == sourceVariable) it.drop(1) else it }
+		var value: Any? = root
+		for (name in names) {
+			val node = value as? Map<*, *> ?: return null
+			if (!node.containsKey(name)) {
+				return null
+			}
+			value = node[name]
+		}
+
+		return when (match.groupValues[2]) {
+			"~K" -> (value as? Map<*, *>)?.let { render(it.keys.toList()) }
+			"~V" -> (value as? Map<*, *>)?.let { render(it.values.toList()) }
+			else -> render(value)
+		}
+	}
+
+	/** Renders a value the way nexl answers: objects and arrays as JSON, primitives as their plain text. */
+	private fun render(value: Any?): String? = when (value) {
+		null -> null
+		is Map<*, *>, is List<*> -> objectMapper.writeValueAsString(value)
+		else -> value.toString()
+	}
+
+	private fun document(path: String): Any? {
+		val document = documents.computeIfAbsent(path) { Document() }
+		val now = System.nanoTime()
+		document.lastAccess = now
+		if (documents.size > settings.maxDocuments) {
+			evict()
+		}
+
+		if (document.isFresh(now)) {
+			return document.root
+		}
+		if (document.fetched) {
+			// Stale: one caller revalidates, the others keep the copy they have meanwhile
+			if (!document.lock.tryLock()) {
+				return document.root
+			}
+		} else {
+			document.lock.lock()
+		}
+		try {
+			if (!document.isFresh(System.nanoTime())) {
+				refresh(path, document)
+			}
+			return document.root
+		} finally {
+			document.lock.unlock()
+		}
+	}
+
+	private fun refresh(path: String, document: Document) {
+		fetchCounter.increment()
+		fetch(path, settings.sourceExpression)
+			.onSuccess { body ->
+				document.root = try {
+					objectMapper.readValue(body, Any::class.java) as? Map<*, *>
+				} catch (e: Exception) {
+					null
+				}
+				if (document.root == null) {
+					log.debug("{} of {} is not an object, its expressions are evaluated by nexl", settings.sourceExpression, path)
+				}
+			}
+			.onFailure { e ->
+				// Keep the previous copy if there is one: nexl is likely down, and stale beats nothing
+				log.debug("Cannot fetch {} of {} for local evaluation: {}", settings.sourceExpression, path, e.message)
+			}
+		document.fetched = true
+		document.fetchedAt = System.nanoTime()
+	}
+
+	/** Runs only on overflow; drops the least recently used tenth. */
+	@Synchronized
+	private fun evict() {
+		val excess = documents.size - settings.maxDocuments
+		if (excess <= 0) {
+			return
+		}
+		documents.entries
+			.sortedBy { it.value.lastAccess }
+			.take(maxOf(excess, settings.maxDocuments / 10))
+			.forEach { documents.remove(it.key, it.value) }
+	}
+
+	private fun normalize(path: String): String = if (path.startsWith("/")) path else "/$path"
+
+	private inner class Document {
+		val lock = ReentrantLock()
+
+		/** Parsed source document; `null` before the first fetch or if the path cannot be evaluated locally. */
+		@Volatile
+		var root: Map<*, *>? = null
+
+		@Volatile
+		var fetched = false
+
+		@Volatile
+		var fetchedAt = 0L
+
+		@Volatile
+		var lastAccess = 0L
+
+		fun isFresh(now: Long) = fetched && now - fetchedAt < revalidateAfterNanos
+	}
+}
@@ -0,0 +1,290 @@
+package com.edx.spring.config.central.server
+
+import io.micrometer.core.instrument.DistributionSummary
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import java.io.ByteArrayOutputStream
+import java.io.IOException
+import java.net.http.HttpResponse
+import java.nio.ByteBuffer
+import java.nio.CharBuffer
+import java.nio.charset.Charset
+import java.nio.charset.CharsetDecoder
+import java.nio.charset.CodingErrorAction
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.Flow
+import java.util.concurrent.TimeUnit
+import java.util.zip.CRC32
+import java.util.zip.Inflater
+import java.util.zip.ZipException
+
+/**
+ * Reads nexl response bodies as strings, decoding `gzip` and `deflate` content encodings on the way.
+ *
+ * Each chunk is inflated and decoded as it arrives from the connection, so neither the compressed body nor the
+ * decompressed bytes are ever held in full; only the resulting string is, because that is what the parser,
+ * the local evaluator and the revalidation hash work on. Any other content encoding fails the call instead of
+ * handing compressed bytes to the parser. Bytes on the wire are recorded per encoding in
+ * `nexl.client.response.bytes`, and the time spent inflating and decoding in `nexl.client.response.decode`.
+ */
+class NexlResponseBodyHandler(meterRegistry: MeterRegistry) : HttpResponse.BodyHandler<String> {
+
+	companion object {
+		private const val BUFFER_SIZE = 8192
+		private val ENCODINGS = listOf("gzip", "deflate", "identity")
+	}
+
+	private val wireBytes = ENCODINGS.associateWith {
+		DistributionSummary.builder("nexl.client.response.bytes")
+			.description("Nexl response bodies as transferred, before decompression")
+			.baseUnit("bytes")
+			.tag("encoding", it)
+			.register(meterRegistry)
+	}
+
+	private val decodeTimer = Timer.builder("nexl.client.response.decode")
+		.description("Time spent decompressing and decoding nexl response bodies")
+		.register(meterRegistry)
+
+	override fun apply(responseInfo: HttpResponse.ResponseInfo): HttpResponse.BodySubscriber<String> {
+		val encoding = when (val value = responseInfo.headers().firstValue("Content-Encoding").orElse("identity").trim().lowercase()) {
+			"x-gzip" -> "gzip"
+			"" -> "identity"
+			else -> value
+		}
+		val charset = charsetOf(responseInfo.headers().firstValue("Content-Type").orElse(null))
+		return DecodingSubscriber(encoding, charset)
+	}
+
+	private fun charsetOf(contentType: String?): Charset {
+		val parameter = contentType?.split(';')
+			?.map { it.trim() }
+			?.firstOrNull { it.startsWith("charset=", ignoreCase = true) }
+			?: return StandardCharsets.UTF_8
+		return try {
+			Charset.forName(parameter.substring("charset=".length).trim('"', ' '))
+		} catch (e: Exception) {
+			StandardCharsets.UTF_8
+		}
+	}
+
+	/**
+	 * Push-based decoder: the gzip or zlib header is collected first (a few bytes), then every chunk goes through
+	 * the [Inflater] and the [CharsetDecoder] before the next one is taken. A gzip trailer is checked against the
+	 * CRC and length of what was inflated.
+	 */
+	private inner class DecodingSubscriber(private val encoding: String, charset: Charset) : HttpResponse.BodySubscriber<String> {
+
+		private val result = CompletableFuture<String>()
+		private val text = StringBuilder()
+		private val decoder = charset.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE)
+		private val pending = ByteBuffer.allocate(BUFFER_SIZE)
+		private val chars = CharBuffer.allocate(BUFFER_SIZE)
+		private val output = ByteArray(BUFFER_SIZE)
+
+		private var inflater: Inflater? = null
+		private val crc = CRC32()
+		private var inflatedSize = 0L
+		private var header: ByteArrayOutputStream? = if (encoding == "identity") null else ByteArrayOutputStream()
+		private val trailer = ByteArrayOutputStream()
+
+		private var received = 0L
+		private var decodeNanos = 0L
+
+		override fun getBody(): CompletionStage<String> = result
+
+		override fun onSubscribe(subscription: Flow.Subscription) {
+			if (encoding !in ENCODINGS) {
+				subscription.cancel()
+				result.completeExceptionally(IOException("Unsupported Content-Encoding from nexl: $encoding"))
+				return
+			}
+			subscription.request(Long.MAX_VALUE)
+		}
+
+		override fun onNext(item: List<ByteBuffer>) {
+			if (result.isDone) {
+				return
+			}
+			val start = System.nanoTime()
+			try {
+				for (buffer in item) {
+					received += buffer.remaining()
+					accept(buffer)
+				}
+			} catch (e: Exception) {
+				fail(e)
+			} finally {
+				decodeNanos += System.nanoTime() - start
+			}
+		}
+
+		override fun onError(throwable: Throwable) {
+			fail(throwable)
+		}
+
+		override fun onComplete() {
+			if (result.isDone) {
+				return
+			}
+			val start = System.nanoTime()
+			try {
+				// A 304 or an empty 200 may still name an encoding
+				if (received > 0 && (header != null || inflater?.finished() == false)) {
+					throw ZipException("Truncated $encoding body from nexl")
+				}
+				if (encoding == "gzip" && received > 0) {
+					checkGzipTrailer()
+				}
+				pending.flip()
+				decodePending(true)
+				decoder.flush(chars)
+				drainChars()
+				wireBytes[encoding]?.record(received.toDouble())
+				result.complete(text.toString())
+			} catch (e: Exception) {
+				fail(e)
+			} finally {
+				decodeNanos += System.nanoTime() - start
+				decodeTimer.record(decodeNanos, TimeUnit.NANOSECONDS)
+				inflater?.end()
+			}
+		}
+
+		private fun accept(buffer: ByteBuffer) {
+			val headerBytes = header
+			if (headerBytes != null) {
+				while (buffer.hasRemaining()) {
+					headerBytes.write(buffer.get().toInt())
+					val bytes = headerBytes.toByteArray()
+					// A zlib header is left for the inflater; two bytes tell it from raw deflate
+					val length = if (encoding == "gzip") gzipHeaderLength(bytes) else if (bytes.size >= 2) 0 else -1
+					if (length >= 0) {
+						header = null
+						inflater = Inflater(encoding == "gzip" || !isZlibWrapped(bytes))
+						inflate(ByteBuffer.wrap(bytes, length, bytes.size - length))
+						break
+					}
+				}
+				if (header != null) {
+					return
+				}
+			}
+			if (encoding == "identity") {
+				decode(buffer)
+			} else {
+				inflate(buffer)
+			}
+		}
+
+		private fun inflate(input: ByteBuffer) {
+			val inflater = inflater!!
+			if (inflater.finished()) {
+				trailer.write(ByteArray(input.remaining()).also { input.get(it) })
+				return
+			}
+			inflater.setInput(input)
+			while (!inflater.finished()) {
+				val count = inflater.inflate(output)
+				if (count == 0 && !inflater.finished()) {
+					if (inflater.needsDictionary()) {
+						throw ZipException("Preset dictionary in $encoding body from nexl is not supported")
+					}
+					break
+				}
+				crc.update(output, 0, count)
+				inflatedSize += count
+				decode(ByteBuffer.wrap(output, 0, count))
+			}
+			if (inflater.finished() && input.hasRemaining()) {
+				trailer.write(ByteArray(input.remaining()).also { input.get(it) })
+			}
+		}
+
+		private fun decode(bytes: ByteBuffer) {
+			while (bytes.hasRemaining()) {
+				val slice = minOf(bytes.remaining(), pending.remaining())
+				pending.put(bytes.slice(bytes.position(), slice))
+				bytes.position(bytes.position() + slice)
+				pending.flip()
+				decodePending(false)
+				// Keeps the bytes of a character split across chunks
+				pending.compact()
+			}
+		}
+
+		private fun decodePending(endOfInput: Boolean) {
+			while (decoder.decode(pending, chars, endOfInput).isOverflow) {
+				drainChars()
+			}
+			drainChars()
+		}
+
+		private fun drainChars() {
+			chars.flip()
+			text.append(chars)
+			chars.clear()
+		}
+
+		private fun checkGzipTrailer() {
+			val bytes = trailer.toByteArray()
+			if (bytes.size < 8) {
+				throw ZipException("Truncated gzip trailer from nexl")
+			}
+			val expectedCrc = littleEndianInt(bytes, 0)
+			val expectedSize = littleEndianInt(bytes, 4)
+			if (expectedCrc != crc.value || expectedSize != (inflatedSize and 0xFFFFFFFFL)) {
+				throw ZipException("Corrupt gzip body from nexl: CRC or size mismatch")
+			}
+		}
+
+		private fun fail(throwable: Throwable) {
+			inflater?.end()
+			result.completeExceptionally(throwable)
+		}
+	}
+
+	/** Length of the gzip header at the start of [bytes], or -1 if more bytes are needed. */
+	private fun gzipHeaderLength(bytes: ByteArray): Int {
+		if (bytes.size < 10) {
+			return -1
+		}
+		if ((bytes[0].toInt() and 0xFF) != 0x1F || (bytes[1].toInt() and 0xFF) != 0x8B || bytes[2].toInt() != 8) {
+			throw ZipException("Not a gzip body from nexl")
+		}
+		val flags = bytes[3].toInt()
+		var position = 10
+		if (flags and 0x04 != 0) {
+			if (bytes.size < position + 2) {
+				return -1
+			}
+			position += 2 + ((bytes[position].toInt() and 0xFF) or ((bytes[position + 1].toInt() and 0xFF) shl 8))
+		}
+		for (flag in listOf(0x08, 0x10)) {
+			if (flags and flag != 0) {
+				while (position < bytes.size && bytes[position].toInt() != 0) {
+					position++
+				}
+				if (position >= bytes.size) {
+					return -1
+				}
+				position++
+			}
+		}
+		if (flags and 0x02 != 0) {
+			position += 2
+		}
+		return if (position <= bytes.size) position else -1
+	}
+
+	/** "deflate" is meant to be zlib-wrapped, but some servers send the raw stream. */
+	private fun isZlibWrapped(bytes: ByteArray): Boolean =
+		(bytes[0].toInt() and 0x0F) == 8 && ((bytes[0].toInt() and 0xFF) * 256 + (bytes[1].toInt() and 0xFF)) % 31 == 0
+
+	private fun littleEndianInt(bytes: ByteArray, offset: Int): Long =
+		(0..3).fold(0L) { value, i -> value or ((bytes[offset + i].toLong() and 0xFF) shl (8 * i)) }
+}
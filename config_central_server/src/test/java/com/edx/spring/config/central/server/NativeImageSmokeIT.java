@@ -0,0 +1,174 @@
+package com.edx.spring.config.central.server;
+
+import com.sun.net.httpserver.HttpServer;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the native executable built by {@code -Pnative} against a nexl stub and a bare git repository in a
+ * temporary directory, and checks that it serves both, renders the admin dashboard, and stays within the
+ * startup and memory budgets. Skipped when the executable has not been built.
+ */
+class NativeImageSmokeIT {
+
+	private static final Duration STARTUP_BUDGET = Duration.parse(System.getProperty("native.startup.budget", "PT0.2S"));
+	private static final long RSS_BUDGET_MB = Long.getLong("native.rss.budget-mb", 128);
+	private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([0-9.]+) seconds");
+
+	@TempDir
+	Path tempDir;
+
+	private HttpServer nexl;
+	private Process server;
+	private final BlockingQueue<String> output = new LinkedBlockingQueue<>();
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@BeforeEach
+	void startNexlStub() throws IOException {
+		nexl = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		nexl.createContext("/", exchange -> {
+			byte[] body = "{\"smoke.source\":\"nexl\",\"server.port\":8080}".getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		nexl.start();
+	}
+
+	@AfterEach
+	void stop() throws InterruptedException {
+		if (server != null) {
+			server.destroy();
+			if (!server.waitFor(10, TimeUnit.SECONDS)) {
+				server.destroyForcibly();
+			}
+		}
+		nexl.stop(0);
+	}
+
+	@Test
+	void shouldServeGitAndNexlWithinBudget() throws Exception {
+		Path image = Path.of(System.getProperty("native.image", "target/config-central-server"));
+		assumeTrue(Files.isExecutable(image), "Native image not built: " + image);
+
+		Path repository = createBareRepository();
+		int port = freePort();
+		ProcessBuilder builder = new ProcessBuilder(List.of(image.toAbsolutePath().toString(),
+				"--server.port=" + port,
+				// A plain path, not file:, so the server clones it like a remote instead of reading it in place
+				"--spring.cloud.config.server.git.uri=" + repository,
+				"--spring.cloud.config.server.git.basedir=" + tempDir.resolve("clone"),
+				"--spring.cloud.config.server.git.default-label=main",
+				"--spring.cloud.config.server.git.username=",
+				"--spring.cloud.config.server.git.password=",
+				"--config.providers.nexl.base-url=http://127.0.0.1:" + nexl.getAddress().getPort(),
+				"--config.performance-log.enabled=false",
+				"--logging.file.path=" + tempDir.resolve("logs")))
+				.redirectErrorStream(true);
+		server = builder.start();
+		Thread.ofVirtual().name("native-output").start(this::drainOutput);
+
+		Duration startup = awaitStarted();
+		System.out.println("Native startup took " + startup.toMillis() + " ms (budget " + STARTUP_BUDGET.toMillis() + " ms)");
+
+		assertThat(get(port, "/smoke/default/main")).contains("\"smoke.source\":\"git\"");
+		assertThat(get(port, "/smoke/default/nexl")).contains("\"smoke.source\":\"nexl\"");
+		assertThat(get(port, "/admin")).contains("<html");
+
+		long rssMb = residentMemoryMb(server.pid());
+		System.out.println("Native RSS after requests: " + rssMb + " MB (budget " + RSS_BUDGET_MB + " MB)");
+		assertThat(startup).isLessThanOrEqualTo(STARTUP_BUDGET);
+		assertThat(rssMb).isLessThanOrEqualTo(RSS_BUDGET_MB);
+	}
+
+	private Path createBareRepository() throws Exception {
+		Path work = tempDir.resolve("work");
+		try (Git git = Git.init().setInitialBranch("main").setDirectory(work.toFile()).call()) {
+			Files.writeString(work.resolve("smoke.yml"), "smoke:\n  source: git\n");
+			git.add().addFilepattern("smoke.yml").call();
+			git.commit().setMessage("Smoke test config").setSign(false).call();
+		}
+		Path bare = tempDir.resolve("config.git");
+		Git.cloneRepository().setURI(work.toUri().toString()).setBare(true).setDirectory(bare.toFile()).call().close();
+		return bare;
+	}
+
+	private Duration awaitStarted() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (System.nanoTime() < deadline) {
+			String line = output.poll(100, TimeUnit.MILLISECONDS);
+			if (line != null) {
+				Matcher matcher = STARTED.matcher(line);
+				if (matcher.find()) {
+					return Duration.ofMillis((long) (Double.parseDouble(matcher.group(1)) * 1000));
+				}
+			}
+			if (!server.isAlive()) {
+				throw new AssertionError("Native image exited with " + server.exitValue() + " before startup completed");
+			}
+		}
+		throw new AssertionError("Native image did not report startup within 30s");
+	}
+
+	private void drainOutput() {
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(server.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				System.out.println("[native] " + line);
+				output.add(line);
+			}
+		} catch (IOException ignored) {
+			// Process destroyed
+		}
+	}
+
+	private String get(int port, String path) throws Exception {
+		HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+				.timeout(Duration.ofSeconds(10)).build(), HttpResponse.BodyHandlers.ofString());
+		assertThat(response.statusCode()).as("GET %s", path).isEqualTo(200);
+		return response.body();
+	}
+
+	private static long residentMemoryMb(long pid) throws IOException {
+		Path status = Path.of("/proc", Long.toString(pid), "status");
+		assumeTrue(Files.exists(status), "No /proc to read resident memory from");
+		return Files.readAllLines(status).stream()
+				.filter(line -> line.startsWith("VmRSS:"))
+				.map(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024)
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.edx.spring.config.central.server;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the whole server (git repository configured but not cloned, nexl not called) and fails when startup
+ * exceeds the budget, listing the slowest startup steps. Runs with {@code mvn verify}, not with the unit tests.
+ * <p>
+ * Startup measured 16.6-18.6 s on a single-core build agent; the default budget leaves about 20% on top of the
+ * slowest run. Set {@code -Dstartup.budget} for other hardware.
+ */
+class StartupTimeIT {
+
+	private static final Logger log = LoggerFactory.getLogger(StartupTimeIT.class);
+
+	private static final Duration BUDGET = Duration.parse(System.getProperty("startup.budget", "PT22S"));
+
+	@Test
+	void shouldStartWithinBudget() {
+		SpringApplication application = new SpringApplication(SpringConfigCentralApplication.class);
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(20_000);
+		application.setApplicationStartup(startup);
+
+		long start = System.nanoTime();
+		try (ConfigurableApplicationContext ignored = application.run(
+				"--server.port=0",
+				"--spring.cloud.config.server.git.clone-on-start=false",
+				"--config.performance-log.enabled=false",
+				"--config.access-log.enabled=false",
+				"--logging.file.path=target/startup-test-logs")) {
+			Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+			log.info("Startup took {} ms (budget {} ms)", elapsed.toMillis(), BUDGET.toMillis());
+
+			assertThat(elapsed)
+					.withFailMessage(() -> "Startup took " + elapsed.toMillis() + " ms, over the " + BUDGET.toMillis()
+							+ " ms budget. Slowest steps:\n" + slowestSteps(startup.getBufferedTimeline()))
+					.isLessThanOrEqualTo(BUDGET);
+		}
+	}
+
+	private static String slowestSteps(StartupTimeline timeline) {
+		return timeline.getEvents().stream()
+				.sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+				.limit(15)
+				.map(event -> String.format("  %6d ms  %s %s", event.getDuration().toMillis(),
+						event.getStartupStep().getName(), tags(event.getStartupStep().getTags())))
+				.collect(Collectors.joining("\n"));
+	}
+
+	private static String tags(StartupStep.Tags tags) {
+		return StreamSupport.stream(tags.spliterator(), false)
+				.map(tag -> tag.getKey() + "=" + tag.getValue())
+				.collect(Collectors.joining(", "));
+	}
+}
@@ -0,0 +1,53 @@
+package com.edx.spring.config.central.server.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactPropertyMapTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private static final String JSON = """
+			{"server.port":8080,"spring":{"datasource":{"url":"jdbc:h2:mem","pool":null}},"flags":[true,{"b":"x"}],"a":"z"}""";
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldSerializeExactlyLikeTheParsedMap() throws Exception {
+		Map<String, Object> parsed = objectMapper.readValue(JSON, Map.class);
+
+		CompactPropertyMap compact = CompactPropertyMap.copyOf(parsed);
+
+		assertThat(objectMapper.writeValueAsString(compact)).isEqualTo(objectMapper.writeValueAsString(parsed));
+		assertThat(compact).isEqualTo(parsed);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldLookUpKeysIncludingNested() throws Exception {
+		CompactPropertyMap compact = CompactPropertyMap.copyOf(objectMapper.readValue(JSON, Map.class));
+
+		assertThat(compact.get("server.port")).isEqualTo(8080);
+		assertThat(compact.get("a")).isEqualTo("z");
+		assertThat(compact.containsKey("missing")).isFalse();
+		assertThat(compact.get(42)).isNull();
+		Map<String, Object> datasource = (Map<String, Object>) ((Map<String, Object>) compact.get("spring")).get("datasource");
+		assertThat(datasource).isInstanceOf(CompactPropertyMap.class).containsEntry("url", "jdbc:h2:mem");
+		assertThat(datasource.containsKey("pool")).isTrue();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldBeDeeplyImmutable() throws Exception {
+		CompactPropertyMap compact = CompactPropertyMap.copyOf(objectMapper.readValue(JSON, Map.class));
+
+		assertThatThrownBy(() -> compact.put("x", "y")).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> ((List<Object>) compact.get("flags")).add("y"))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+}
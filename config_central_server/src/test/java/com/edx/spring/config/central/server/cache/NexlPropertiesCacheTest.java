@@ -0,0 +1,138 @@
+package com.edx.spring.config.central.server.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NexlPropertiesCacheTest {
+
+	@Test
+	void shouldServeRepeatedLookupsFromCache() {
+		NexlPropertiesCache cache = new NexlPropertiesCache(Duration.ofMinutes(1), 10);
+		AtomicInteger loads = new AtomicInteger();
+
+		for (int i = 0; i < 3; i++) {
+			Map<String, Object> value = cache.get("key", () -> {
+				loads.incrementAndGet();
+				return Map.of("a", "1");
+			}, NexlPropertiesCache.OutcomeSink.NONE);
+			assertThat(value).containsEntry("a", "1");
+		}
+
+		assertThat(loads).hasValue(1);
+		assertThat(cache.hitCount()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldCoalesceConcurrentMisses() throws Exception {
+		NexlPropertiesCache cache = new NexlPropertiesCache(Duration.ZERO, 0);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+			Future<Map<String, Object>> leader = executor.submit(() -> cache.get("key", () -> {
+				loads.incrementAndGet();
+				started.countDown();
+				await(release);
+				return Map.of("a", "1");
+			}, NexlPropertiesCache.OutcomeSink.NONE));
+			started.await();
+			Future<Map<String, Object>> follower = executor.submit(() -> cache.get("key", () -> {
+				loads.incrementAndGet();
+				return Map.of("a", "2");
+			}, NexlPropertiesCache.OutcomeSink.NONE));
+
+			// Give the follower time to find the leader's load in flight
+			Thread.sleep(200);
+			release.countDown();
+
+			List<Future<Map<String, Object>>> futures = List.of(leader, follower);
+			for (Future<Map<String, Object>> future : futures) {
+				assertThat(future.get()).containsEntry("a", "1");
+			}
+		}
+
+		assertThat(loads).hasValue(1);
+		assertThat(cache.coalescedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldNotCacheFailures() {
+		NexlPropertiesCache cache = new NexlPropertiesCache(Duration.ofMinutes(1), 10);
+
+		assertThatThrownBy(() -> cache.get("key", () -> {
+			throw new IllegalStateException("nexl down");
+		}, NexlPropertiesCache.OutcomeSink.NONE)).hasMessage("nexl down");
+
+		assertThat(cache.get("key", () -> Map.of("a", "1"), NexlPropertiesCache.OutcomeSink.NONE))
+				.containsEntry("a", "1");
+	}
+
+	@Test
+	void shouldStayWithinCapacity() {
+		NexlPropertiesCache cache = new NexlPropertiesCache(Duration.ofMinutes(1), 10);
+
+		for (int i = 0; i < 25; i++) {
+			cache.get("key-" + i, () -> Map.of("a", "1"), NexlPropertiesCache.OutcomeSink.NONE);
+		}
+
+		assertThat(cache.size()).isLessThanOrEqualTo(10);
+	}
+
+	@Test
+	void shouldHandExpiredEntryToRevalidatingLoader() {
+		NexlPropertiesCache cache = new NexlPropertiesCache(Duration.ofNanos(1), 10);
+		List<NexlPropertiesCache.Outcome> outcomes = new ArrayList<>();
+		Map<String, Object> first = Map.of("a", "1");
+
+		cache.get("key", stale -> new NexlPropertiesCache.Loaded(first, "etag-1"), outcomes::add);
+		Map<String, Object> renewed = cache.get("key", stale -> {
+			assertThat(stale.validators()).isEqualTo("etag-1");
+			return new NexlPropertiesCache.Loaded(stale.value(), "etag-1");
+		}, outcomes::add);
+		Map<String, Object> replaced = cache.get("key", stale -> new NexlPropertiesCache.Loaded(Map.of("a", "2"), "etag-2"),
+				outcomes::add);
+
+		assertThat(renewed).isSameAs(first);
+		assertThat(replaced).containsEntry("a", "2");
+		assertThat(outcomes).containsExactly(NexlPropertiesCache.Outcome.MISS, NexlPropertiesCache.Outcome.MISS,
+				NexlPropertiesCache.Outcome.REVALIDATED, NexlPropertiesCache.Outcome.MISS);
+		assertThat(cache.revalidatedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldNotStoreALoadThatWasInvalidatedWhileLoading() {
+		NexlPropertiesCache cache = new NexlPropertiesCache(Duration.ofMinutes(1), 10);
+
+		Map<String, Object> loaded = cache.get("key", () -> {
+			// The path changes in nexl while its old value is still on the way back
+			cache.invalidate("key");
+			return Map.of("a", "old");
+		}, NexlPropertiesCache.OutcomeSink.NONE);
+
+		assertThat(loaded).containsEntry("a", "old");
+		assertThat(cache.size()).isZero();
+		assertThat(cache.get("key", () -> Map.of("a", "new"), NexlPropertiesCache.OutcomeSink.NONE))
+				.containsEntry("a", "new");
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.edx.spring.config.central.server.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParsedDocumentCacheTest {
+
+	private static final ObjectId BLOB = ObjectId.fromString("0123456789abcdef0123456789abcdef01234567");
+
+	private final AtomicInteger parses = new AtomicInteger();
+
+	@Test
+	void shouldParseEachBlobOnceAndCountSavedBytes() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ParsedDocumentCache cache = new ParsedDocumentCache(10).bindTo(registry);
+
+		List<ParsedDocumentCache.Document> first = cache.get(BLOB, "yaml", 100, this::parse);
+		List<ParsedDocumentCache.Document> second = cache.get(BLOB.copy(), "yaml", 100, this::parse);
+
+		assertThat(parses).hasValue(1);
+		assertThat(second).isSameAs(first);
+		assertThat(first.get(0).properties()).isInstanceOf(CompactPropertyMap.class).containsEntry("shared", "root");
+		assertThat(registry.get("config.git.parse-cache.hits").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("config.git.parse-cache.misses").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("config.git.parse-cache.bytes-saved").functionCounter().count()).isEqualTo(100);
+		assertThat(registry.get("config.git.parse-cache.hit-ratio").gauge().value()).isEqualTo(0.5);
+	}
+
+	@Test
+	void shouldKeepFormatsApart() {
+		ParsedDocumentCache cache = new ParsedDocumentCache(10);
+
+		cache.get(BLOB, "yaml", 100, this::parse);
+		cache.get(BLOB, "properties", 100, this::parse);
+
+		assertThat(parses).hasValue(2);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedOverCapacity() {
+		ParsedDocumentCache cache = new ParsedDocumentCache(2);
+		ObjectId second = ObjectId.fromString("1123456789abcdef0123456789abcdef01234567");
+		ObjectId third = ObjectId.fromString("2123456789abcdef0123456789abcdef01234567");
+
+		cache.get(BLOB, "yaml", 1, this::parse);
+		cache.get(second, "yaml", 1, this::parse);
+		cache.get(BLOB, "yaml", 1, this::parse);
+		cache.get(third, "yaml", 1, this::parse);
+		cache.get(BLOB, "yaml", 1, this::parse);
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(parses).hasValue(3);
+	}
+
+	@Test
+	void shouldParseEveryTimeWhenDisabled() {
+		ParsedDocumentCache cache = new ParsedDocumentCache(0);
+
+		cache.get(BLOB, "yaml", 100, this::parse);
+		cache.get(BLOB, "yaml", 100, this::parse);
+
+		assertThat(parses).hasValue(2);
+		assertThat(cache.hitCount()).isZero();
+	}
+
+	private List<ParsedDocumentCache.Document> parse() {
+		parses.incrementAndGet();
+		return List.of(new ParsedDocumentCache.Document("", Map.of("shared", "root")));
+	}
+}
@@ -0,0 +1,63 @@
+package com.edx.spring.config.central.server.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterMessageTest {
+
+	private final ClusterSigner signer = new ClusterSigner("cluster-secret");
+
+	@Test
+	void shouldRoundTripThroughWireFormat() {
+		ClusterMessage state = ClusterMessage.providerState("node-1", 7, "NexlConfigResourceProvider", false);
+		ClusterMessage invalidation = ClusterMessage.cacheInvalidation("node|2", 8, "/jenkins/a b.js\u0000expr|x");
+		ClusterMessage all = ClusterMessage.cacheInvalidation("node-1", 9, null);
+		ClusterMessage request = ClusterMessage.stateRequest("node-3", 1);
+
+		assertThat(roundTrip(state)).isEqualTo(state);
+		assertThat(roundTrip(invalidation)).isEqualTo(invalidation);
+		assertThat(roundTrip(all).name()).isNull();
+		assertThat(roundTrip(request)).isEqualTo(request);
+	}
+
+	@Test
+	void shouldIgnoreForeignDatagrams() {
+		byte[] garbage = "hello".getBytes(StandardCharsets.UTF_8);
+		byte[] badType = signer.sign("C2|n|1|REBOOT|-|true".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(ClusterMessage.decode(garbage, 0, garbage.length, signer)).isNull();
+		assertThat(ClusterMessage.decode(badType, 0, badType.length, signer)).isNull();
+	}
+
+	@Test
+	void shouldRejectUnsignedForgedAndTamperedMessages() {
+		byte[] unsigned = "C2|n|1|PROVIDER_STATE|NexlConfigResourceProvider|false".getBytes(StandardCharsets.UTF_8);
+		byte[] forged = ClusterMessage.providerState("n", 1, "NexlConfigResourceProvider", false)
+				.encode(new ClusterSigner("guessed"));
+		byte[] tampered = ClusterMessage.providerState("n", 1, "NexlConfigResourceProvider", false).encode(signer);
+		tampered[new String(tampered, StandardCharsets.UTF_8).indexOf("false")] = 't';
+
+		assertThat(ClusterMessage.decode(unsigned, 0, unsigned.length, signer)).isNull();
+		assertThat(ClusterMessage.decode(forged, 0, forged.length, signer)).isNull();
+		assertThat(ClusterMessage.decode(tampered, 0, tampered.length, signer)).isNull();
+	}
+
+	@Test
+	void shouldOrderByVersionThenNode() {
+		ClusterMessage earlier = new ClusterMessage("b", 1, ClusterMessage.Type.PRIMARY_PROVIDER, "git", true);
+		ClusterMessage later = new ClusterMessage("a", 2, ClusterMessage.Type.PRIMARY_PROVIDER, "nexl", true);
+		ClusterMessage tie = new ClusterMessage("c", 2, ClusterMessage.Type.PRIMARY_PROVIDER, "git", true);
+
+		assertThat(later.isNewerThan(earlier)).isTrue();
+		assertThat(earlier.isNewerThan(later)).isFalse();
+		assertThat(tie.isNewerThan(later)).isTrue();
+	}
+
+	private ClusterMessage roundTrip(ClusterMessage message) {
+		byte[] data = message.encode(signer);
+		return ClusterMessage.decode(data, 0, data.length, signer);
+	}
+}
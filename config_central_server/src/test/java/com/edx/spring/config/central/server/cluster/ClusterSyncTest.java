@@ -0,0 +1,168 @@
+package com.edx.spring.config.central.server.cluster;
+
+import com.edx.spring.config.central.server.admin.ConfigProviderManager;
+import com.edx.spring.config.central.server.admin.ConfigProviderManager.PrimaryProviderChangeEvent;
+import com.edx.spring.config.central.server.admin.ConfigProviderManager.ProviderStateChangeEvent;
+import com.edx.spring.config.central.server.cache.CacheInvalidationEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterSyncTest {
+
+	private final List<ClusterChannel> channels = new ArrayList<>();
+
+	@AfterEach
+	void closeChannels() {
+		channels.forEach(ClusterChannel::close);
+	}
+
+	@Test
+	void shouldReplicateProviderStateAndPrimaryToOtherNodes() {
+		Node a = new Node("a");
+		Node b = new Node("b");
+		Node c = new Node("c");
+
+		a.manager.toggleProvider("NexlConfigResourceProvider");
+		b.manager.setPrimaryProvider("git");
+
+		for (Node node : List.of(a, b, c)) {
+			assertThat(node.manager.isProviderEnabled("NexlConfigResourceProvider")).isFalse();
+			assertThat(node.manager.getPrimaryProvider()).isEqualTo("git");
+		}
+	}
+
+	@Test
+	void shouldReplicateCacheInvalidationsWithoutEchoing() {
+		Node a = new Node("a");
+		Node b = new Node("b");
+
+		a.publish(new CacheInvalidationEvent("/jenkins/app.js"));
+
+		assertThat(b.events).singleElement().isInstanceOfSatisfying(CacheInvalidationEvent.class, event -> {
+			assertThat(event.path).isEqualTo("/jenkins/app.js");
+			assertThat(event.remote).isTrue();
+		});
+		assertThat(a.events).hasSize(1);
+	}
+
+	@Test
+	void shouldIgnoreChangesOlderThanTheAppliedOne() {
+		Node a = new Node("a");
+
+		a.sync.onMessage(new ClusterMessage("b", 200, ClusterMessage.Type.PROVIDER_STATE, "GitConfigResourceProvider", false));
+		a.sync.onMessage(new ClusterMessage("c", 100, ClusterMessage.Type.PROVIDER_STATE, "GitConfigResourceProvider", true));
+
+		assertThat(a.manager.isProviderEnabled("GitConfigResourceProvider")).isFalse();
+	}
+
+	@Test
+	void shouldOrderALocalChangeAfterEveryChangeTheNodeHasSeen() {
+		Node a = new Node("a");
+		Node b = new Node("b");
+		ClusterMessage seen = new ClusterMessage("z", 500, ClusterMessage.Type.PROVIDER_STATE, "GitConfigResourceProvider", false);
+		a.sync.onMessage(seen);
+		b.sync.onMessage(seen);
+
+		a.manager.toggleProvider("GitConfigResourceProvider");
+
+		assertThat(b.manager.isProviderEnabled("GitConfigResourceProvider")).isTrue();
+	}
+
+	@Test
+	void shouldSendTheKnownStateToANodeThatJoins() {
+		Node a = new Node("a");
+		a.manager.toggleProvider("NexlConfigResourceProvider");
+		a.manager.setPrimaryProvider("git");
+
+		Node late = new Node("late");
+
+		assertThat(late.manager.isProviderEnabled("NexlConfigResourceProvider")).isFalse();
+		assertThat(late.manager.getPrimaryProvider()).isEqualTo("git");
+	}
+
+	@Test
+	void shouldConvergeOnTheNextRebroadcastAfterALostMessage() {
+		Node a = new Node("a");
+		Node b = new Node("b");
+		a.channel.dropping = true;
+		a.manager.toggleProvider("NexlConfigResourceProvider");
+		assertThat(b.manager.isProviderEnabled("NexlConfigResourceProvider")).isTrue();
+
+		a.channel.dropping = false;
+		a.sync.broadcastState();
+
+		assertThat(b.manager.isProviderEnabled("NexlConfigResourceProvider")).isFalse();
+	}
+
+	@Test
+	void shouldIgnoreMessagesSignedWithAnotherSecret() {
+		Node a = new Node("a");
+		LoopbackClusterChannel intruder = new LoopbackClusterChannel(a.cluster, new ClusterSigner("guessed"));
+		channels.add(intruder);
+		intruder.start(message -> {
+		});
+
+		intruder.send(ClusterMessage.providerState("intruder", Long.MAX_VALUE, "NexlConfigResourceProvider", false));
+
+		assertThat(a.manager.isProviderEnabled("NexlConfigResourceProvider")).isTrue();
+	}
+
+	/** Loopback channel that can be told to lose what it sends. */
+	private static class LossyChannel implements ClusterChannel {
+		final LoopbackClusterChannel delegate;
+		volatile boolean dropping;
+
+		LossyChannel(LoopbackClusterChannel delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void start(Consumer<ClusterMessage> receiver) {
+			delegate.start(receiver);
+		}
+
+		@Override
+		public void send(ClusterMessage message) {
+			if (!dropping) {
+				delegate.send(message);
+			}
+		}
+
+		@Override
+		public void close() {
+			delegate.close();
+		}
+	}
+
+	private class Node {
+		final List<Object> events = new ArrayList<>();
+		final ConfigProviderManager manager = new ConfigProviderManager(this::publish);
+		final String cluster = "test-" + System.identityHashCode(ClusterSyncTest.this);
+		final LossyChannel channel = new LossyChannel(new LoopbackClusterChannel(cluster, new ClusterSigner("secret")));
+		final ClusterSync sync;
+
+		Node(String id) {
+			channels.add(channel);
+			sync = new ClusterSync(id, channel, manager, this::publish, Duration.ZERO);
+			sync.start();
+		}
+
+		void publish(Object event) {
+			events.add(event);
+			if (event instanceof ProviderStateChangeEvent stateChange) {
+				sync.onProviderStateChange(stateChange);
+			} else if (event instanceof PrimaryProviderChangeEvent primaryChange) {
+				sync.onPrimaryProviderChange(primaryChange);
+			} else if (event instanceof CacheInvalidationEvent invalidation) {
+				sync.onCacheInvalidation(invalidation);
+			}
+		}
+	}
+}
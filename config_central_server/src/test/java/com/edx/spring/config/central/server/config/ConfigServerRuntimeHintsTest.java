@@ -0,0 +1,43 @@
+package com.edx.spring.config.central.server.config;
+
+import com.edx.spring.config.central.server.KNexlService;
+import com.edx.spring.config.central.server.limit.TokenBucketRateLimiter;
+import com.edx.spring.config.central.server.logging.PerformanceRecord;
+import org.eclipse.jgit.internal.JGitText;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigServerRuntimeHintsTest {
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	ConfigServerRuntimeHintsTest() {
+		new ConfigServerRuntimeHints().registerHints(hints, getClass().getClassLoader());
+	}
+
+	@Test
+	void shouldRegisterKotlinNexlClient() {
+		assertThat(RuntimeHintsPredicates.reflection().onType(KNexlService.class)
+				.withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+		assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/config-central-server.kotlin_module"))
+				.accepts(hints);
+	}
+
+	@Test
+	void shouldRegisterReflectivelyBoundTypes() {
+		assertThat(RuntimeHintsPredicates.reflection().onMethod(PerformanceRecord.class, "totalMicros")).accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onMethod(TokenBucketRateLimiter.KeyStatus.class, "throttled"))
+				.accepts(hints);
+	}
+
+	@Test
+	void shouldRegisterTemplatesAndJGitBundles() {
+		assertThat(RuntimeHintsPredicates.resource().forResource("templates/admin/dashboard.html")).accepts(hints);
+		assertThat(RuntimeHintsPredicates.resource().forBundle("org.eclipse.jgit.internal.JGitText")).accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onField(JGitText.class, "invalidId")).accepts(hints);
+	}
+}
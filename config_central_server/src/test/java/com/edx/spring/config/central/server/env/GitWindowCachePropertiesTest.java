@@ -0,0 +1,44 @@
+package com.edx.spring.config.central.server.env;
+
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitWindowCachePropertiesTest {
+
+	@Test
+	void shouldBindNextToTheGitRepositorySettings() {
+		Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+				"spring.cloud.config.server.git.uri", "https://example.com/config.git",
+				"spring.cloud.config.server.git.window-cache.packed-git-mmap", "true",
+				"spring.cloud.config.server.git.window-cache.packed-git-window-size", "64KB",
+				"spring.cloud.config.server.git.window-cache.packed-git-limit", "256MB",
+				"spring.cloud.config.server.git.window-cache.delta-base-cache-limit", "48MB")));
+
+		WindowCacheConfig config = binder.bind("spring.cloud.config.server.git.window-cache", GitWindowCacheProperties.class)
+				.get()
+				.toWindowCacheConfig();
+
+		assertThat(config.isPackedGitMMAP()).isTrue();
+		assertThat(config.getPackedGitWindowSize()).isEqualTo(64 * WindowCacheConfig.KB);
+		assertThat(config.getPackedGitLimit()).isEqualTo(256L * WindowCacheConfig.MB);
+		assertThat(config.getDeltaBaseCacheLimit()).isEqualTo(48 * WindowCacheConfig.MB);
+		assertThat(config.getPackedGitOpenFiles()).isEqualTo(128);
+	}
+
+	@Test
+	void shouldRaiseJGitDefaultsWithoutMapping() {
+		WindowCacheConfig jgitDefaults = new WindowCacheConfig();
+		WindowCacheConfig config = new GitWindowCacheProperties().toWindowCacheConfig();
+
+		assertThat(config.isPackedGitMMAP()).isFalse();
+		assertThat(config.getPackedGitLimit()).isGreaterThan(jgitDefaults.getPackedGitLimit());
+		assertThat(config.getDeltaBaseCacheLimit()).isGreaterThan(jgitDefaults.getDeltaBaseCacheLimit());
+		assertThat(config.getPackedGitWindowSize()).isEqualTo(jgitDefaults.getPackedGitWindowSize());
+	}
+}
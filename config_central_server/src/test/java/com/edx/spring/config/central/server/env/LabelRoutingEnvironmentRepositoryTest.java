@@ -0,0 +1,96 @@
+package com.edx.spring.config.central.server.env;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LabelRoutingEnvironmentRepositoryTest {
+
+	private final List<String> calls = new ArrayList<>();
+
+	@Test
+	void shouldAskOnlyTheRepositoryOwningTheLabel() {
+		LabelRoutingEnvironmentRepository routing = routing(repository("git", true), repository("nexl", true), true);
+
+		assertThat(source(routing.findOne("orders", "default", "nexl"))).isEqualTo("nexl");
+		assertThat(source(routing.findOne("orders", "default", "develop"))).isEqualTo("git");
+		assertThat(source(routing.findOne("orders", "default", null))).isEqualTo("git");
+
+		assertThat(calls).containsExactly("nexl", "git", "git");
+		assertThat(routing.routesToNexl("nexl")).isTrue();
+		assertThat(routing.routesToNexl("develop")).isFalse();
+		assertThat(routing.routesToNexl(null)).isFalse();
+	}
+
+	@Test
+	void shouldFallBackToGitWhenNexlIsEmpty() {
+		LabelRoutingEnvironmentRepository routing = routing(repository("git", true), repository("nexl", false), true);
+
+		Environment environment = routing.findOne("orders", "default", "nexl");
+
+		assertThat(source(environment)).isEqualTo("git");
+		assertThat(calls).containsExactly("nexl", "git");
+	}
+
+	@Test
+	void shouldNotServePlaceholdersWhenGitIsEmpty() {
+		// The nexl repository's chain answers any label through the git stand-in provider with made-up values
+		EnvironmentRepository placeholders = (application, profile, label) -> {
+			calls.add("nexl");
+			Environment environment = new Environment(application, profile);
+			environment.add(new PropertySource("git-provider", Map.of("source", "git", "database.pool.size", "10")));
+			return environment;
+		};
+		LabelRoutingEnvironmentRepository routing = routing(repository("git", false), placeholders, true);
+
+		Environment environment = routing.findOne("orders", "default", "no-such-branch");
+
+		assertThat(environment.getPropertySources()).isEmpty();
+		assertThat(calls).containsExactly("git");
+	}
+
+	@Test
+	void shouldReturnEmptyWithoutFallback() {
+		LabelRoutingEnvironmentRepository routing = routing(repository("git", true), repository("nexl", false), false);
+
+		assertThat(routing.findOne("orders", "default", "nexl").getPropertySources()).isEmpty();
+		assertThat(calls).containsExactly("nexl");
+	}
+
+	@Test
+	void shouldSendEverythingToNexlWhenGitIsDisabled() {
+		LabelRoutingEnvironmentRepository routing = routing(null, repository("nexl", false), true);
+
+		routing.findOne("orders", "default", "develop");
+
+		assertThat(calls).containsExactly("nexl");
+	}
+
+	private LabelRoutingEnvironmentRepository routing(EnvironmentRepository git, EnvironmentRepository nexl, boolean fallback) {
+		return new LabelRoutingEnvironmentRepository(git, nexl, "nexl"::equals, ObservationRegistry.NOOP, fallback);
+	}
+
+	private EnvironmentRepository repository(String name, boolean hasConfiguration) {
+		return (application, profile, label) -> {
+			calls.add(name);
+			Environment environment = new Environment(application, profile);
+			if (hasConfiguration) {
+				environment.add(new PropertySource(name, Map.of("source", name)));
+			}
+			return environment;
+		};
+	}
+
+	private static Object source(Environment environment) {
+		assertThat(environment.getPropertySources()).hasSize(1);
+		return environment.getPropertySources().get(0).getSource().get("source");
+	}
+}
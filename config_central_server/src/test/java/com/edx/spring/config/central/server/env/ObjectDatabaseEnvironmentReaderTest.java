@@ -0,0 +1,181 @@
+package com.edx.spring.config.central.server.env;
+
+import com.edx.spring.config.central.server.cache.ParsedDocumentCache;
+import io.micrometer.observation.ObservationRegistry;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ObjectDatabase;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.environment.MultipleJGitEnvironmentProperties;
+import org.springframework.cloud.config.server.environment.NoSuchLabelException;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ObjectDatabaseEnvironmentReaderTest {
+
+	@TempDir
+	Path tempDir;
+
+	private Path work;
+	private ObjectId mainCommit;
+
+	@BeforeEach
+	void createRepository() throws Exception {
+		work = tempDir.resolve("config");
+		try (Git git = Git.init().setInitialBranch("main").setDirectory(work.toFile()).call()) {
+			write("application.yml", "shared: root\nserver.port: 8080\n---\nspring.config.activate.on-profile: prod\nshared: root-prod-doc\n");
+			write("application-prod.properties", "shared=root-prod\n");
+			write("orders.yml", "orders.timeout: 5s\nshared: orders\n");
+			write("services/orders/orders-prod.yml", "orders.timeout: 1s\n");
+			write("services/billing/billing.yml", "billing.currency: EUR\n");
+			write("unrelated/application.yml", "shared: never\n");
+			git.add().addFilepattern(".").call();
+			mainCommit = git.commit().setMessage("main").setSign(false).call();
+
+			git.checkout().setCreateBranch(true).setName("develop").call();
+			write("orders.yml", "orders.timeout: 9s\nshared: orders-develop\n");
+			git.add().addFilepattern(".").call();
+			git.commit().setMessage("develop").setSign(false).call();
+			git.checkout().setName("main").call();
+		}
+	}
+
+	@Test
+	void shouldMatchCheckoutBasedRepository() {
+		Environment checkedOut = repository(false).findOne("orders", "prod", "main");
+		Environment checkoutFree = repository(true).findOne("orders", "prod", "main");
+
+		assertThat(checkoutFree.getVersion()).isEqualTo(mainCommit.name()).isEqualTo(checkedOut.getVersion());
+		assertThat(sources(checkoutFree)).isEqualTo(sources(checkedOut));
+		// Multi-document YAML names differ: Spring leaks its internal resource description into them
+		assertThat(names(checkoutFree).subList(0, 3)).isEqualTo(names(checkedOut).subList(0, 3));
+		assertThat(names(checkoutFree).get(3)).endsWith("/application.yml (document #1)");
+		assertThat(checkoutFree.getPropertySources().get(0).getSource().get("orders.timeout")).isEqualTo("1s");
+	}
+
+	@Test
+	void shouldServeDifferentLabelsConcurrently() throws Exception {
+		CustomMultipleJGitEnvironmentRepository repository = repository(true);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Callable<Object>> reads = List.of(
+					() -> repository.findOne("orders", "default", "main").getPropertySources().get(0).getSource().get("shared"),
+					() -> repository.findOne("orders", "default", "develop").getPropertySources().get(0).getSource().get("shared"),
+					() -> repository.findOne("orders", "default", mainCommit.name().substring(0, 10)).getVersion());
+			List<Future<Object>> results = executor.invokeAll(reads);
+			assertThat(results.get(0).get()).isEqualTo("orders");
+			assertThat(results.get(1).get()).isEqualTo("orders-develop");
+			assertThat(results.get(2).get()).isEqualTo(mainCommit.name());
+		} finally {
+			executor.shutdown();
+		}
+		// Nothing was checked out: the working tree still has main's files
+		assertThat(Files.readString(work.resolve("orders.yml"))).contains("5s");
+	}
+
+	@Test
+	void shouldShareParsedFilesAcrossLabelsAndApplications() {
+		ParsedDocumentCache cache = new ParsedDocumentCache(100);
+		CustomMultipleJGitEnvironmentRepository repository = repository(true);
+		repository.setDocumentCache(cache);
+
+		Environment main = repository.findOne("orders", "default", "main");
+		Environment develop = repository.findOne("orders", "default", "develop");
+		Environment billing = repository.findOne("billing", "default", "main");
+
+		Map<?, ?> rootOnMain = main.getPropertySources().get(1).getSource();
+		assertThat(develop.getPropertySources().get(1).getSource()).isSameAs(rootOnMain);
+		assertThat(billing.getPropertySources().get(1).getSource()).isSameAs(rootOnMain);
+		assertThat(develop.getPropertySources().get(0).getSource().get("shared")).isEqualTo("orders-develop");
+		// application.yml, orders.yml on main and on develop, billing.yml
+		assertThat(cache.missCount()).isEqualTo(4);
+		assertThat(cache.hitCount()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldFetchOnlyTheBlobsItReadsFromAPartialClone() throws Exception {
+		Path remote = tempDir.resolve("remote.git");
+		try (Git bare = Git.cloneRepository().setURI(work.toUri().toString()).setDirectory(remote.toFile()).setBare(true).call()) {
+			StoredConfig config = bare.getRepository().getConfig();
+			config.setBoolean("uploadpack", null, "allowFilter", true);
+			config.setBoolean("uploadpack", null, "allowAnySHA1InWant", true);
+			config.save();
+		}
+		MultipleJGitEnvironmentProperties properties = new MultipleJGitEnvironmentProperties();
+		properties.setUri(remote.toString());
+		properties.setBasedir(tempDir.resolve("clone").toFile());
+		properties.setSearchPaths("services/{application}");
+		CustomMultipleJGitEnvironmentRepository repository = new CustomMultipleJGitEnvironmentRepository(
+				new StandardEnvironment(), properties, ObservationRegistry.NOOP);
+		repository.setCheckoutFree(true);
+		repository.setPartialClone(true);
+
+		Environment environment = repository.findOne("orders", "prod", "main");
+
+		assertThat(sources(environment)).isEqualTo(sources(repository(true).findOne("orders", "prod", "main")));
+		try (Git clone = Git.open(tempDir.resolve("clone").toFile())) {
+			ObjectDatabase objects = clone.getRepository().getObjectDatabase();
+			assertThat(objects.has(blob(clone, "main", "services/orders/orders-prod.yml"))).isTrue();
+			assertThat(objects.has(blob(clone, "main", "services/billing/billing.yml"))).isFalse();
+			assertThat(objects.has(blob(clone, "main", "unrelated/application.yml"))).isFalse();
+		}
+		assertThat(repository.findOne("billing", "default", "main").getPropertySources().get(0).getSource()
+				.get("billing.currency")).isEqualTo("EUR");
+	}
+
+	@Test
+	void shouldRejectUnknownLabel() {
+		GitObjectDatabase database = new GitObjectDatabase(repository(true));
+		assertThatThrownBy(() -> new ObjectDatabaseEnvironmentReader(new ParsedDocumentCache(0)).read(database, "orders", "default", "nope"))
+				.isInstanceOf(NoSuchLabelException.class);
+	}
+
+	private CustomMultipleJGitEnvironmentRepository repository(boolean checkoutFree) {
+		MultipleJGitEnvironmentProperties properties = new MultipleJGitEnvironmentProperties();
+		properties.setUri(work.toUri().toString());
+		properties.setSearchPaths("services/{application}");
+		CustomMultipleJGitEnvironmentRepository repository = new CustomMultipleJGitEnvironmentRepository(
+				new StandardEnvironment(), properties, ObservationRegistry.NOOP);
+		repository.setCheckoutFree(checkoutFree);
+		return repository;
+	}
+
+	private static ObjectId blob(Git git, String branch, String path) throws Exception {
+		Repository repository = git.getRepository();
+		try (TreeWalk walk = TreeWalk.forPath(repository, path, repository.resolve("refs/remotes/origin/" + branch + "^{tree}"))) {
+			return walk.getObjectId(0);
+		}
+	}
+
+	private void write(String path, String content) throws Exception {
+		Path file = work.resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+	}
+
+	private static List<Map<?, ?>> sources(Environment environment) {
+		return environment.getPropertySources().stream().<Map<?, ?>>map(PropertySource::getSource).toList();
+	}
+
+	private static List<String> names(Environment environment) {
+		return environment.getPropertySources().stream().map(PropertySource::getName).toList();
+	}
+}
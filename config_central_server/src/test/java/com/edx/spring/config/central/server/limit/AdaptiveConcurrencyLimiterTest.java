@@ -0,0 +1,80 @@
+package com.edx.spring.config.central.server.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	void shouldRejectOnceLimitIsReached() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("git", 2, 1, 10, 1.5, 0.2).bindTo(registry);
+
+		AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+		AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+
+		assertThat(first).isNotNull();
+		assertThat(second).isNotNull();
+		assertThat(limiter.tryAcquire()).isNull();
+		assertThat(registry.get("config.concurrency.rejected").tag("path", "git").counter().count()).isEqualTo(1);
+
+		first.release(true);
+		assertThat(limiter.getInFlight()).isEqualTo(1);
+		assertThat(limiter.tryAcquire()).isNotNull();
+	}
+
+	@Test
+	void shouldGrowWhileLatencyIsStableAndPermitsAreUsed() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("nexl", 10, 4, 100, 1.5, 0.2);
+
+		for (int i = 0; i < 50; i++) {
+			limiter.onSample(10 * MILLIS, limiter.getLimit(), true);
+		}
+
+		assertThat(limiter.getLimit()).isGreaterThan(10);
+	}
+
+	@Test
+	void shouldNotGrowWhenMostPermitsAreIdle() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("nexl", 10, 4, 100, 1.5, 0.2);
+
+		for (int i = 0; i < 50; i++) {
+			limiter.onSample(10 * MILLIS, 1, true);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(10);
+	}
+
+	@Test
+	void shouldShrinkWhenLatencyRisesAboveBaseline() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("git", 50, 4, 100, 1.5, 0.2);
+		for (int i = 0; i < 20; i++) {
+			limiter.onSample(10 * MILLIS, 1, true);
+		}
+
+		for (int i = 0; i < 50; i++) {
+			limiter.onSample(100 * MILLIS, limiter.getLimit(), true);
+		}
+
+		assertThat(limiter.getLimit()).isLessThan(50).isGreaterThanOrEqualTo(4);
+	}
+
+	@Test
+	void shouldBackOffOnFailures() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("git", 20, 4, 100, 1.5, 0.2);
+
+		limiter.onSample(10 * MILLIS, 1, false);
+		assertThat(limiter.getLimit()).isEqualTo(18);
+
+		for (int i = 0; i < 100; i++) {
+			limiter.onSample(10 * MILLIS, 1, false);
+		}
+		assertThat(limiter.getLimit()).isEqualTo(4);
+	}
+}
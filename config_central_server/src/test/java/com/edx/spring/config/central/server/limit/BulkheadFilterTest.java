@@ -0,0 +1,75 @@
+package com.edx.spring.config.central.server.limit;
+
+import com.edx.spring.config.central.server.peer.PeerAuthentication;
+import com.edx.spring.config.central.server.peer.PeerAuthenticationFilter;
+import com.edx.spring.config.central.server.peer.PeerRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadFilterTest {
+
+	private final Bulkhead nexl = new Bulkhead("nexl", 1, 0, Duration.ZERO);
+	private final Bulkhead git = new Bulkhead("git", 1, 0, Duration.ZERO);
+	private final Bulkhead admin = new Bulkhead("admin", 1, 0, Duration.ZERO);
+	private final Bulkhead peer = new Bulkhead("peer", 1, 0, Duration.ZERO);
+	// As routed by the config server with a primary nexl provider that supports every label but main
+	private final BulkheadFilter filter = new BulkheadFilter(nexl, git, admin, peer,
+			label -> label != null && !label.equals("main"), 3);
+
+	@Test
+	void shouldRouteRequestsToTheirBulkhead() throws Exception {
+		assertThat(filter.bulkheadFor("/app/dev/nexl")).isSameAs(nexl);
+		assertThat(filter.bulkheadFor("/app/dev/release(_)2024")).isSameAs(nexl);
+		assertThat(filter.bulkheadFor("/nexl/batch")).isSameAs(nexl);
+		assertThat(filter.bulkheadFor(peerLookup())).isSameAs(peer);
+		// Not authenticated as a peer: no exemption, it is a nexl request like any other
+		assertThat(filter.bulkheadFor(new MockHttpServletRequest("GET", "/internal/peer/nexl"))).isSameAs(nexl);
+		assertThat(filter.bulkheadFor("/app/dev/main")).isSameAs(git);
+		assertThat(filter.bulkheadFor("/app/dev")).isSameAs(git);
+		assertThat(filter.bulkheadFor("/app/dev/develop/logback.xml")).isSameAs(git);
+		assertThat(filter.bulkheadFor("/admin/git-repos/refresh")).isSameAs(admin);
+		assertThat(filter.bulkheadFor("/actuator/health")).isNull();
+		assertThat(filter.bulkheadFor("/css/site.css")).isNull();
+	}
+
+	@Test
+	void shouldKeepServingOtherBackendsWhileOneIsSaturated() throws Exception {
+		assertThat(nexl.acquire()).isNull();
+
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		MockFilterChain rejectedChain = new MockFilterChain();
+		filter.doFilter(new MockHttpServletRequest("GET", "/app/dev/nexl"), rejected, rejectedChain);
+		assertThat(rejected.getStatus()).isEqualTo(503);
+		assertThat(rejected.getHeader("Retry-After")).isEqualTo("3");
+		assertThat(rejectedChain.getRequest()).isNull();
+
+		for (MockHttpServletRequest request : List.of(new MockHttpServletRequest("GET", "/app/dev/main"),
+				new MockHttpServletRequest("GET", "/admin/api/git/pack-cache"), peerLookup())) {
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			MockFilterChain chain = new MockFilterChain();
+			filter.doFilter(request, response, chain);
+			assertThat(response.getStatus()).isEqualTo(200);
+			assertThat(chain.getRequest()).isNotNull();
+		}
+		assertThat(git.getActive()).isZero();
+		assertThat(admin.getActive()).isZero();
+		assertThat(peer.getActive()).isZero();
+		nexl.release();
+	}
+
+	/** A lookup on the peer path, marked by the peer authentication filter as coming from another replica. */
+	static MockHttpServletRequest peerLookup() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", PeerRouter.OWNER_PATH);
+		request.addHeader(PeerAuthentication.HEADER, "secret");
+		new PeerAuthenticationFilter(new PeerAuthentication(List.of(), "secret"))
+				.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		return request;
+	}
+}
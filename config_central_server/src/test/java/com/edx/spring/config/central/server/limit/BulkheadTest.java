@@ -0,0 +1,52 @@
+package com.edx.spring.config.central.server.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadTest {
+
+	@Test
+	void shouldRejectOnceSlotsAndQueueAreFull() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		Bulkhead bulkhead = new Bulkhead("nexl", 1, 1, Duration.ofSeconds(10)).bindTo(registry);
+
+		assertThat(bulkhead.acquire()).isNull();
+		CompletableFuture<Bulkhead.Rejection> waiting = CompletableFuture.supplyAsync(() -> {
+			try {
+				return bulkhead.acquire();
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (bulkhead.getQueued() == 0 && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+
+		assertThat(bulkhead.acquire()).isEqualTo(Bulkhead.Rejection.QUEUE_FULL);
+
+		bulkhead.release();
+		assertThat(waiting.get(5, TimeUnit.SECONDS)).isNull();
+		assertThat(bulkhead.getActive()).isEqualTo(1);
+		assertThat(registry.get("config.bulkhead.rejected").tag("reason", "queue-full").counter().count()).isEqualTo(1);
+		assertThat(registry.get("config.bulkhead.saturation").gauge().value()).isEqualTo(1.0);
+	}
+
+	@Test
+	void shouldRejectAfterMaxWait() throws Exception {
+		Bulkhead bulkhead = new Bulkhead("git", 1, 5, Duration.ofMillis(20));
+
+		assertThat(bulkhead.acquire()).isNull();
+		assertThat(bulkhead.acquire()).isEqualTo(Bulkhead.Rejection.TIMEOUT);
+		assertThat(bulkhead.getQueued()).isZero();
+
+		bulkhead.release();
+		assertThat(bulkhead.acquire()).isNull();
+	}
+}
@@ -0,0 +1,56 @@
+package com.edx.spring.config.central.server.limit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+	private final AdaptiveConcurrencyLimiter nexl = new AdaptiveConcurrencyLimiter("nexl", 1, 1, 1, 1.5, 0.2);
+	private final AdaptiveConcurrencyLimiter git = new AdaptiveConcurrencyLimiter("git", 1, 1, 1, 1.5, 0.2);
+	private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(nexl, git,
+			label -> "nexl".equals(label) || "nexl-primary".equals(label), 2);
+
+	@Test
+	void shouldRouteRequestsToTheirLimiter() {
+		assertThat(filter.limiterFor("/app/dev/nexl")).isSameAs(nexl);
+		assertThat(filter.limiterFor("/app/dev/nexl-primary")).isSameAs(nexl);
+		assertThat(filter.limiterFor("/nexl/batch")).isSameAs(nexl);
+		assertThat(filter.limiterFor("/app/dev")).isSameAs(git);
+		assertThat(filter.limiterFor("/app/dev/develop")).isSameAs(git);
+		assertThat(filter.limiterFor("/app/nexl")).isSameAs(git);
+		assertThat(filter.limiterFor("/admin/api/performance")).isNull();
+		assertThat(filter.limiterFor("/actuator/health")).isNull();
+		assertThat(filter.limiterFor("/internal/peer/nexl")).isSameAs(nexl);
+		assertThat(filter.limiterFor("/css/site.css")).isNull();
+		assertThat(filter.limiterFor("/favicon.ico")).isNull();
+	}
+
+	@Test
+	void shouldExemptOnlyAuthenticatedPeerLookups() throws Exception {
+		assertThat(filter.shouldNotFilter(BulkheadFilterTest.peerLookup())).isTrue();
+		assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/internal/peer/nexl"))).isFalse();
+	}
+
+	@Test
+	void shouldShedWithRetryAfterWhenLimitIsReached() throws Exception {
+		AdaptiveConcurrencyLimiter.Permit held = git.tryAcquire();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/app/dev/develop"), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+		assertThat(chain.getRequest()).isNull();
+
+		MockHttpServletResponse nexlResponse = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/app/dev/nexl"), nexlResponse, new MockFilterChain());
+		assertThat(nexlResponse.getStatus()).isEqualTo(200);
+		assertThat(nexl.getInFlight()).isZero();
+		held.release(true);
+	}
+}
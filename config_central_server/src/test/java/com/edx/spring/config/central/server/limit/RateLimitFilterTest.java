@@ -0,0 +1,35 @@
+package com.edx.spring.config.central.server.limit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+	private final TokenBucketRateLimiter applications = new TokenBucketRateLimiter("application",
+			new TokenBucketRateLimiter.Limit(0.001, 1), 100);
+	private final TokenBucketRateLimiter clients = new TokenBucketRateLimiter("client",
+			new TokenBucketRateLimiter.Limit(0.001, 2), 100);
+	private final RateLimitFilter filter = new RateLimitFilter(applications, clients);
+
+	@Test
+	void shouldNotChargeTheClientForRequestsTheApplicationLimitRejects() throws Exception {
+		assertThat(status("/orders/dev/main")).isEqualTo(200);
+		for (int i = 0; i < 5; i++) {
+			assertThat(status("/orders/dev/main")).isEqualTo(429);
+		}
+
+		// The client spent one of its two tokens, on the one request that was served
+		assertThat(status("/billing/dev/main")).isEqualTo(200);
+		assertThat(status("/invoices/dev/main")).isEqualTo(429);
+	}
+
+	private int status(String uri) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", uri), response, new MockFilterChain());
+		return response.getStatus();
+	}
+}
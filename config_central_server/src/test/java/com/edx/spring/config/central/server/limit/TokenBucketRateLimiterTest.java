@@ -0,0 +1,90 @@
+package com.edx.spring.config.central.server.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketRateLimiterTest {
+
+	@Test
+	void shouldAdmitBurstThenThrottle() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("application",
+				new TokenBucketRateLimiter.Limit(1, 3), 100).bindTo(registry);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire("app")).isZero();
+		}
+		long wait = limiter.tryAcquire("app");
+
+		assertThat(wait).isPositive().isLessThanOrEqualTo(1_000_000_000L);
+		assertThat(limiter.tryAcquire("other")).isZero();
+		assertThat(registry.get("config.rate-limit.throttled").tag("scope", "application").counter().count()).isEqualTo(1);
+		assertThat(limiter.topThrottled(10)).extracting(TokenBucketRateLimiter.KeyStatus::key).containsExactly("app");
+	}
+
+	@Test
+	void shouldApplyOverridesAndDefaultChanges() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("client",
+				new TokenBucketRateLimiter.Limit(1, 1), 100);
+		limiter.setOverride("10.0.0.1", new TokenBucketRateLimiter.Limit(1, 5));
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+		}
+		assertThat(limiter.tryAcquire("10.0.0.2")).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.2")).isPositive();
+
+		limiter.setDefaultLimit(new TokenBucketRateLimiter.Limit(1, 10));
+		assertThat(limiter.tryAcquire("10.0.0.2")).isZero();
+	}
+
+	@Test
+	void shouldNeverAdmitMoreThanBurstUnderContention() throws Exception {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("application",
+				new TokenBucketRateLimiter.Limit(0.001, 50), 100);
+		AtomicInteger admitted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			for (int t = 0; t < 8; t++) {
+				executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < 100; i++) {
+						if (limiter.tryAcquire("app") == 0) {
+							admitted.incrementAndGet();
+						}
+					}
+					return null;
+				});
+			}
+			start.countDown();
+		}
+
+		assertThat(admitted.get()).isEqualTo(50);
+	}
+
+	@Test
+	void shouldBoundTrackedKeys() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("client",
+				new TokenBucketRateLimiter.Limit(0.001, 2), 100);
+
+		for (int i = 0; i < 1000; i++) {
+			limiter.tryAcquire("10.0." + i);
+		}
+
+		assertThat(limiter.size()).isLessThanOrEqualTo(100);
+	}
+
+	@Test
+	void shouldRejectInvalidLimits() {
+		assertThatThrownBy(() -> new TokenBucketRateLimiter.Limit(0, 1)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new TokenBucketRateLimiter.Limit(1, 0)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,75 @@
+package com.edx.spring.config.central.server.loader;
+
+import com.edx.spring.config.central.server.KNexlService;
+import com.edx.spring.config.central.server.NexlClientProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NexlConfigResourceProviderCacheTest {
+
+	private final AtomicInteger calls = new AtomicInteger();
+	private HttpServer nexl;
+	private NexlConfigResourceProvider provider;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		nexl = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		nexl.createContext("/", exchange -> {
+			calls.incrementAndGet();
+			byte[] body = "{not json".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		nexl.start();
+
+		NexlClientProperties properties = new NexlClientProperties();
+		properties.setBaseUrl("http://localhost:" + nexl.getAddress().getPort());
+		provider = new NexlConfigResourceProvider();
+		ReflectionTestUtils.setField(provider, "nexlService", new KNexlService(properties, new SimpleMeterRegistry(),
+				HttpClient.newHttpClient()));
+		ReflectionTestUtils.setField(provider, "enabled", true);
+		provider.initCache();
+	}
+
+	@AfterEach
+	void tearDown() {
+		nexl.stop(0);
+	}
+
+	@Test
+	void shouldNotServeOneApplicationsSourceToAnother() {
+		Map<String, Object> orders = provider.loadProperties("orders", "dev", "nexl", request());
+		Map<String, Object> billing = provider.loadProperties("billing", "prod", "nexl", request());
+
+		assertThat(orders).containsEntry("nexl.raw.response", "{not json")
+				.containsEntry("nexl.source.application", "orders")
+				.containsEntry("nexl.source.profile", "dev");
+		assertThat(billing).containsEntry("nexl.raw.response", "{not json")
+				.containsEntry("nexl.source.application", "billing")
+				.containsEntry("nexl.source.profile", "prod");
+		assertThat(calls).hasValue(1);
+		assertThat(provider.resolve("/shared.js", "${all}")).doesNotContainKeys("nexl.source.application",
+				"nexl.source.profile");
+	}
+
+	private static MockHttpServletRequest request() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/any/default/nexl");
+		request.setParameter("url", "/shared.js?expression=${all}");
+		return request;
+	}
+}
@@ -0,0 +1,70 @@
+package com.edx.spring.config.central.server.loader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link NexlRequestParser} with the legacy split/decode extraction.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="NexlRequestParser -prof gc"} to also see
+ * bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NexlRequestParserBenchmark {
+
+	@Param({"plain", "encoded"})
+	public String shape;
+
+	private String urlParameter;
+	private String requestURI;
+	private String queryString;
+
+	@Setup
+	public void setUp() {
+		if ("plain".equals(shape)) {
+			urlParameter = "/java-opts/docker-conf/mobile.js?expression=${all}";
+			requestURI = "/java-opts/docker-conf/nexl";
+			queryString = "expression=${all}";
+		} else {
+			urlParameter = "/java-opts/docker-conf/mobile.js?expression=%24%7Ball%7D";
+			requestURI = "/java-opts/js%3Fexpression%3D%2524%257Ball%257D/nexl";
+			queryString = null;
+		}
+	}
+
+	@Benchmark
+	public NexlRequestKey parserUrlParameter() {
+		return NexlRequestParser.fromUrlParameter(urlParameter);
+	}
+
+	@Benchmark
+	public String[] legacyUrlParameter() {
+		return NexlRequestParserTest.Legacy.splitUrlParameter(urlParameter);
+	}
+
+	@Benchmark
+	public NexlRequestKey parserRequestPath() {
+		return NexlRequestParser.fromRequestPath(requestURI, queryString);
+	}
+
+	@Benchmark
+	public String[] legacyRequestPath() {
+		return NexlRequestParserTest.Legacy.fromRequestPath(requestURI, queryString);
+	}
+}
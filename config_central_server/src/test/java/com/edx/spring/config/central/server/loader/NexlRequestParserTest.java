@@ -0,0 +1,197 @@
+package com.edx.spring.config.central.server.loader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks {@link NexlRequestParser} against the split/decode based extraction it replaced. The only intended
+ * difference is that a missing expression is now {@code ""} instead of {@code null}.
+ */
+class NexlRequestParserTest {
+
+	static Stream<String> urlParameters() {
+		return Stream.of(
+				"/java-opts/docker-conf/mobile.js?expression=${all}",
+				"/java-opts/docker-conf/mobile.js?expression=${all}&other=1",
+				"/java-opts/docker-conf/mobile.js?other=1&expression=${a.b}",
+				"/java-opts/mobile.js?expression=%24%7Ball%7D",
+				"/java-opts/mobile.js?expression=a+b",
+				"/java-opts/mobile.js?expression=",
+				"/java-opts/mobile.js",
+				"/java-opts/mobile.js?other=1");
+	}
+
+	static Stream<String[]> requestPaths() {
+		return Stream.of(
+				new String[]{"/app/profile/master", null},
+				new String[]{"/app/profile/master", "expression=${all}"},
+				new String[]{"/app/profile/master", "a=1&expression=%24%7Ball%7D&b=2"},
+				new String[]{"/app/js%3Fexpression%3D%2524%257Ball%257D/master", null},
+				new String[]{"/app/js%3Fexpression%3D%2524%257Ball%257D/master", "expression=${q}"},
+				new String[]{"/java-opts%2Fdocker-conf%2Fmobile.js/default/nexl", null},
+				new String[]{"/mobile.js/default/nexl", "expression=${x}"},
+				new String[]{"/app//master", null},
+				new String[]{"//profile/master", null},
+				new String[]{"/app/profile/master/extra", "other=1"},
+				new String[]{"/a+b/pro+file/nexl", null});
+	}
+
+	static Stream<String[]> parameters() {
+		return Stream.of(
+				new String[]{"app", "profile"},
+				new String[]{"app", "js?expression=${all}"},
+				new String[]{"app", "js?expression=%24%7Ball%7D&x=1"},
+				new String[]{"app", "js?other=1"},
+				new String[]{"java-opts/docker-conf/mobile.js", "default"},
+				new String[]{"java-opts/docker-conf/mobile.js", "expression=${all}"},
+				new String[]{"mobile.js", "default"});
+	}
+
+	@ParameterizedTest
+	@MethodSource("urlParameters")
+	void shouldMatchLegacyUrlParameterSplit(String urlParam) {
+		assertEquivalent(NexlRequestParser.fromUrlParameter(urlParam), Legacy.splitUrlParameter(urlParam));
+	}
+
+	@ParameterizedTest
+	@MethodSource("requestPaths")
+	void shouldMatchLegacyRequestPathExtraction(String requestURI, String queryString) {
+		assertEquivalent(NexlRequestParser.fromRequestPath(requestURI, queryString),
+				Legacy.fromRequestPath(requestURI, queryString));
+	}
+
+	@ParameterizedTest
+	@MethodSource("parameters")
+	void shouldMatchLegacyParameterExtraction(String application, String profile) {
+		assertEquivalent(NexlRequestParser.fromParameters(application, profile),
+				Legacy.fromParameters(application, profile));
+	}
+
+	@Test
+	void shouldPreferUrlParameterOverRequestPath() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/profile/nexl");
+		request.setParameter("url", "/java-opts/mobile.js?expression=${all}");
+
+		NexlRequestKey key = NexlRequestParser.fromHttpRequest(request);
+
+		assertThat(key.path()).isEqualTo("/java-opts/mobile.js");
+		assertThat(key.expression()).isEqualTo("${all}");
+	}
+
+	@Test
+	void shouldRejectMalformedRequests() {
+		assertThatThrownBy(() -> NexlRequestParser.fromRequestPath("/app/profile", null))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> NexlRequestParser.fromRequestPath("/app/profile//", null))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> NexlRequestParser.fromUrlParameter("expression=${all}"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void shouldBuildDistinctCacheKeys() {
+		NexlRequestKey withoutExpression = NexlRequestKey.of("/app/profile.js", null);
+
+		assertThat(withoutExpression).isEqualTo(NexlRequestKey.of("/app/profile.js", ""));
+		assertThat(withoutExpression.hasExpression()).isFalse();
+		assertThat(withoutExpression.cacheKey()).isEqualTo("/app/profile.js");
+		assertThat(NexlRequestKey.of("/app/profile.js", "${a}").cacheKey())
+				.isNotEqualTo(NexlRequestKey.of("/app/profile.js", "${b}").cacheKey())
+				.isNotEqualTo(withoutExpression.cacheKey());
+	}
+
+	private static void assertEquivalent(NexlRequestKey actual, String[] legacy) {
+		assertThat(actual.path()).isEqualTo(legacy[0]);
+		assertThat(actual.expression()).isEqualTo(legacy[1] != null ? legacy[1] : "");
+	}
+
+	/** The extraction previously inlined in {@link NexlConfigResourceProvider}, kept verbatim as the oracle. */
+	static final class Legacy {
+
+		static String[] splitUrlParameter(String urlParam) {
+			int expressionIndex = urlParam.indexOf("expression=");
+			if (expressionIndex != -1) {
+				String path = urlParam.substring(0, expressionIndex - 1);
+				String expressionPart = urlParam.substring(expressionIndex + "expression=".length());
+				int nextParamIndex = expressionPart.indexOf('&');
+				String expression = nextParamIndex != -1 ?
+						expressionPart.substring(0, nextParamIndex) :
+						expressionPart;
+				return new String[]{path, URLDecoder.decode(expression, StandardCharsets.UTF_8)};
+			}
+			return new String[]{urlParam, ""};
+		}
+
+		static String[] fromRequestPath(String requestURI, String queryString) {
+			String[] pathParts = requestURI.split("/");
+			if (pathParts.length < 4) {
+				throw new IllegalArgumentException("Invalid request URI format: " + requestURI);
+			}
+			String application = URLDecoder.decode(pathParts[1], StandardCharsets.UTF_8);
+			String profile = URLDecoder.decode(pathParts[2], StandardCharsets.UTF_8);
+			return new String[]{buildPath(application, profile), expressionFromQueryOrProfile(queryString, profile)};
+		}
+
+		static String[] fromParameters(String application, String profile) {
+			String path;
+			String expression = "";
+			if (application.contains("/") && application.endsWith(".js")) {
+				path = "/" + application;
+				if (profile.contains("expression=")) {
+					expression = expressionFromProfile(profile);
+				}
+			} else if (profile.contains("?")) {
+				String[] parts = profile.split("\\?", 2);
+				path = "/" + application + "/" + parts[0];
+				if (parts[1].contains("expression=")) {
+					String[] expressionParts = parts[1].split("expression=", 2);
+					if (expressionParts.length > 1) {
+						expression = URLDecoder.decode(expressionParts[1].split("&")[0], StandardCharsets.UTF_8);
+					}
+				}
+			} else {
+				path = "/" + application + "/" + profile + ".js";
+			}
+			return new String[]{path, expression};
+		}
+
+		private static String buildPath(String application, String profile) {
+			if (application.endsWith(".js")) {
+				return "/" + application;
+			} else if (profile.contains("?")) {
+				String[] profileParts = profile.split("\\?", 2);
+				return "/" + application + "/" + profileParts[0];
+			}
+			return "/" + application + "/" + profile + ".js";
+		}
+
+		private static String expressionFromQueryOrProfile(String queryString, String profile) {
+			if (queryString != null && queryString.contains("expression=")) {
+				String[] parts = queryString.split("expression=", 2);
+				if (parts.length > 1) {
+					return URLDecoder.decode(parts[1].split("&")[0], StandardCharsets.UTF_8);
+				}
+			}
+			return expressionFromProfile(profile);
+		}
+
+		private static String expressionFromProfile(String profile) {
+			if (profile.contains("expression=")) {
+				String[] parts = profile.split("expression=", 2);
+				if (parts.length > 1) {
+					return URLDecoder.decode(parts[1].split("&")[0], StandardCharsets.UTF_8);
+				}
+			}
+			return null;
+		}
+	}
+}
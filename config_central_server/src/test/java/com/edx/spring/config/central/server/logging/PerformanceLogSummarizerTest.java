@@ -0,0 +1,53 @@
+package com.edx.spring.config.central.server.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PerformanceLogSummarizerTest {
+
+	private static final String PREFIX = "2026-01-01 10:00:00.000 [TraceId=] [SpanId=] [performance-log-writer] INFO ";
+
+	@Test
+	void shouldRoundTripRecordThroughLogLine() {
+		PerformanceRecord record = new PerformanceRecord("app", "js|x", null, "NexlConfigResourceProvider", "HIT",
+				-1, -1, 850, 96, 1200);
+
+		PerformanceRecord parsed = PerformanceRecord.parse(PREFIX + record.toLine());
+
+		assertThat(parsed).isEqualTo(new PerformanceRecord("app", "js_x", null, "NexlConfigResourceProvider", "HIT",
+				-1, -1, 850, 96, 1200));
+		assertThat(PerformanceRecord.parse(PREFIX + "some other message")).isNull();
+	}
+
+	@Test
+	void shouldComputePercentilesPerKey() {
+		Stream<String> lines = Stream.concat(
+				IntStream.rangeClosed(1, 100).mapToObj(i ->
+						PREFIX + new PerformanceRecord("app", "p", "nexl", "nexl", "MISS", i * 1000L, 10, 20, 100, i * 2000L).toLine()),
+				Stream.of(PREFIX + new PerformanceRecord("other", "p", "master", "git", null, -1, -1, -1, 50, 5000).toLine()));
+
+		List<PerformanceLogSummarizer.Summary> summaries = PerformanceLogSummarizer.summarize(lines, List.of("app", "provider"));
+
+		assertThat(summaries).extracting(PerformanceLogSummarizer.Summary::key).containsExactly("app/nexl", "other/git");
+		PerformanceLogSummarizer.Summary app = summaries.get(0);
+		assertThat(app.count()).isEqualTo(100);
+		assertThat(app.total().p50()).isEqualTo(100.0);
+		assertThat(app.total().p99()).isEqualTo(198.0);
+		assertThat(app.total().max()).isEqualTo(200.0);
+		assertThat(app.nexl().p90()).isEqualTo(90.0);
+		assertThat(summaries.get(1).nexl().samples()).isZero();
+	}
+
+	@Test
+	void shouldRejectUnknownGroupByField() {
+		assertThat(PerformanceLogSummarizer.parseGroupBy(" app , cache ")).containsExactly("app", "cache");
+		assertThatThrownBy(() -> PerformanceLogSummarizer.parseGroupBy("app,host"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
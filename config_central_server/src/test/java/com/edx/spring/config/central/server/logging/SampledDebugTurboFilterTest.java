@@ -0,0 +1,44 @@
+package com.edx.spring.config.central.server.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampledDebugTurboFilterTest {
+
+	private final LoggerContext context = new LoggerContext();
+	private final Logger hotPath = context.getLogger("com.edx.spring.config.central.server.loader.Provider");
+	private final Logger other = context.getLogger("org.eclipse.jgit.Foo");
+
+	@Test
+	void shouldSampleOnlyDebugUnderPrefix() {
+		SampledDebugTurboFilter filter = new SampledDebugTurboFilter();
+		filter.setOneIn(10);
+
+		int passed = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (filter.decide(null, hotPath, Level.DEBUG, "x", null, null) == FilterReply.NEUTRAL) {
+				passed++;
+			}
+		}
+
+		assertThat(passed).isBetween(700, 1300);
+		assertThat(filter.decide(null, hotPath, Level.INFO, "x", null, null)).isEqualTo(FilterReply.NEUTRAL);
+		assertThat(filter.decide(null, other, Level.DEBUG, "x", null, null)).isEqualTo(FilterReply.NEUTRAL);
+	}
+
+	@Test
+	void shouldHonourKeepAllAndDropAll() {
+		SampledDebugTurboFilter filter = new SampledDebugTurboFilter();
+
+		filter.setOneIn(1);
+		assertThat(filter.decide(null, hotPath, Level.DEBUG, "x", null, null)).isEqualTo(FilterReply.NEUTRAL);
+
+		filter.setOneIn(0);
+		assertThat(filter.decide(null, hotPath, Level.DEBUG, "x", null, null)).isEqualTo(FilterReply.DENY);
+	}
+}
@@ -0,0 +1,63 @@
+package com.edx.spring.config.central.server.peer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+	private static final List<String> THREE = List.of("http://a:8888", "http://b:8888", "http://c:8888");
+
+	@Test
+	void shouldSpreadKeysEvenlyAcrossMembers() {
+		ConsistentHashRing ring = new ConsistentHashRing(THREE, 128);
+		Map<String, Integer> counts = new HashMap<>();
+
+		for (int i = 0; i < 30_000; i++) {
+			counts.merge(ring.owner("/jenkins/ms-" + i + ".js\u0000expr"), 1, Integer::sum);
+		}
+
+		assertThat(counts).hasSize(3);
+		assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(8_000, 12_000));
+	}
+
+	@Test
+	void shouldOnlyMoveTheNewMembersShareWhenGrowing() {
+		ConsistentHashRing three = new ConsistentHashRing(THREE, 128);
+		ConsistentHashRing four = new ConsistentHashRing(List.of("http://a:8888", "http://b:8888", "http://c:8888",
+				"http://d:8888"), 128);
+		int moved = 0;
+
+		for (int i = 0; i < 10_000; i++) {
+			String key = "/jenkins/ms-" + i + ".js";
+			String before = three.owner(key);
+			String after = four.owner(key);
+			if (!before.equals(after)) {
+				assertThat(after).isEqualTo("http://d:8888");
+				moved++;
+			}
+		}
+
+		assertThat(moved).isBetween(1_500, 3_500);
+	}
+
+	@Test
+	void shouldBeDeterministicAcrossInstances() {
+		ConsistentHashRing first = new ConsistentHashRing(THREE, 64);
+		ConsistentHashRing second = new ConsistentHashRing(THREE, 64);
+
+		for (int i = 0; i < 1_000; i++) {
+			assertThat(first.owner("key-" + i)).isEqualTo(second.owner("key-" + i));
+		}
+	}
+
+	@Test
+	void shouldRejectEmptyRing() {
+		assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 128)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,39 @@
+package com.edx.spring.config.central.server.peer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeerAuthenticationTest {
+
+	@Test
+	void shouldRequireTheSharedSecretWhenOneIsConfigured() {
+		PeerAuthentication authentication = new PeerAuthentication(List.of("http://127.0.0.1:8888"), "s3cret");
+
+		assertThat(authentication.authenticate(lookupFrom("127.0.0.1", "s3cret"))).isTrue();
+		assertThat(authentication.authenticate(lookupFrom("10.1.2.3", "s3cret"))).isTrue();
+		assertThat(authentication.authenticate(lookupFrom("127.0.0.1", "guess"))).isFalse();
+		assertThat(authentication.authenticate(lookupFrom("127.0.0.1", null))).isFalse();
+	}
+
+	@Test
+	void shouldAcceptOnlyMemberAddressesWithoutASecret() {
+		PeerAuthentication authentication = new PeerAuthentication(
+				List.of("http://127.0.0.1:8888", "http://localhost:8889/"), "");
+
+		assertThat(authentication.authenticate(lookupFrom("127.0.0.1", null))).isTrue();
+		assertThat(authentication.authenticate(lookupFrom("10.1.2.3", null))).isFalse();
+	}
+
+	private static MockHttpServletRequest lookupFrom(String address, String secret) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", PeerRouter.OWNER_PATH);
+		request.setRemoteAddr(address);
+		if (secret != null) {
+			request.addHeader(PeerAuthentication.HEADER, secret);
+		}
+		return request;
+	}
+}
@@ -0,0 +1,45 @@
+package com.edx.spring.config.central.server.rest;
+
+import com.edx.spring.config.central.server.admin.ConfigProviderManager;
+import com.edx.spring.config.central.server.loader.NexlConfigResourceProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NexlBatchControllerTest {
+
+	private static final List<NexlBatchController.BatchEntry> ENTRIES =
+			List.of(new NexlBatchController.BatchEntry("/shared.js", "${all}"));
+
+	@Test
+	void shouldRejectTheBatchWhileNexlIsDisabled() {
+		NexlConfigResourceProvider provider = new NexlConfigResourceProvider();
+		ReflectionTestUtils.setField(provider, "enabled", false);
+
+		assertThatThrownBy(() -> new NexlBatchController(provider).resolve(ENTRIES))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode())
+								.isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+	}
+
+	@Test
+	void shouldRejectTheBatchWhileNexlIsSwitchedOff() {
+		ConfigProviderManager manager = new ConfigProviderManager(event -> {
+		});
+		manager.toggleProvider(NexlConfigResourceProvider.class.getSimpleName());
+		NexlConfigResourceProvider provider = new NexlConfigResourceProvider();
+		ReflectionTestUtils.setField(provider, "enabled", true);
+		ReflectionTestUtils.setField(provider, "providerManager", manager);
+
+		assertThatThrownBy(() -> new NexlBatchController(provider).resolve(ENTRIES))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode())
+								.isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+	}
+}
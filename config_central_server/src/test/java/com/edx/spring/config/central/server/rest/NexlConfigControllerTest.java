@@ -0,0 +1,73 @@
+package com.edx.spring.config.central.server.rest;
+
+import com.edx.spring.config.central.server.env.LabelRoutingEnvironmentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NexlConfigControllerTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void shouldWriteFirstPropertySourceAsRawJson() throws Exception {
+		Map<String, Object> properties = new LinkedHashMap<>();
+		properties.put("server.port", 8080);
+		properties.put("nested", Map.of("a", List.of(1, 2)));
+		NexlConfigController controller = new NexlConfigController((application, profile, label) -> {
+			Environment environment = new Environment(application, new String[]{profile}, label, null, null);
+			environment.add(new PropertySource("nexl", properties));
+			environment.add(new PropertySource("other", Map.of("ignored", true)));
+			return environment;
+		}, objectMapper);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		controller.nexl("app", "profile", new MockHttpServletRequest(), response);
+
+		assertThat(response.getContentType()).isEqualTo("application/json");
+		assertThat(response.getContentAsString()).isEqualTo("{\"server.port\":8080,\"nested\":{\"a\":[1,2]}}");
+	}
+
+	@Test
+	void shouldWriteEmptyEnvironmentWhenNexlHasNothing() throws Exception {
+		NexlConfigController controller = new NexlConfigController(
+				(application, profile, label) -> new Environment(application, new String[]{profile}, label, null, null),
+				objectMapper);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		controller.nexlPrimary("app(_)sub", "profile", new MockHttpServletRequest(), response);
+
+		Environment written = objectMapper.readValue(response.getContentAsString(), Environment.class);
+		assertThat(written.getName()).isEqualTo("app/sub");
+		assertThat(written.getLabel()).isEqualTo("nexl-primary");
+		assertThat(written.getPropertySources()).isEmpty();
+	}
+
+	@Test
+	void shouldFallBackToGitWhenNexlHasNothing() throws Exception {
+		LabelRoutingEnvironmentRepository routing = new LabelRoutingEnvironmentRepository(
+				(application, profile, label) -> {
+					Environment environment = new Environment(application, new String[]{profile}, label, null, null);
+					environment.add(new PropertySource("git", Map.of("from", "git")));
+					return environment;
+				},
+				(application, profile, label) -> new Environment(application, new String[]{profile}, label, null, null),
+				label -> label.startsWith("nexl"), ObservationRegistry.NOOP, true);
+		NexlConfigController controller = new NexlConfigController(routing, objectMapper);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		controller.nexl("app", "profile", new MockHttpServletRequest(), response);
+
+		assertThat(response.getContentAsString()).isEqualTo("{\"from\":\"git\"}");
+	}
+}
@@ -0,0 +1,80 @@
+package com.edx.spring.config.central.server
+
+import com.sun.net.httpserver.HttpServer
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import java.net.InetSocketAddress
+import java.util.concurrent.atomic.AtomicInteger
+
+class NexlConditionalRequestTest {
+
+	private val server = HttpServer.create(InetSocketAddress("localhost", 0), 0)
+	private val fullResponses = AtomicInteger()
+
+	@Volatile
+	private var body = """{"server.port": 8080}"""
+
+	@Volatile
+	private var etag: String? = "\"v1\""
+
+	init {
+		server.createContext("/") { exchange ->
+			val current = etag
+			if (current != null && exchange.requestHeaders.getFirst("If-None-Match") == current) {
+				exchange.sendResponseHeaders(304, -1)
+			} else {
+				fullResponses.incrementAndGet()
+				current?.let { exchange.responseHeaders.add("ETag", it) }
+				val bytes = body.toByteArray()
+				exchange.sendResponseHeaders(200, bytes.size.toLong())
+				exchange.responseBody.write(bytes)
+			}
+			exchange.close()
+		}
+		server.start()
+	}
+
+	private val registry = SimpleMeterRegistry()
+
+	private val service = KNexlService(
+		NexlClientProperties().apply { baseUrl = "http://localhost:${server.address.port}" }, registry)
+
+	@AfterEach
+	fun stop() {
+		server.stop(0)
+	}
+
+	@Test
+	fun `revalidates with the ETag and reports a 304 as unchanged`() {
+		val first = service.callNexlServerConditional("/orders.js", "\${all}", null)
+		assertThat(first.isSuccess).isTrue()
+		assertThat(first.validators!!.etag).isEqualTo("\"v1\"")
+
+		val second = service.callNexlServerConditional("/orders.js", "\${all}", first.validators)
+		assertThat(second.isUnchanged).isTrue()
+		assertThat(second.data).isNull()
+		assertThat(fullResponses).hasValue(1)
+
+		etag = "\"v2\""
+		body = """{"server.port": 9090}"""
+		val third = service.callNexlServerConditional("/orders.js", "\${all}", first.validators)
+		assertThat(third.isUnchanged).isFalse()
+		assertThat(third.data).contains("9090")
+		assertThat(registry.counter("nexl.client.revalidations", "result", "not-modified").count()).isEqualTo(1.0)
+		assertThat(registry.counter("nexl.client.revalidations", "result", "changed").count()).isEqualTo(1.0)
+	}
+
+	@Test
+	fun `falls back to the content hash when nexl sends no validators`() {
+		etag = null
+		val first = service.callNexlServerConditional("/orders.js", "\${all}", null)
+
+		val second = service.callNexlServerConditional("/orders.js", "\${all}", first.validators)
+
+		assertThat(second.isUnchanged).isTrue()
+		assertThat(second.validators!!.contentHash).isEqualTo(first.validators!!.contentHash)
+		assertThat(registry.counter("nexl.client.revalidations", "result", "same-content").count()).isEqualTo(1.0)
+	}
+}
@@ -0,0 +1,60 @@
+package com.edx.spring.config.central.server
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import java.time.Duration
+
+class NexlEndpointBalancerTest {
+
+	private val settings = NexlClientProperties.LoadBalancing().apply {
+		ejectionThreshold = 2
+		ejectionDuration = Duration.ofMinutes(1)
+	}
+
+	private fun balancer(vararg urls: String) =
+		NexlEndpointBalancer(urls.toList(), settings, Duration.ofSeconds(30), SimpleMeterRegistry())
+
+	@Test
+	fun `single endpoint is always picked`() {
+		val balancer = balancer("http://nexl:8181")
+
+		assertThat(balancer.pick().baseUrl).isEqualTo("http://nexl:8181")
+		assertThat(balancer.pick(exclude = balancer.endpoints[0]).baseUrl).isEqualTo("http://nexl:8181")
+	}
+
+	@Test
+	fun `excluded endpoint is avoided when another is healthy`() {
+		val balancer = balancer("http://nexl-1:8181", "http://nexl-2:8181")
+		val first = balancer.endpoints[0]
+
+		repeat(20) {
+			assertThat(balancer.pick(exclude = first)).isSameAs(balancer.endpoints[1])
+		}
+	}
+
+	@Test
+	fun `endpoint is ejected after consecutive failures`() {
+		val balancer = balancer("http://nexl-1:8181", "http://nexl-2:8181")
+		val failing = balancer.endpoints[0]
+
+		repeat(settings.ejectionThreshold) { failing.complete(failing.start(), success = false) }
+
+		assertThat(failing.isHealthy(System.nanoTime())).isFalse()
+		repeat(20) {
+			assertThat(balancer.pick()).isSameAs(balancer.endpoints[1])
+		}
+	}
+
+	@Test
+	fun `least outstanding prefers the idle endpoint`() {
+		settings.strategy = NexlClientProperties.BalancingStrategy.LEAST_OUTSTANDING
+		val balancer = balancer("http://nexl-1:8181", "http://nexl-2:8181")
+		val busy = balancer.endpoints[0]
+		repeat(5) { busy.start() }
+
+		repeat(20) {
+			assertThat(balancer.pick()).isSameAs(balancer.endpoints[1])
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.edx.spring.config.central.server
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import java.time.Duration
+
+class NexlHedgingPolicyTest {
+
+	private val settings = NexlClientProperties.Hedging().apply {
+		enabled = true
+		percentile = 0.9
+		budgetRatio = 0.05
+		maxBurst = 1
+		minDelay = Duration.ofNanos(1)
+		minSamples = 32
+	}
+
+	@Test
+	fun `no hedge delay until enough samples are recorded`() {
+		val policy = NexlHedgingPolicy(settings)
+
+		repeat(31) { policy.recordLatency(1_000) }
+
+		assertThat(policy.hedgeDelayNanos()).isNull()
+	}
+
+	@Test
+	fun `hedge delay follows the configured percentile`() {
+		val policy = NexlHedgingPolicy(settings)
+
+		for (latency in 1L..64L) {
+			policy.recordLatency(latency * 1_000)
+		}
+
+		assertThat(policy.hedgeDelayNanos()).isBetween(55_000L, 60_000L)
+	}
+
+	@Test
+	fun `hedge delay is the exact percentile of the recorded samples`() {
+		val p90 = NexlHedgingPolicy(settings)
+		val max = NexlHedgingPolicy(NexlClientProperties.Hedging().apply { percentile = 1.0; minDelay = Duration.ofNanos(1); minSamples = 32 })
+
+		for (latency in 1L..64L) {
+			p90.recordLatency(latency * 1_000)
+			max.recordLatency(latency * 1_000)
+		}
+
+		// 64 samples: index (64 - 1) * 0.9 = 56 of the sorted window, and the newest sample is included
+		assertThat(p90.hedgeDelayNanos()).isEqualTo(57_000L)
+		assertThat(max.hedgeDelayNanos()).isEqualTo(64_000L)
+	}
+
+	@Test
+	fun `window keeps only the most recent samples once it wraps`() {
+		val policy = NexlHedgingPolicy(NexlClientProperties.Hedging().apply { percentile = 0.0; minDelay = Duration.ofNanos(1); minSamples = 32 })
+
+		for (latency in 1L..544L) {
+			policy.recordLatency(latency * 1_000)
+		}
+
+		// Samples 33..544 remain
+		assertThat(policy.hedgeDelayNanos()).isEqualTo(33_000L)
+	}
+
+	@Test
+	fun `budget caps hedges at the configured ratio`() {
+		val policy = NexlHedgingPolicy(settings)
+		var hedges = 0
+
+		repeat(1_000) {
+			policy.onPrimaryRequest()
+			if (policy.tryAcquireHedge()) {
+				hedges++
+			}
+		}
+
+		assertThat(hedges).isEqualTo(50)
+	}
+}
@@ -0,0 +1,121 @@
+package com.edx.spring.config.central.server
+
+import com.edx.spring.config.central.server.cache.CacheInvalidationEvent
+import com.edx.spring.config.central.server.loader.NexlConfigResourceProvider
+import com.sun.net.httpserver.HttpServer
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.springframework.test.util.ReflectionTestUtils
+import java.net.InetSocketAddress
+import java.time.Duration
+
+class NexlLocalEvaluatorTest {
+
+	private val document = """{"port": 8080, "host": "orders", "db": {"url": "jdbc:x", "pool": 5}, "hosts": ["a", "b"]}"""
+
+	private val fetched = mutableListOf<String>()
+
+	private fun evaluator(revalidateAfter: Duration = Duration.ofMinutes(1), response: () -> Result<String> = { Result.success(document) }) =
+		NexlLocalEvaluator(
+			NexlClientProperties.LocalEvaluation().apply { enabled = true; this.revalidateAfter = revalidateAfter },
+			{ path, expression -> fetched += "$path?$expression"; response() },
+			SimpleMeterRegistry())
+
+	@Test
+	fun `evaluates selections and projections from one fetch`() {
+		val evaluator = evaluator()
+
+		assertThat(evaluator.evaluate("/orders.js", "\${port}")).isEqualTo("8080")
+		assertThat(evaluator.evaluate("orders.js", "\${all.host}")).isEqualTo("orders")
+		assertThat(evaluator.evaluate("/orders.js", "\${db.url}")).isEqualTo("jdbc:x")
+		assertThat(evaluator.evaluate("/orders.js", "\${db}")).isEqualTo("""{"url":"jdbc:x","pool":5}""")
+		assertThat(evaluator.evaluate("/orders.js", "\${db~K}")).isEqualTo("""["url","pool"]""")
+		assertThat(evaluator.evaluate("/orders.js", "\${db~V}")).isEqualTo("""["jdbc:x",5]""")
+		assertThat(evaluator.evaluate("/orders.js", "\${hosts}")).isEqualTo("""["a","b"]""")
+		assertThat(evaluator.evaluate("/orders.js", "\${all}")).isEqualTo(
+			"""{"port":8080,"host":"orders","db":{"url":"jdbc:x","pool":5},"hosts":["a","b"]}""")
+
+		assertThat(fetched).containsExactly("/orders.js?\${all}")
+	}
+
+	@Test
+	fun `leaves unsupported expressions and unknown names to nexl`() {
+		val evaluator = evaluator()
+
+		assertThat(evaluator.evaluate("/orders.js", "\${missing}")).isNull()
+		assertThat(evaluator.evaluate("/orders.js", "\${port.x}")).isNull()
+		assertThat(evaluator.evaluate("/orders.js", "\${hosts~K}")).isNull()
+		assertThat(evaluator.evaluate("/orders.js", "\${hosts#S}")).isNull()
+		assertThat(evaluator.evaluate("/orders.js", "\${db.url} \${port}")).isNull()
+		assertThat(evaluator.evaluate("/orders.js", "")).isNull()
+	}
+
+	@Test
+	fun `goes remote when the source document cannot be fetched`() {
+		val evaluator = evaluator { Result.failure(RuntimeException("down")) }
+
+		assertThat(evaluator.evaluate("/orders.js", "\${port}")).isNull()
+		assertThat(evaluator.evaluate("/orders.js", "\${host}")).isNull()
+		// The failure is remembered until revalidation, so nexl is not asked for the document on every call
+		assertThat(fetched).hasSize(1)
+	}
+
+	@Test
+	fun `revalidates a stale document and keeps it when the refetch fails`() {
+		var up = true
+		val evaluator = evaluator(Duration.ZERO) { if (up) Result.success(document) else Result.failure(RuntimeException("down")) }
+
+		assertThat(evaluator.evaluate("/orders.js", "\${port}")).isEqualTo("8080")
+		up = false
+		assertThat(evaluator.evaluate("/orders.js", "\${port}")).isEqualTo("8080")
+		assertThat(fetched).hasSize(2)
+	}
+
+	@Test
+	fun `drops the cached document of an invalidated path`() {
+		val evaluator = evaluator()
+		evaluator.evaluate("/orders.js", "\${port}")
+		evaluator.evaluate("/billing.js", "\${port}")
+
+		evaluator.invalidate("orders.js")
+		evaluator.evaluate("/orders.js", "\${port}")
+		evaluator.evaluate("/billing.js", "\${port}")
+
+		assertThat(fetched).containsExactly("/orders.js?\${all}", "/billing.js?\${all}", "/orders.js?\${all}")
+	}
+
+	@Test
+	fun `cache invalidation events reach the local documents`() {
+		var port = 8080
+		val server = HttpServer.create(InetSocketAddress("localhost", 0), 0).apply {
+			createContext("/") { exchange ->
+				val body = """{"port": $port}""".toByteArray()
+				exchange.sendResponseHeaders(200, body.size.toLong())
+				exchange.responseBody.write(body)
+				exchange.close()
+			}
+			start()
+		}
+		try {
+			val service = KNexlService(NexlClientProperties().apply {
+				baseUrl = "http://localhost:${server.address.port}"
+				localEvaluation.enabled = true
+			})
+			val provider = NexlConfigResourceProvider()
+			ReflectionTestUtils.setField(provider, "nexlService", service)
+			assertThat(service.callNexlServer("/orders.js", "\${port}").getOrThrow()).isEqualTo("8080")
+
+			port = 9090
+			assertThat(service.callNexlServer("/orders.js", "\${port}").getOrThrow()).isEqualTo("8080")
+			provider.onCacheInvalidation(CacheInvalidationEvent("/orders.js", true))
+			assertThat(service.callNexlServer("/orders.js", "\${port}").getOrThrow()).isEqualTo("9090")
+
+			port = 7070
+			provider.onCacheInvalidation(CacheInvalidationEvent(null))
+			assertThat(service.callNexlServer("/orders.js", "\${port}").getOrThrow()).isEqualTo("7070")
+		} finally {
+			server.stop(0)
+		}
+	}
+}
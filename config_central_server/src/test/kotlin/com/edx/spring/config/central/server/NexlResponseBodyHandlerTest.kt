@@ -0,0 +1,103 @@
+package com.edx.spring.config.central.server
+
+import com.sun.net.httpserver.HttpServer
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import java.io.ByteArrayOutputStream
+import java.net.InetSocketAddress
+import java.util.zip.Deflater
+import java.util.zip.DeflaterOutputStream
+import java.util.zip.GZIPOutputStream
+import kotlin.random.Random
+
+class NexlResponseBodyHandlerTest {
+
+	private val document = (1..500).joinToString(",", "{", "}") { "\"service.$it.url\": \"http://service-$it:8080/é\"" }
+
+	private val server = HttpServer.create(InetSocketAddress("localhost", 0), 0).apply {
+		createContext("/") { exchange ->
+			val accepted = exchange.requestHeaders.getFirst("Accept-Encoding").orEmpty()
+			val name = exchange.requestURI.path.substringAfterLast('/').substringBefore('.')
+			// x-gzip and br are sent whatever was asked for, as a misbehaving proxy would
+			val encoding = name.takeIf { it in accepted || it == "x-gzip" || it == "br" || it == "large" }
+				?.let { if (it == "large") "gzip" else it }
+			val plain = (if (name == "large") largeDocument else document).toByteArray(Charsets.UTF_8)
+			val body = when (encoding) {
+				"gzip", "x-gzip" -> compress(plain) { GZIPOutputStream(it) }
+				"deflate" -> compress(plain) { DeflaterOutputStream(it, Deflater(Deflater.DEFAULT_COMPRESSION, true)) }
+				else -> plain
+			}
+			encoding?.let { exchange.responseHeaders.add("Content-Encoding", it) }
+			exchange.responseHeaders.add("Content-Type", "application/json; charset=UTF-8")
+			exchange.sendResponseHeaders(200, body.size.toLong())
+			exchange.responseBody.write(body)
+			exchange.close()
+		}
+		start()
+	}
+
+	/** Incompressible enough to arrive in many chunks even gzipped. */
+	private val largeDocument = Random(42).let { random ->
+		(1..20_000).joinToString(",", "{", "}") { "\"key.$it\": \"${random.nextLong().toString(36)}ü\"" }
+	}
+
+	private val registry = SimpleMeterRegistry()
+
+	@AfterEach
+	fun stop() {
+		server.stop(0)
+	}
+
+	private fun service(compression: Boolean) = KNexlService(NexlClientProperties().apply {
+		baseUrl = "http://localhost:${server.address.port}"
+		transport.compression = compression
+	}, registry)
+
+	@Test
+	fun `negotiates and decodes gzip and raw deflate`() {
+		val service = service(compression = true)
+
+		assertThat(service.callNexlServer("/gzip.js", "\${all}").getOrThrow()).isEqualTo(document)
+		assertThat(service.callNexlServer("/deflate.js", "\${all}").getOrThrow()).isEqualTo(document)
+
+		val gzipBytes = registry.get("nexl.client.response.bytes").tag("encoding", "gzip").summary()
+		assertThat(gzipBytes.count()).isEqualTo(1)
+		assertThat(gzipBytes.totalAmount()).isLessThan(document.length / 5.0)
+		assertThat(registry.get("nexl.client.response.bytes").tag("encoding", "deflate").summary().count()).isEqualTo(1)
+	}
+
+	@Test
+	fun `does not ask for compression unless enabled`() {
+		assertThat(service(compression = false).callNexlServer("/gzip.js", "\${all}").getOrThrow()).isEqualTo(document)
+
+		assertThat(registry.get("nexl.client.response.bytes").tag("encoding", "identity").summary().totalAmount())
+			.isEqualTo(document.toByteArray(Charsets.UTF_8).size.toDouble())
+	}
+
+	@Test
+	fun `inflates a large body chunk by chunk`() {
+		assertThat(service(compression = true).callNexlServer("/large.js", "\${all}").getOrThrow()).isEqualTo(largeDocument)
+	}
+
+	@Test
+	fun `meters x-gzip as gzip`() {
+		assertThat(service(compression = true).callNexlServer("/x-gzip.js", "\${all}").getOrThrow()).isEqualTo(document)
+
+		assertThat(registry.get("nexl.client.response.bytes").tag("encoding", "gzip").summary().count()).isEqualTo(1)
+	}
+
+	@Test
+	fun `fails on an encoding it cannot decode`() {
+		val result = service(compression = true).callNexlServer("/br.js", "\${all}")
+
+		assertThat(result.exceptionOrNull()).hasMessageContaining("Unsupported Content-Encoding from nexl: br")
+	}
+
+	private fun compress(plain: ByteArray, wrap: (ByteArrayOutputStream) -> java.io.OutputStream): ByteArray {
+		val out = ByteArrayOutputStream()
+		wrap(out).use { it.write(plain) }
+		return out.toByteArray()
+	}
+}
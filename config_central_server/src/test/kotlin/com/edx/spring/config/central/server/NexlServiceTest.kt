@@ -26,7 +26,7 @@ class NexlServiceTest {
 		println("No Proxy: ${System.getProperty("http.nonProxyHosts")}")
 
 		// Given
-		val nexlService = KNexlService()
+		val nexlService = KNexlService(NexlClientProperties())
 		val path = "/jenkins/deployment/micro-services/ms-information.js"  // First part (no encoding needed)
 		val expression = "\${all}"  // Second part (will be URL encoded by the method)
 